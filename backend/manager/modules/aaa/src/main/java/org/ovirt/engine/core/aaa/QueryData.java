@@ -1,11 +1,14 @@
 package org.ovirt.engine.core.aaa;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 
 public class QueryData implements Serializable {
     private static final long serialVersionUID = 995908611144010190L;
 
     private String query;
+    private List<String> parameters = Collections.emptyList();
     private long date;
     private String authz;
     private String namespace;
@@ -14,8 +17,9 @@ public class QueryData implements Serializable {
         // needed for json serialization
     }
 
-    public QueryData(String query, long date, String authz, String namespace) {
+    public QueryData(String query, List<String> parameters, long date, String authz, String namespace) {
         this.query = query;
+        this.parameters = parameters;
         this.date = date;
         this.authz = authz;
         this.namespace = namespace;
@@ -33,6 +37,13 @@ public class QueryData implements Serializable {
         return query;
     }
 
+    /**
+     * @return the values bound to the placeholders of the query, in their order
+     */
+    public List<String> getParameters() {
+        return parameters;
+    }
+
     public long getDate() {
         return date;
     }
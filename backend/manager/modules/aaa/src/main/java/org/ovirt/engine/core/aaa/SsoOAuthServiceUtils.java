@@ -148,6 +148,7 @@ public class SsoOAuthServiceUtils {
     }
 
     public static Map<String, Object> revoke(String token, String scope) {
+        TokenInfoCache.getInstance().invalidate(token);
         try {
             HttpPost request = createPost("/oauth/revoke");
             setClientIdSecretBasicAuthHeader(request);
@@ -0,0 +1,185 @@
+package org.ovirt.engine.core.aaa;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import javax.management.ObjectName;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.ovirt.engine.core.utils.EngineLocalConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the successful token info responses of the SSO service, so requests authenticated by the same bearer token
+ * don't validate it against the SSO service each time.
+ * <p>
+ * The tokens are kept hashed. A token info is kept at most {@code ENGINE_SSO_TOKEN_INFO_CACHE_TTL} seconds and never
+ * beyond the expiration of the token. The token info is removed when the token is revoked by the engine or when the
+ * SSO service notifies the engine about the revocation. Setting {@code ENGINE_SSO_TOKEN_INFO_CACHE_TTL} to 0 disables
+ * the cache.
+ */
+public class TokenInfoCache implements TokenInfoCacheMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenInfoCache.class);
+
+    private static final String EXPIRES = "exp";
+
+    private static class Holder {
+        private static final TokenInfoCache instance = createInstance();
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final long ttl;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    TokenInfoCache(long ttl, TimeUnit unit, int maxSize, LongSupplier clock) {
+        this.ttl = unit.toMillis(ttl);
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public static TokenInfoCache getInstance() {
+        return Holder.instance;
+    }
+
+    /**
+     * @return a copy of the cached token info of the token, or {@code null} if the token info isn't cached or has
+     *         expired
+     */
+    public Map<String, Object> get(String token) {
+        if (!isEnabled() || StringUtils.isEmpty(token)) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.isExpired(clock.getAsLong())) {
+            if (entry != null) {
+                entries.remove(key, entry);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return new HashMap<>(entry.tokenInfo);
+    }
+
+    /**
+     * Caches a copy of the token info of the token, which must be a successful response of the SSO service.
+     */
+    public void put(String token, Map<String, Object> tokenInfo) {
+        if (!isEnabled() || StringUtils.isEmpty(token)) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long expiration = getExpiration(tokenInfo, now);
+        if (expiration <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            removeExpired(now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(hash(token), new Entry(new HashMap<>(tokenInfo), expiration));
+    }
+
+    public void invalidate(String token) {
+        if (StringUtils.isNotEmpty(token)) {
+            entries.remove(hash(token));
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    private boolean isEnabled() {
+        return ttl > 0 && maxSize > 0;
+    }
+
+    private long getExpiration(Map<String, Object> tokenInfo, long now) {
+        long expiration = now + ttl;
+        Object expires = tokenInfo.get(EXPIRES);
+        if (expires != null) {
+            try {
+                expiration = Math.min(expiration, Long.parseLong(expires.toString()));
+            } catch (NumberFormatException e) {
+                log.debug("Unexpected token expiration '{}', caching the token info for the default time", expires);
+            }
+        }
+        return expiration;
+    }
+
+    private void removeExpired(long now) {
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private static String hash(String token) {
+        return DigestUtils.sha256Hex(token);
+    }
+
+    private static TokenInfoCache createInstance() {
+        EngineLocalConfig config = EngineLocalConfig.getInstance();
+        TokenInfoCache cache = new TokenInfoCache(
+                config.getInteger("ENGINE_SSO_TOKEN_INFO_CACHE_TTL", 30),
+                TimeUnit.SECONDS,
+                config.getInteger("ENGINE_SSO_TOKEN_INFO_CACHE_SIZE", 10000),
+                System::currentTimeMillis);
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(cache, new ObjectName("org.ovirt.engine.core.aaa:type=TokenInfoCache"));
+        } catch (Exception e) {
+            log.warn("Failed to register the token info cache in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+        return cache;
+    }
+
+    private static class Entry {
+        private final Map<String, Object> tokenInfo;
+        private final long expiration;
+
+        private Entry(Map<String, Object> tokenInfo, long expiration) {
+            this.tokenInfo = tokenInfo;
+            this.expiration = expiration;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiration;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.ovirt.engine.core.aaa;
+
+public interface TokenInfoCacheMXBean {
+
+    /**
+     * @return the number of token validations answered from the cache
+     */
+    long getHits();
+
+    /**
+     * @return the number of token validations which had to ask the SSO service
+     */
+    long getMisses();
+
+    /**
+     * @return the ratio of the hits to all the token validations, or 0 if there were none
+     */
+    double getHitRate();
+
+    /**
+     * @return the number of cached tokens, including the ones which expired and were not removed yet
+     */
+    int getSize();
+
+    void clear();
+}
@@ -18,6 +18,7 @@ import org.apache.http.HeaderElement;
 import org.apache.http.conn.util.InetAddressUtils;
 import org.apache.http.message.BasicHeaderValueParser;
 import org.ovirt.engine.core.aaa.SsoOAuthServiceUtils;
+import org.ovirt.engine.core.aaa.TokenInfoCache;
 import org.ovirt.engine.core.common.constants.SessionConstants;
 import org.ovirt.engine.core.common.interfaces.BackendLocal;
 import org.ovirt.engine.core.common.queries.QueryParametersBase;
@@ -130,8 +131,13 @@ public class FiltersHelper {
     }
 
     public static Map<String, Object> getPayloadForToken(String token) {
-        Map<String, Object> response = SsoOAuthServiceUtils.getTokenInfo(token);
-        FiltersHelper.isStatusOk(response);
+        TokenInfoCache tokenInfoCache = TokenInfoCache.getInstance();
+        Map<String, Object> response = tokenInfoCache.get(token);
+        if (response == null) {
+            response = SsoOAuthServiceUtils.getTokenInfo(token);
+            FiltersHelper.isStatusOk(response);
+            tokenInfoCache.put(token, response);
+        }
         response.put(SessionConstants.SSO_TOKEN_KEY, token);
         return response;
     }
@@ -0,0 +1,112 @@
+package org.ovirt.engine.core.aaa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TokenInfoCacheTest {
+
+    private static final String TOKEN = "token";
+
+    private long now;
+    private TokenInfoCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        now = 1000;
+        cache = new TokenInfoCache(30, TimeUnit.SECONDS, 2, () -> now);
+    }
+
+    @Test
+    public void testCachedTokenInfoIsCopied() {
+        Map<String, Object> tokenInfo = tokenInfo(null);
+        cache.put(TOKEN, tokenInfo);
+        tokenInfo.put("scope", "changed");
+
+        Map<String, Object> cached = cache.get(TOKEN);
+        cached.put("scope", "changed again");
+
+        assertEquals("ovirt-app-api", cache.get(TOKEN).get("scope"));
+        assertEquals(2, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testTokenInfoExpiresAfterTtl() {
+        cache.put(TOKEN, tokenInfo(null));
+
+        now += TimeUnit.SECONDS.toMillis(30);
+
+        assertNull(cache.get(TOKEN));
+        assertEquals(0, cache.getSize());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testTokenInfoExpiresWithToken() {
+        cache.put(TOKEN, tokenInfo(now + 5000));
+
+        now += 4999;
+        assertEquals("user@internal", cache.get(TOKEN).get("user_id"));
+        now += 1;
+        assertNull(cache.get(TOKEN));
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    public void testExpiredTokenIsNotCached() {
+        cache.put(TOKEN, tokenInfo(now));
+
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put(TOKEN, tokenInfo(null));
+
+        cache.invalidate(TOKEN);
+
+        assertNull(cache.get(TOKEN));
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        cache.put("first", tokenInfo(now + 1000));
+        cache.put("second", tokenInfo(null));
+        cache.put("third", tokenInfo(null));
+
+        assertNull(cache.get("third"));
+
+        now += 1000;
+        cache.put("third", tokenInfo(null));
+
+        assertEquals(2, cache.getSize());
+        assertEquals("user@internal", cache.get("third").get("user_id"));
+    }
+
+    @Test
+    public void testDisabled() {
+        cache = new TokenInfoCache(0, TimeUnit.SECONDS, 2, () -> now);
+        cache.put(TOKEN, tokenInfo(null));
+
+        assertNull(cache.get(TOKEN));
+        assertEquals(0, cache.getMisses());
+    }
+
+    private static Map<String, Object> tokenInfo(Long expiration) {
+        Map<String, Object> tokenInfo = new HashMap<>();
+        tokenInfo.put("active", true);
+        tokenInfo.put("user_id", "user@internal");
+        tokenInfo.put("scope", "ovirt-app-api");
+        if (expiration != null) {
+            tokenInfo.put("exp", expiration.toString());
+        }
+        return tokenInfo;
+    }
+}
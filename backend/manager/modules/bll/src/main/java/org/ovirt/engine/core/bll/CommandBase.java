@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -90,7 +91,6 @@ import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogableImpl;
 import org.ovirt.engine.core.dal.job.ExecutionMessageDirector;
 import org.ovirt.engine.core.dao.BusinessEntitySnapshotDao;
 import org.ovirt.engine.core.dao.EntityDao;
-import org.ovirt.engine.core.dao.PermissionDao;
 import org.ovirt.engine.core.dao.StepDao;
 import org.ovirt.engine.core.utils.CorrelationIdTracker;
 import org.ovirt.engine.core.utils.ReflectionUtils;
@@ -102,6 +102,7 @@ import org.ovirt.engine.core.utils.lock.LockingResult;
 import org.ovirt.engine.core.utils.transaction.TransactionCompletionListener;
 import org.ovirt.engine.core.utils.transaction.TransactionMethod;
 import org.ovirt.engine.core.utils.transaction.TransactionRollbackListener;
+import org.ovirt.engine.core.utils.transaction.TransactionSuccessListener;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -157,7 +158,7 @@ public abstract class CommandBase<T extends ActionParametersBase>
     private BusinessEntitySnapshotDao businessEntitySnapshotDao;
 
     @Inject
-    private PermissionDao permissionDao;
+    private PermissionCache permissionCache;
 
     @Inject
     private StepDao stepDao;
@@ -658,6 +659,10 @@ public abstract class CommandBase<T extends ActionParametersBase>
             if (isEndSuccessfully()) {
                 internalEndSuccessfully();
                 setCommandStatus(CommandStatus.ENDED_SUCCESSFULLY, false);
+                // async commands change the entities the permissions apply to only when they end
+                if (PermissionCache.isInvalidatedBy(getActionType())) {
+                    invalidatePermissionCache();
+                }
             } else {
                 internalEndWithFailure();
                 setCommandStatus(CommandStatus.ENDED_WITH_FAILURE, false);
@@ -926,7 +931,9 @@ public abstract class CommandBase<T extends ActionParametersBase>
             final Guid object,
             final VdcObjectType type) {
         // Grant if there is matching permission in the database:
-        final Guid permId = permissionDao.getEntityPermissions(userId, actionGroup, object, type);
+        DbUser user = getCurrentUser();
+        Collection<Guid> groupIds = user != null && Objects.equals(userId, user.getId()) ? user.getGroupIds() : null;
+        final Guid permId = permissionCache.getEntityPermissions(userId, groupIds, actionGroup, object, type);
         if (permId != null) {
             if (log.isDebugEnabled()) {
                 log.debug("Found permission '{}' for user when running '{}', on '{}' with id '{}'",
@@ -1221,11 +1228,23 @@ public abstract class CommandBase<T extends ActionParametersBase>
                         && getCommandCompensationPhase() == CommandCompensationPhase.EXECUTION) {
                     getCompensationContext().cleanupCompensationDataAfterSuccessfulCommand();
                 }
+                if (PermissionCache.isInvalidatedBy(getActionType())) {
+                    invalidatePermissionCache();
+                }
             }
         }
         return functionReturnValue;
     }
 
+    /**
+     * Drops the cached permission checks right away and once more when the transaction commits, so checks done by
+     * other threads before the commit are not kept.
+     */
+    private void invalidatePermissionCache() {
+        permissionCache.invalidateAll();
+        registerRollbackHandler((TransactionSuccessListener) permissionCache::invalidateAll);
+    }
+
     protected TransactionScopeOption getTransactionScopeOption() {
         return getParameters().getTransactionScopeOption();
     }
@@ -4,8 +4,10 @@ import javax.inject.Inject;
 
 import org.ovirt.engine.core.bll.context.EngineContext;
 import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VdsStatistics;
 import org.ovirt.engine.core.common.queries.IdQueryParameters;
 import org.ovirt.engine.core.dao.VdsDao;
+import org.ovirt.engine.core.vdsbroker.monitoring.StatisticsStore;
 
 public class GetVdsByVdsIdQuery<P extends IdQueryParameters> extends QueriesCommandBase<P> {
     public GetVdsByVdsIdQuery(P parameters, EngineContext engineContext) {
@@ -18,11 +20,18 @@ public class GetVdsByVdsIdQuery<P extends IdQueryParameters> extends QueriesComm
     @Inject
     private VdsDao vdsDao;
 
+    @Inject
+    private StatisticsStore statisticsStore;
+
     @Override
     protected void executeQueryCommand() {
         VDS vds = vdsDao.get(getParameters().getId());
 
         if (vds != null) {
+            VdsStatistics statistics = statisticsStore.getPendingVdsStatistics(vds.getId());
+            if (statistics != null) {
+                vds.setStatisticsData(statistics);
+            }
             vds.setCpuName(cpuFlagsManagerHandler.findMaxServerCpuByFlags(vds.getCpuFlags(),
                     vds.getClusterCompatibilityVersion()));
         }
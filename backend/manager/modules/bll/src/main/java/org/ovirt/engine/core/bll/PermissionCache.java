@@ -0,0 +1,289 @@
+package org.ovirt.engine.core.bll;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.VdcObjectType;
+import org.ovirt.engine.core.common.action.ActionType;
+import org.ovirt.engine.core.common.businessentities.ActionGroup;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.PermissionDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the results of {@link PermissionDao#getEntityPermissions(Guid, ActionGroup, Guid, VdcObjectType)}, so
+ * commands acting on many entities don't walk the entity hierarchy in the database for each of them.
+ * <p>
+ * The results are kept per user and groups of the user, so a user logging in with other groups doesn't get the
+ * results of its former groups. A result is kept at most {@link ConfigValues#PermissionCacheTimeToLiveInSeconds}
+ * seconds. All the results are dropped when a command which changes permissions, roles or the parents of entities
+ * succeeds, see {@link #isInvalidatedBy(ActionType)}, and results loaded while they were dropped are never served.
+ * Changes done by other means, such as the groups of other sessions of the same user, are seen once the results
+ * expire.
+ */
+@Singleton
+public class PermissionCache implements PermissionCacheMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionCache.class);
+
+    private static final String METRIC_PREFIX = "ovirt_engine_permission_cache_";
+
+    private static final Set<ActionType> INVALIDATING_ACTIONS = EnumSet.of(
+            ActionType.AddPermission,
+            ActionType.RemovePermission,
+            ActionType.AddSystemPermission,
+            ActionType.RemoveSystemPermission,
+            ActionType.AttachUserToVmFromPoolAndRun,
+            ActionType.DetachUserFromVmFromPool,
+            ActionType.RemoveUser,
+            ActionType.RemoveGroup,
+            ActionType.RemoveRole,
+            ActionType.AttachActionGroupsToRole,
+            ActionType.DetachActionGroupsFromRole,
+            ActionType.ChangeVMCluster,
+            ActionType.ChangeVDSCluster,
+            ActionType.UpdateCluster,
+            ActionType.AttachStorageDomainToPool,
+            ActionType.DetachStorageDomainFromPool,
+            ActionType.AttachDiskToVm,
+            ActionType.DetachDiskFromVm,
+            ActionType.MoveOrCopyDisk,
+            ActionType.MoveDisk);
+
+    @Inject
+    private PermissionDao permissionDao;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long ttl;
+    private int maxSize;
+    private LongSupplier clock;
+    private ObjectName objectName;
+
+    @PostConstruct
+    public void init() {
+        init(Config.<Integer> getValue(ConfigValues.PermissionCacheTimeToLiveInSeconds),
+                TimeUnit.SECONDS,
+                Config.<Integer> getValue(ConfigValues.PermissionCacheMaxSize),
+                System::currentTimeMillis);
+        registerInJMX();
+    }
+
+    void init(long ttl, TimeUnit unit, int maxSize, LongSupplier clock) {
+        this.ttl = unit.toMillis(ttl);
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    public void unregisterInJMX() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to unregister the permission cache from JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    /**
+     * @return whether a successful execution of the given action may change the permissions of users on entities
+     */
+    public static boolean isInvalidatedBy(ActionType actionType) {
+        return INVALIDATING_ACTIONS.contains(actionType);
+    }
+
+    /**
+     * Same as {@link PermissionDao#getEntityPermissions(Guid, ActionGroup, Guid, VdcObjectType)}, answered from the
+     * cache when possible.
+     *
+     * @param groupIds
+     *            the groups of the session of the user, or {@code null} if they aren't known, in which case the
+     *            database is always queried
+     */
+    public Guid getEntityPermissions(Guid userId,
+            Collection<Guid> groupIds,
+            ActionGroup actionGroup,
+            Guid objectId,
+            VdcObjectType type) {
+        if (!isEnabled() || userId == null || groupIds == null) {
+            return permissionDao.getEntityPermissions(userId, actionGroup, objectId, type);
+        }
+
+        Key key = new Key(userId, groupIds, actionGroup, objectId, type);
+        long currentGeneration = generation.get();
+        long now = clock.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isValid(now, currentGeneration)) {
+            hits.increment();
+            return entry.permissionId;
+        }
+
+        misses.increment();
+        Guid permissionId = permissionDao.getEntityPermissions(userId, actionGroup, objectId, type);
+        put(key, new Entry(permissionId, now + ttl, currentGeneration), now);
+        return permissionId;
+    }
+
+    /**
+     * Drops all the cached results.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        invalidateAll();
+    }
+
+    /**
+     * Writes the hits and misses of the cache in the Prometheus text exposition format.
+     */
+    public void writePrometheusText(PrintWriter out) {
+        writeMetric(out, "hits_total", "counter", "Permission checks answered from the cache", getHits());
+        writeMetric(out, "misses_total", "counter", "Permission checks which queried the database", getMisses());
+        writeMetric(out, "entries", "gauge", "Cached permission checks", getSize());
+        out.flush();
+    }
+
+    private static void writeMetric(PrintWriter out, String name, String type, String help, long value) {
+        out.print("# HELP " + METRIC_PREFIX + name + " " + help + "\n");
+        out.print("# TYPE " + METRIC_PREFIX + name + " " + type + "\n");
+        out.print(METRIC_PREFIX + name + " " + value + "\n");
+    }
+
+    private boolean isEnabled() {
+        return ttl > 0 && maxSize > 0;
+    }
+
+    private void put(Key key, Entry entry, long now) {
+        if (entries.size() >= maxSize) {
+            removeStale(now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private void removeStale(long now) {
+        long currentGeneration = generation.get();
+        entries.values().removeIf(entry -> !entry.isValid(now, currentGeneration));
+    }
+
+    private void registerInJMX() {
+        try {
+            objectName = new ObjectName("org.ovirt.engine.core.bll:type=PermissionCache");
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            log.warn("Failed to register the permission cache in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+            objectName = null;
+        }
+    }
+
+    private static class Key {
+        private final Guid userId;
+        private final Set<Guid> groupIds;
+        private final ActionGroup actionGroup;
+        private final Guid objectId;
+        private final VdcObjectType type;
+
+        private Key(Guid userId,
+                Collection<Guid> groupIds,
+                ActionGroup actionGroup,
+                Guid objectId,
+                VdcObjectType type) {
+            this.userId = userId;
+            this.groupIds = new HashSet<>(groupIds);
+            this.actionGroup = actionGroup;
+            this.objectId = objectId;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equals(userId, other.userId)
+                    && groupIds.equals(other.groupIds)
+                    && actionGroup == other.actionGroup
+                    && Objects.equals(objectId, other.objectId)
+                    && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, groupIds, actionGroup, objectId, type);
+        }
+    }
+
+    private static class Entry {
+        private final Guid permissionId;
+        private final long expiration;
+        private final long generation;
+
+        private Entry(Guid permissionId, long expiration, long generation) {
+            this.permissionId = permissionId;
+            this.expiration = expiration;
+            this.generation = generation;
+        }
+
+        private boolean isValid(long now, long currentGeneration) {
+            return now < expiration && generation == currentGeneration;
+        }
+    }
+}
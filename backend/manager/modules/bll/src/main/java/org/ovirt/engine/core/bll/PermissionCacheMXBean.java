@@ -0,0 +1,26 @@
+package org.ovirt.engine.core.bll;
+
+public interface PermissionCacheMXBean {
+
+    /**
+     * @return the number of permission checks answered from the cache
+     */
+    long getHits();
+
+    /**
+     * @return the number of permission checks which had to query the database
+     */
+    long getMisses();
+
+    /**
+     * @return the ratio of the hits to all the permission checks, or 0 if there were none
+     */
+    double getHitRate();
+
+    /**
+     * @return the number of cached permission checks, including the ones which expired and were not removed yet
+     */
+    int getSize();
+
+    void clear();
+}
@@ -2,22 +2,33 @@ package org.ovirt.engine.core.bll;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
 import org.ovirt.engine.core.bll.context.CommandContext;
+import org.ovirt.engine.core.bll.scheduling.SchedulingManager;
 import org.ovirt.engine.core.common.action.ActionParametersBase;
 import org.ovirt.engine.core.common.action.ActionType;
+import org.ovirt.engine.core.common.businessentities.VM;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.VmStaticDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class RunVMActionRunner extends SortedMultipleActionsRunnerBase {
 
+    private static final Logger log = LoggerFactory.getLogger(RunVMActionRunner.class);
+
     @Inject
     private VmStaticDao vmStaticDao;
 
+    @Inject
+    private SchedulingManager schedulingManager;
+
     public RunVMActionRunner(ActionType actionType, List<ActionParametersBase> parameters, CommandContext commandContext, boolean isInternal) {
         super(actionType, parameters, commandContext, isInternal);
     }
@@ -44,4 +55,51 @@ public class RunVMActionRunner extends SortedMultipleActionsRunnerBase {
 
     }
 
+    /**
+     * Schedules the VMs of each cluster together, instead of letting each command load the state of the cluster and
+     * schedule its VM on its own. The commands whose VM could not be scheduled in the batch schedule it when they
+     * are executed, as they would without the batch.
+     */
+    @Override
+    protected void prepareSortedCommands() {
+        Map<Guid, List<RunVmCommand<?>>> commandsByCluster = getCommands().stream()
+                .filter(command -> command.getReturnValue().isValid())
+                .filter(RunVmCommand.class::isInstance)
+                .<RunVmCommand<?>>map(command -> (RunVmCommand<?>) command)
+                .filter(command -> command.isBatchSchedulable())
+                .collect(Collectors.groupingBy(command -> command.getClusterId(), LinkedHashMap::new, Collectors.toList()));
+
+        commandsByCluster.values().stream()
+                .filter(commands -> commands.size() > 1)
+                .forEach(this::scheduleBatch);
+    }
+
+    private void scheduleBatch(List<RunVmCommand<?>> commands) {
+        Map<Guid, RunVmCommand<?>> commandsByVmId = commands.stream()
+                .collect(Collectors.toMap(CommandBase::getVmId, command -> command));
+        List<VM> vms = commands.stream().map(CommandBase::getVm).collect(Collectors.toList());
+
+        RunVmCommand<?> firstCommand = commands.get(0);
+        Map<Guid, Guid> vmToHostAssignment = schedulingManager.prepareCall(firstCommand.getCluster())
+                .delay(true)
+                .correlationId(firstCommand.getCorrelationId())
+                .scheduleBatch(vms);
+        vmToHostAssignment.forEach((vmId, hostId) -> commandsByVmId.get(vmId).setBatchScheduledVdsId(hostId));
+
+        log.info("Scheduled {} out of {} VMs of cluster '{}' in a batch",
+                vmToHostAssignment.size(),
+                vms.size(),
+                firstCommand.getCluster().getName());
+    }
+
+    @Override
+    protected void executeValidatedCommand(CommandBase<?> command) {
+        try {
+            super.executeValidatedCommand(command);
+        } finally {
+            if (command instanceof RunVmCommand) {
+                ((RunVmCommand<?>) command).clearUnusedBatchScheduledVds();
+            }
+        }
+    }
 }
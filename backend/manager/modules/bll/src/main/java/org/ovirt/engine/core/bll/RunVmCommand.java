@@ -58,6 +58,7 @@ import org.ovirt.engine.core.common.businessentities.DisplayType;
 import org.ovirt.engine.core.common.businessentities.GraphicsInfo;
 import org.ovirt.engine.core.common.businessentities.GraphicsType;
 import org.ovirt.engine.core.common.businessentities.InitializationType;
+import org.ovirt.engine.core.common.businessentities.OriginType;
 import org.ovirt.engine.core.common.businessentities.Snapshot;
 import org.ovirt.engine.core.common.businessentities.Snapshot.SnapshotType;
 import org.ovirt.engine.core.common.businessentities.StorageDomain;
@@ -125,6 +126,8 @@ public class RunVmCommand<T extends RunVmParams> extends RunVmCommandBase<T>
     private boolean needsHostDevices = false;
     private InitializationType initializationType;
     protected VmPayload vmPayload;
+    /** Host selected when the VM was scheduled together with other VMs, its pending resources are reserved */
+    private Guid batchScheduledVdsId;
 
     public static final String ISO_PREFIX = "iso://";
     public static final String STATELESS_SNAPSHOT_DESCRIPTION = "stateless snapshot";
@@ -919,13 +922,17 @@ public class RunVmCommand<T extends RunVmParams> extends RunVmCommandBase<T>
     }
 
     protected boolean getVdsToRunOn() {
-        Optional<Guid> vdsToRunOn = schedulingManager.prepareCall(getCluster())
-                .hostBlackList(getRunVdssList())
-                .hostWhiteList(getVdsWhiteList())
-                .destHostIdList(getPredefinedVdsIdListToRunOn())
-                .delay(true)
-                .correlationId(getCorrelationId())
-                .schedule(getVm());
+        Optional<Guid> vdsToRunOn = batchScheduledVdsId != null
+                ? Optional.of(batchScheduledVdsId)
+                : schedulingManager.prepareCall(getCluster())
+                        .hostBlackList(getRunVdssList())
+                        .hostWhiteList(getVdsWhiteList())
+                        .destHostIdList(getPredefinedVdsIdListToRunOn())
+                        .delay(true)
+                        .correlationId(getCorrelationId())
+                        .schedule(getVm());
+        // the host selected in the batch is only used for the first attempt, reruns are scheduled again
+        batchScheduledVdsId = null;
 
         setVdsId(vdsToRunOn.orElse(null));
         if (vdsToRunOn.isPresent()) {
@@ -1466,6 +1473,39 @@ public class RunVmCommand<T extends RunVmParams> extends RunVmCommandBase<T>
         return Collections.emptyList();
     }
 
+    /**
+     * Checks whether the VM can be scheduled together with other VMs before the command is executed. Only VMs
+     * which are started on a host selected by the scheduler without any other constraints qualify, the VMs which
+     * are resumed or run as stateless, which are started asynchronously, are scheduled by the command itself.
+     */
+    boolean isBatchSchedulable() {
+        return getVm() != null
+                && getVm().getStatus() == VMStatus.Down
+                && getVm().getOrigin() != OriginType.KUBEVIRT
+                && !isRunAsStateless()
+                && getVdsWhiteList().isEmpty()
+                && getPredefinedVdsIdListToRunOn().isEmpty();
+    }
+
+    /**
+     * Sets the host the VM was scheduled to together with other VMs, the pending resources of the VM must already
+     * be reserved on the host.
+     */
+    void setBatchScheduledVdsId(Guid vdsId) {
+        batchScheduledVdsId = vdsId;
+    }
+
+    /**
+     * Clears the pending resources reserved by the batch scheduling, in case the command did not get to use the
+     * host it was scheduled to.
+     */
+    void clearUnusedBatchScheduledVds() {
+        if (batchScheduledVdsId != null) {
+            schedulingManager.clearPendingVm(vmStaticDao.get(getVmId()));
+            batchScheduledVdsId = null;
+        }
+    }
+
     /**
      * Since this callback is called by the VdsUpdateRunTimeInfo thread, we don't want it
      * to fetch the VM using {@link #getVm()}, as the thread that invokes {@link #rerun()},
@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.bll;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -16,6 +17,8 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.apache.commons.lang.StringUtils;
 import org.ovirt.engine.api.extensions.ExtMap;
@@ -84,15 +87,18 @@ import org.ovirt.engine.core.dao.network.VmNetworkInterfaceDao;
 import org.ovirt.engine.core.dao.network.VnicProfileViewDao;
 import org.ovirt.engine.core.dao.provider.ProviderDao;
 import org.ovirt.engine.core.searchbackend.ISyntaxChecker;
+import org.ovirt.engine.core.searchbackend.ParameterizedQuery;
 import org.ovirt.engine.core.searchbackend.SearchObjects;
 import org.ovirt.engine.core.searchbackend.SyntaxCheckerFactory;
 import org.ovirt.engine.core.searchbackend.SyntaxContainer;
 import org.ovirt.engine.core.searchbackend.SyntaxError;
+import org.ovirt.engine.core.utils.collections.LruCache;
 import org.ovirt.engine.core.utils.lock.EngineLock;
 import org.ovirt.engine.core.utils.lock.LockManager;
+import org.slf4j.LoggerFactory;
 
 public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<P> {
-    private static final Map<String, QueryData> queriesCache = new HashMap<>();
+    private static volatile LruCache<String, QueryData> queriesCache;
     public static final String LDAP = "LDAP";
 
     @Inject
@@ -268,7 +274,7 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
         }
 
         var javaZoneIdToOffset = vmHandler.getJavaZoneIdToOffsetFuncSupplier();
-        List<VM> vms = vmDao.getAllUsingQuery(data.getQuery());
+        List<VM> vms = vmDao.getAllUsingQuery(data.getQuery(), data.getParameters().toArray());
         Map<Guid, VM> vmsById = new HashMap<>();
         for (VM vm : vms) {
             vmHandler.updateVmGuestAgentVersion(vm);
@@ -387,8 +393,8 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
             return new ArrayList<>();
         }
 
-        log.debug("Executing generic query: {}", data.getQuery());
-        return dao.getAllWithQuery(data.getQuery());
+        log.debug("Executing generic query: {} {}", data.getQuery(), data.getParameters());
+        return dao.getAllWithQuery(data.getQuery(), data.getParameters().toArray());
     }
 
     private List<AuditLog> searchAuditLogEvents() {
@@ -509,8 +515,45 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
                     "^((?<prefix>(%s))@)(?<content>.*)",
                     StringUtils.join(AD_SEARCH_TYPES, "|")));
 
+    /**
+     * Returns the cache of the parsed search queries, creating it and registering its statistics in JMX on first use.
+     * The max size of the cache follows {@link ConfigValues#SearchQueriesCacheMaxSize}, which may be reloaded.
+     */
+    private static LruCache<String, QueryData> getQueriesCache() {
+        int maxSize = Config.<Integer> getValue(ConfigValues.SearchQueriesCacheMaxSize);
+        LruCache<String, QueryData> cache = queriesCache;
+        if (cache == null) {
+            synchronized (SearchQuery.class) {
+                cache = queriesCache;
+                if (cache == null) {
+                    cache = new LruCache<>(maxSize);
+                    registerQueriesCacheInJMX(cache);
+                    queriesCache = cache;
+                }
+            }
+        }
+        if (cache.getMaxSize() != maxSize) {
+            cache.setMaxSize(maxSize);
+        }
+        return cache;
+    }
+
+    private static void registerQueriesCacheInJMX(LruCache<String, QueryData> cache) {
+        try {
+            ObjectName objectName = new ObjectName("SearchQuery:type=QueriesCache");
+            MBeanServer platformMBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (!platformMBeanServer.isRegistered(objectName)) {
+                platformMBeanServer.registerMBean(cache, objectName);
+            }
+        } catch (Exception e) {
+            LoggerFactory.getLogger(SearchQuery.class).warn("Problem during registration of queries cache into JMX: {}",
+                    e.getMessage());
+        }
+    }
+
     private QueryData initQueryData(boolean useCache) {
         final String ASTR = "*";
+        final LruCache<String, QueryData> queriesCache = getQueriesCache();
         QueryData data = null;
         boolean isExistsValue = false;
         boolean IsFromYesterday = false;
@@ -522,10 +565,15 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
             }
             String searchText = getParameters().getSearchPattern();
             // do not cache expressions with '*' since it is translated to specific IDs that might be changed
-            useCache = useCache && !searchText.contains(ASTR);
+            // do not cache pages after a row either, since each page of a keyset paged search would take an entry
+            useCache = useCache && !searchText.contains(ASTR) && getParameters().getSearchAfter() == null;
             if (useCache) {
                 // first lets check the cache of queries.
-                searchKey = String.format("%1$s,%2$s,%3$s", searchText, getParameters().getMaxCount(), getParameters().getCaseSensitive());
+                searchKey = String.format("%1$s,%2$s,%3$s,%4$s",
+                        searchText,
+                        getParameters().getMaxCount(),
+                        getParameters().getCaseSensitive(),
+                        getParameters().getSearchFrom());
                 data = queriesCache.get(searchKey);
                 isExistsValue = data != null;
 
@@ -593,6 +641,7 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
                 searchObj.setMaxCount(Math.min(Integer.MAX_VALUE, getParameters().getMaxCount()));
                 // setting FromSearch value
                 searchObj.setSearchFrom(getParameters().getSearchFrom());
+                searchObj.setSearchAfter(getParameters().getSearchAfter());
                 if (searchObj.getError() != SyntaxError.NO_ERROR) {
                     int startPos = searchObj.getErrorStartPos();
                     int endPos = searchObj.getErrorEndPos();
@@ -631,8 +680,11 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
                 // find if this is a trivial search expression (like 'Vms:' etc).
                 isSafe = SearchObjects.isSafeExpression(searchText);
                 // An expression is considered safe if matches a trivial search.
+                ParameterizedQuery query =
+                        curSyntaxChecker.generateParameterizedQueryFromSyntaxContainer(searchObj, isSafe);
                 data =
-                        new QueryData(curSyntaxChecker.generateQueryFromSyntaxContainer(searchObj, isSafe),
+                        new QueryData(query.getSql(),
+                                query.getParameters(),
                                 DateTime.getNow().getTime(),
                                 queryAuthz, queryNamespace);
                 // when looking for tags , the query contains all parent children tag id's
@@ -14,9 +14,16 @@ public abstract class SortedMultipleActionsRunnerBase extends PrevalidatingMulti
 
     protected abstract void sortCommands();
 
+    /**
+     * Called once the commands are sorted, before any of them is executed.
+     */
+    protected void prepareSortedCommands() {
+    }
+
     @Override
     protected void runCommands() {
         sortCommands();
+        prepareSortedCommands();
         super.runCommands();
     }
 }
@@ -88,6 +88,7 @@ import org.ovirt.engine.core.common.businessentities.VmStatic;
 import org.ovirt.engine.core.common.businessentities.VmType;
 import org.ovirt.engine.core.common.businessentities.VmWatchdog;
 import org.ovirt.engine.core.common.businessentities.network.VmNetworkInterface;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkStatistics;
 import org.ovirt.engine.core.common.businessentities.network.VmNic;
 import org.ovirt.engine.core.common.businessentities.storage.CinderDisk;
 import org.ovirt.engine.core.common.businessentities.storage.Disk;
@@ -149,6 +150,7 @@ import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.ovirt.engine.core.vdsbroker.VmManager;
 import org.ovirt.engine.core.vdsbroker.builder.vminfo.VmInfoBuildUtils;
+import org.ovirt.engine.core.vdsbroker.monitoring.StatisticsStore;
 import org.ovirt.engine.core.vdsbroker.vdsbroker.NumaSettingFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -173,6 +175,9 @@ public class VmHandler implements BackendService {
     @Inject
     private ResourceManager resourceManager;
 
+    @Inject
+    private StatisticsStore statisticsStore;
+
     @Inject
     private VDSBrokerFrontend vdsBrokerFrontend;
 
@@ -610,6 +615,12 @@ public class VmHandler implements BackendService {
 
     public void updateNetworkInterfacesFromDb(VM vm) {
         List<VmNetworkInterface> interfaces = vmNetworkInterfaceDao.getAllForVm(vm.getId());
+        for (VmNetworkInterface iface : interfaces) {
+            VmNetworkStatistics statistics = statisticsStore.getPendingVmNetworkStatistics(iface.getId());
+            if (statistics != null) {
+                iface.setStatistics(statistics);
+            }
+        }
         vm.setInterfaces(interfaces);
     }
 
@@ -28,6 +28,7 @@ import org.ovirt.engine.core.aaa.AcctUtils;
 import org.ovirt.engine.core.aaa.AuthenticationProfile;
 import org.ovirt.engine.core.aaa.AuthenticationProfileRepository;
 import org.ovirt.engine.core.aaa.SsoOAuthServiceUtils;
+import org.ovirt.engine.core.aaa.TokenInfoCache;
 import org.ovirt.engine.core.common.businessentities.EngineSession;
 import org.ovirt.engine.core.common.businessentities.aaa.DbUser;
 import org.ovirt.engine.core.common.config.Config;
@@ -187,6 +188,7 @@ public class SessionDataContainer {
 
     public void cleanupEngineSessionsForSsoAccessToken(String ssoAccessToken) {
         if (StringUtils.isNotEmpty(ssoAccessToken)) {
+            TokenInfoCache.getInstance().invalidate(ssoAccessToken);
             Iterator<Entry<String, SessionInfo>> iter = sessionInfoMap.entrySet().iterator();
             while (iter.hasNext()) {
                 Entry<String, SessionInfo> entry = iter.next();
@@ -257,6 +259,8 @@ public class SessionDataContainer {
                         getUserName(entry.getKey()));
                 if (sessionValid) {
                     SsoOAuthServiceUtils.revoke((String) sessionMap.get(SSO_ACCESS_TOKEN_PARAMETER_NAME), "");
+                } else {
+                    TokenInfoCache.getInstance().invalidate(token);
                 }
             }
         }
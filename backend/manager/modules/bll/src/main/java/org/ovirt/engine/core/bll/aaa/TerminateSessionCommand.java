@@ -8,6 +8,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.apache.commons.lang.StringUtils;
+import org.ovirt.engine.core.aaa.TokenInfoCache;
 import org.ovirt.engine.core.bll.CommandBase;
 import org.ovirt.engine.core.bll.context.CommandContext;
 import org.ovirt.engine.core.bll.utils.PermissionSubject;
@@ -60,6 +61,8 @@ public class TerminateSessionCommand<T extends TerminateSessionParameters> exten
                     String.format("%s@%s", terminatedUser.getLoginName(), terminatedUser.getDomain()));
         }
 
+        // the token may still be presented by the terminated client, so it has to be validated again by the SSO service
+        TokenInfoCache.getInstance().invalidate(sessionDataContainer.getSsoAccessToken(sessionId));
         setReturnValue(
                 backend.logoff(
                         new ActionParametersBase(sessionId)));
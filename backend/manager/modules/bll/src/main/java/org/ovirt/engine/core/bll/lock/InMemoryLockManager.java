@@ -2,17 +2,21 @@ package org.ovirt.engine.core.bll.lock;
 
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -36,7 +40,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The following class an implementation of internal locking mechanism
+ * The following class an implementation of internal locking mechanism.
+ *
+ * The locks are partitioned into stripes by the hash of their key, every stripe is guarded by its own lock and has
+ * its own condition, so acquiring or releasing locks of unrelated entities does not contend and a release only wakes
+ * up the threads waiting on the stripes it touched. An {@link EngineLock} which spans several stripes acquires all of
+ * them in ascending order, so acquiring all of its keys remains atomic.
  */
 @Startup
 @Singleton(name = "LockManager")
@@ -45,17 +54,36 @@ import org.slf4j.LoggerFactory;
 @Local(LockManager.class)
 public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBean {
 
-    /** A map which is contains all internal representation of locks **/
-    private final Map<String, InternalLockView> locks = new HashMap<>();
-    /** A lock which is used to synchronized acquireLock(), acquireLockWait() and releaseLock() operations **/
-    private final Lock globalLock = new ReentrantLock();
-    /** A condition which is used in order to notify for waiting threads that some lock was released**/
-    private final Condition releasedLock = globalLock.newCondition();
+    /** The default number of stripes the locks are partitioned into **/
+    static final int DEFAULT_STRIPE_COUNT = 64;
+
+    /** The stripes which contain all internal representation of locks **/
+    private final Stripe[] stripes;
+
+    /** Contention statistics exposed via JMX **/
+    private final LongAdder acquireAttempts = new LongAdder();
+    private final LongAdder failedAcquireAttempts = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitTimeNanos = new LongAdder();
 
     private MBeanServer platformMBeanServer;
     private ObjectName objectName = null;
     private static final Logger log = LoggerFactory.getLogger(InMemoryLockManager.class);
 
+    public InMemoryLockManager() {
+        this(DEFAULT_STRIPE_COUNT);
+    }
+
+    InMemoryLockManager(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripe count must be positive");
+        }
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
     @PostConstruct
     public void registerInJMX() {
         try {
@@ -79,11 +107,12 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
     @Override
     public LockingResult acquireLock(EngineLock lock) {
         log.debug("Before acquiring lock '{}'", lock);
-        globalLock.lock();
+        int[] indexes = stripeIndexes(lock);
+        lockStripes(indexes);
         try {
-            return acquireLockInternal(lock);
+            return acquireLockInternal(lock).getResult();
         } finally {
-            globalLock.unlock();
+            unlockStripes(indexes);
         }
     }
 
@@ -91,16 +120,10 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
     public void acquireLockWait(EngineLock lock) {
         log.debug("Before acquiring and wait lock '{}'", lock);
         validateLockForAcquireAndWait(lock);
-        globalLock.lock();
         try {
-            while (!acquireLockInternal(lock).isAcquired()) {
-                log.info("Failed to acquire lock and wait lock '{}'", lock);
-                releasedLock.await();
-            }
+            acquireLockWaitInternal(lock, false, 0L);
         } catch (InterruptedException ignore) {
 
-        } finally {
-            globalLock.unlock();
         }
     }
 
@@ -111,27 +134,59 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
         if (timeoutMillis <= 0) {
             throw new IllegalArgumentException("timeout must be positive");
         }
-        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
-        LockingResult lockAcquired = LockingResult.fail();
-        globalLock.lock();
         try {
-            do {
-                lockAcquired = acquireLockInternal(lock);
-                if (!lockAcquired.isAcquired()) {
-                    if (timeoutNanos <= 0L) {
-                        log.info("Failed to acquire lock because timeout was reached. lock {}", lock);
-                        break;
-                    }
-                    log.info("Failed to acquire lock, will try again until timeout. lock '{}'", lock);
-                    timeoutNanos = releasedLock.awaitNanos(timeoutNanos);
-                }
-            } while (!lockAcquired.isAcquired());
+            return acquireLockWaitInternal(lock, true, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
         } catch (InterruptedException ignore) {
             log.info("Acquire lock operation was interrupted. lock '{}'", lock);
-        } finally {
-            globalLock.unlock();
+            return LockingResult.fail();
+        }
+    }
+
+    /**
+     * Tries to acquire the given lock until it succeeds or the timeout is reached. On failure only the stripe of the
+     * conflicting key is kept locked while waiting on its condition, so the release of that key can't be missed, and
+     * the waiting thread is woken up only by releases of keys sharing that stripe.
+     */
+    private LockingResult acquireLockWaitInternal(EngineLock lock, boolean timed, long timeoutNanos)
+            throws InterruptedException {
+        int[] indexes = stripeIndexes(lock);
+        long remainingNanos = timeoutNanos;
+        while (true) {
+            AcquireAttempt attempt;
+            lockStripes(indexes);
+            try {
+                attempt = acquireLockInternal(lock);
+            } catch (RuntimeException e) {
+                unlockStripes(indexes);
+                throw e;
+            }
+            if (attempt.getResult().isAcquired()) {
+                unlockStripes(indexes);
+                return attempt.getResult();
+            }
+
+            int conflictingIndex = stripeIndex(attempt.getConflictingKey());
+            unlockStripesExcept(indexes, conflictingIndex);
+            Stripe conflictingStripe = stripes[conflictingIndex];
+            try {
+                if (timed && remainingNanos <= 0L) {
+                    log.info("Failed to acquire lock because timeout was reached. lock {}", lock);
+                    return attempt.getResult();
+                }
+                waits.increment();
+                long waitStart = System.nanoTime();
+                if (timed) {
+                    log.info("Failed to acquire lock, will try again until timeout. lock '{}'", lock);
+                    remainingNanos = conflictingStripe.released.awaitNanos(remainingNanos);
+                } else {
+                    log.info("Failed to acquire lock and wait lock '{}'", lock);
+                    conflictingStripe.released.await();
+                }
+                waitTimeNanos.add(System.nanoTime() - waitStart);
+            } finally {
+                conflictingStripe.lock.unlock();
+            }
         }
-        return lockAcquired;
     }
 
     private void validateLockForAcquireAndWait(EngineLock lock) {
@@ -144,7 +199,8 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
     @Override
     public void releaseLock(EngineLock lock) {
         log.debug("Before releasing a lock '{}'", lock);
-        globalLock.lock();
+        int[] indexes = stripeIndexes(lock);
+        lockStripes(indexes);
         try {
             if (lock.getSharedLocks() != null) {
                 lock.getSharedLocks().entrySet().stream().forEach(entry ->
@@ -154,21 +210,26 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
                 lock.getExclusiveLocks().entrySet().stream().forEach(entry ->
                     releaseExclusiveLock(buildHashMapKey(entry)));
             }
-            releasedLock.signalAll();
+            for (int index : indexes) {
+                stripes[index].released.signalAll();
+            }
         } finally {
-            globalLock.unlock();
+            unlockStripes(indexes);
         }
     }
 
     @Override
     public void clear() {
         log.warn("Cleaning all in memory locks");
-        globalLock.lock();
+        int[] indexes = allStripeIndexes();
+        lockStripes(indexes);
         try {
-            locks.clear();
-            releasedLock.signalAll();
+            for (Stripe stripe : stripes) {
+                stripe.locks.clear();
+                stripe.released.signalAll();
+            }
         } finally {
-            globalLock.unlock();
+            unlockStripes(indexes);
         }
     }
 
@@ -177,9 +238,10 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
         log.warn("The following lock is going to be released via external call, lockId '{}', error message can be"
                 + " left for shared lock",
                 lockId);
-        globalLock.lock();
+        Stripe stripe = stripeFor(lockId);
+        stripe.lock.lock();
         try {
-            InternalLockView lock = locks.get(lockId);
+            InternalLockView lock = stripe.locks.get(lockId);
             if (lock == null) {
                 log.warn("Lock with id '{}' does not exist and can not be released via external call", lockId);
                 return false;
@@ -189,9 +251,9 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
             } else {
                 releaseSharedLock(lockId, null);
             }
-            releasedLock.signalAll();
+            stripe.released.signalAll();
         } finally {
-            globalLock.unlock();
+            stripe.lock.unlock();
         }
         log.warn("Lock '{}' was released via external call", lockId);
         return true;
@@ -200,15 +262,52 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
     @Override
     public List<String> showAllLocks() {
         log.debug("All in memory locks will be shown");
-        globalLock.lock();
+        int[] indexes = allStripeIndexes();
+        lockStripes(indexes);
         try {
-            return locks.entrySet().stream().map(this::createLockDescription).collect(Collectors.toList());
+            return Arrays.stream(stripes)
+                    .flatMap(stripe -> stripe.locks.entrySet().stream())
+                    .map(this::createLockDescription)
+                    .collect(Collectors.toList());
         } finally {
-            globalLock.unlock();
+            unlockStripes(indexes);
             log.debug("All in memory locks were shown");
         }
     }
 
+    @Override
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    @Override
+    public long getAcquireAttemptsCount() {
+        return acquireAttempts.sum();
+    }
+
+    @Override
+    public long getFailedAcquireAttemptsCount() {
+        return failedAcquireAttempts.sum();
+    }
+
+    @Override
+    public long getWaitsCount() {
+        return waits.sum();
+    }
+
+    @Override
+    public long getTotalWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.sum());
+    }
+
+    @Override
+    public void resetStatistics() {
+        acquireAttempts.reset();
+        failedAcquireAttempts.reset();
+        waits.reset();
+        waitTimeNanos.reset();
+    }
+
     private String createLockDescription(Entry<String, InternalLockView> e) {
         return "The object id is : " + e.getKey() + ' ' + e.getValue();
     }
@@ -220,52 +319,101 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
         return entry.getKey() + entry.getValue().getFirst();
     }
 
+    private int stripeIndex(String key) {
+        int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length;
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    /**
+     * Returns the sorted, distinct indexes of the stripes the keys of the given lock belong to. Stripes are always
+     * locked in ascending order in order to prevent deadlocks between locks spanning several stripes.
+     */
+    private int[] stripeIndexes(EngineLock lock) {
+        return Stream.of(lock.getSharedLocks(), lock.getExclusiveLocks())
+                .filter(Objects::nonNull)
+                .flatMap(map -> map.entrySet().stream())
+                .mapToInt(entry -> stripeIndex(buildHashMapKey(entry)))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private int[] allStripeIndexes() {
+        return IntStream.range(0, stripes.length).toArray();
+    }
+
+    private void lockStripes(int[] indexes) {
+        for (int index : indexes) {
+            stripes[index].lock.lock();
+        }
+    }
+
+    private void unlockStripes(int[] indexes) {
+        unlockStripesExcept(indexes, -1);
+    }
+
+    private void unlockStripesExcept(int[] indexes, int keptIndex) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            if (indexes[i] != keptIndex) {
+                stripes[indexes[i]].lock.unlock();
+            }
+        }
+    }
+
     /**
      * The following method contains a logic for acquiring a lock. It is comprised of two steps:
      * 1. Check if the lock can be acquired
      * 2. If the first step succeeds, acquire a lock
+     * The stripes of all the keys of the lock must be held by the caller.
      */
-    private LockingResult acquireLockInternal(EngineLock lock) {
-        var result = acquireLockInternalStep(lock, true);
-        if (!result.isAcquired()) {
-            return result;
+    private AcquireAttempt acquireLockInternal(EngineLock lock) {
+        acquireAttempts.increment();
+        var attempt = acquireLockInternalStep(lock, true);
+        if (!attempt.getResult().isAcquired()) {
+            failedAcquireAttempts.increment();
+            return attempt;
         }
 
-        result = acquireLockInternalStep(lock, false);
-        if (!result.isAcquired()) {
-            return result;
+        attempt = acquireLockInternalStep(lock, false);
+        if (!attempt.getResult().isAcquired()) {
+            failedAcquireAttempts.increment();
+            return attempt;
         }
 
         log.debug("Success acquiring lock '{}'", lock);
-        return LockingResult.success();
+        return AcquireAttempt.SUCCESS;
     }
 
-    private LockingResult acquireLockInternalStep(EngineLock lock, boolean checkOnly) {
+    private AcquireAttempt acquireLockInternalStep(EngineLock lock, boolean checkOnly) {
         if (lock.getSharedLocks() != null) {
             for (Entry<String, Pair<String, String>> entry : lock.getSharedLocks().entrySet()) {
-                LockingResult result =
-                        insertSharedLock(buildHashMapKey(entry), entry.getValue().getSecond(), checkOnly);
+                String key = buildHashMapKey(entry);
+                LockingResult result = insertSharedLock(key, entry.getValue().getSecond(), checkOnly);
                 if (!result.isAcquired()) {
                     log.debug("Failed to acquire lock. Shared lock is taken for key '{}', value '{}'",
                             entry.getKey(),
                             entry.getValue().getFirst());
-                    return result;
+                    return new AcquireAttempt(result, key);
                 }
             }
         }
         if (lock.getExclusiveLocks() != null) {
             for (Entry<String, Pair<String, String>> entry : lock.getExclusiveLocks().entrySet()) {
-                LockingResult result =
-                        insertExclusiveLock(buildHashMapKey(entry), entry.getValue().getSecond(), checkOnly);
+                String key = buildHashMapKey(entry);
+                LockingResult result = insertExclusiveLock(key, entry.getValue().getSecond(), checkOnly);
                 if (!result.isAcquired()) {
                     log.debug("Failed to acquire lock. Exclusive lock is taken for key '{}', value '{}'",
                             entry.getKey(),
                             entry.getValue().getFirst());
-                    return result;
+                    return new AcquireAttempt(result, key);
                 }
             }
         }
-        return LockingResult.success();
+        return AcquireAttempt.SUCCESS;
     }
 
     /**
@@ -274,6 +422,7 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
      *            - error message associated with lock
      */
     private LockingResult insertSharedLock(String key, String message, boolean isCheckOnly) {
+        Map<String, InternalLockView> locks = stripeFor(key).locks;
         InternalLockView lock = locks.get(key);
         if (lock != null) {
             if (!isCheckOnly) {
@@ -293,6 +442,7 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
      * added only if there is not exist any shared or exclusive lock for given key
      */
     private LockingResult insertExclusiveLock(String key, String message, boolean isCheckOnly) {
+        Map<String, InternalLockView> locks = stripeFor(key).locks;
         InternalLockView lock = locks.get(key);
         if (lock != null) {
             return LockingResult.fail(lock.getMessages());
@@ -304,6 +454,7 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
     }
 
     private void releaseExclusiveLock(String key) {
+        Map<String, InternalLockView> locks = stripeFor(key).locks;
         InternalLockView lock = locks.get(key);
         if (lock != null && lock.getExclusive()) {
             locks.remove(key);
@@ -316,6 +467,7 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
     }
 
     private void releaseSharedLock(String key, String message) {
+        Map<String, InternalLockView> locks = stripeFor(key).locks;
         InternalLockView lock = locks.get(key);
         if (lock != null) {
             if (lock.getCount() > 0) {
@@ -337,12 +489,20 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public LockInfo getLockInfo(String key) {
-        InternalLockView internalLockView = locks.get(key);
-        if (internalLockView == null) {
-            return null;
+        Stripe stripe = stripeFor(key);
+        InternalLockView internalLockView;
+        Set<String> messages;
+        stripe.lock.lock();
+        try {
+            internalLockView = stripe.locks.get(key);
+            if (internalLockView == null) {
+                return null;
+            }
+            messages = internalLockView.getMessages();
+        } finally {
+            stripe.lock.unlock();
         }
 
-        Set<String> messages = internalLockView.getMessages();
         messages.remove(EngineMessage.ACTION_TYPE_FAILED_OBJECT_LOCKED.name());
         if (messages.isEmpty()) {
             // EngineMessage.ACTION_TYPE_FAILED_OBJECT_LOCKED should only be used for
@@ -361,6 +521,43 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
                 .anyMatch(entry -> getLockInfo(buildHashMapKey(entry)) != null);
     }
 
+    /**
+     * The following class represents a partition of the locks, guarded by its own lock
+     */
+    private static class Stripe {
+
+        /** A map which is contains the internal representation of the locks of this stripe **/
+        private final Map<String, InternalLockView> locks = new HashMap<>();
+        /** A lock which is used to synchronize the operations on this stripe **/
+        private final ReentrantLock lock = new ReentrantLock();
+        /** A condition which is used in order to notify waiting threads that a lock of this stripe was released **/
+        private final Condition released = lock.newCondition();
+    }
+
+    /**
+     * The following class represents the outcome of an attempt to acquire a lock, along with the conflicting key
+     */
+    private static class AcquireAttempt {
+
+        private static final AcquireAttempt SUCCESS = new AcquireAttempt(LockingResult.success(), null);
+
+        private final LockingResult result;
+        private final String conflictingKey;
+
+        public AcquireAttempt(LockingResult result, String conflictingKey) {
+            this.result = result;
+            this.conflictingKey = conflictingKey;
+        }
+
+        public LockingResult getResult() {
+            return result;
+        }
+
+        public String getConflictingKey() {
+            return conflictingKey;
+        }
+    }
+
     /**
      * The following class represents different locks which are kept inside InMemoryLockManager
      */
@@ -21,4 +21,34 @@ public interface LockManagerMonitorMXBean {
      * The following method will release a lock with provided lockId
      */
     boolean releaseLock(String lockId);
+
+    /**
+     * The following method will return the number of stripes the locks are partitioned into
+     */
+    int getStripeCount();
+
+    /**
+     * The following method will return the number of attempts to acquire a lock
+     */
+    long getAcquireAttemptsCount();
+
+    /**
+     * The following method will return the number of attempts to acquire a lock which failed due to a conflicting lock
+     */
+    long getFailedAcquireAttemptsCount();
+
+    /**
+     * The following method will return the number of times a thread waited for a conflicting lock to be released
+     */
+    long getWaitsCount();
+
+    /**
+     * The following method will return the total time threads spent waiting for conflicting locks to be released
+     */
+    long getTotalWaitTimeMillis();
+
+    /**
+     * The following method will reset the contention statistics via JMX console
+     */
+    void resetStatistics();
 }
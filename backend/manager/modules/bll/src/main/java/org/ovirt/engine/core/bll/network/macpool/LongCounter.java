@@ -0,0 +1,152 @@
+package org.ovirt.engine.core.bll.network.macpool;
+
+/**
+ * Associative array counting occurrences of primitive {@code long} values, backed by an open addressing hash table so
+ * neither the values nor their counts are boxed.
+ */
+class LongCounter {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean allowDuplicate;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    /**
+     * number of occurrences of the value in the same slot of {@link #keys}, zero marks an empty slot.
+     */
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    LongCounter(boolean allowDuplicate) {
+        this.allowDuplicate = allowDuplicate;
+    }
+
+    /**
+     * add value if possible, incrementing number of its occurrences.
+     * @param key value to add.
+     * @return true if value was added  && count incremented.
+     */
+    public boolean increase(long key) {
+        return increase(key, allowDuplicate);
+    }
+
+    public boolean increase(long key, boolean allowDuplicate) {
+        int slot = findSlot(key);
+        if (counts[slot] > 0) {
+            if (!allowDuplicate) {
+                return false;
+            }
+            counts[slot]++;
+            return true;
+        }
+
+        keys[slot] = key;
+        counts[slot] = 1;
+        size++;
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * decrements number of its occurrences, removing value if count reaches zero.
+     *
+     * @param key value to remove.
+     */
+    public void decrease(long key) {
+        int slot = findSlot(key);
+        if (counts[slot] == 0) {
+            return;
+        }
+
+        counts[slot]--;
+        if (counts[slot] == 0) {
+            removeSlot(slot);
+        }
+    }
+
+    /**
+     * @param key value to look for
+     * @return true if there's at least one occurrence of given value.
+     */
+    public boolean contains(long key) {
+        return counts[findSlot(key)] > 0;
+    }
+
+    /**
+     * @param key value to look for
+     * @return number of occurrences of given value.
+     */
+    public int count(long key) {
+        return counts[findSlot(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsDuplicates() {
+        for (int count : counts) {
+            if (count > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (counts[slot] > 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties given slot and shifts back the following entries of the same probe sequence, so no tombstones are
+     * needed.
+     */
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int emptySlot = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (counts[current] == 0) {
+                break;
+            }
+            int home = hash(keys[current]) & mask;
+            boolean homeBetweenEmptyAndCurrent = emptySlot <= current
+                    ? emptySlot < home && home <= current
+                    : emptySlot < home || home <= current;
+            if (!homeBetweenEmptyAndCurrent) {
+                keys[emptySlot] = keys[current];
+                counts[emptySlot] = counts[current];
+                counts[current] = 0;
+                emptySlot = current;
+            }
+        }
+        counts[emptySlot] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] > 0) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
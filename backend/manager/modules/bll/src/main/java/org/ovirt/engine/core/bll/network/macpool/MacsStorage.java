@@ -1,6 +1,9 @@
 package org.ovirt.engine.core.bll.network.macpool;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Predicate;
@@ -16,8 +19,17 @@ import org.ovirt.engine.core.di.Injector;
 
 class MacsStorage {
     private final boolean allowDuplicates;
-    private List<Range> ranges = new LinkedList<>();
-    private ObjectCounter<Long> customMacs;
+    private List<Range> ranges = new ArrayList<>();
+    /**
+     * ranges sorted by their left boundary, used for looking up the range including given mac by binary search.
+     */
+    private Range[] rangesByStart = new Range[0];
+    /**
+     * for every index of {@link #rangesByStart}, the largest right boundary of the ranges up to that index.
+     */
+    private long[] maxEndUpToIndex = new long[0];
+    private boolean disjointRanges = true;
+    private LongCounter customMacs;
     private int startIndexForEmptyRangeSearch = 0;
     private Predicate<String> skipAllocationPredicate;
 
@@ -27,7 +39,7 @@ class MacsStorage {
 
     MacsStorage(boolean allowDuplicates, Predicate<String> skipAllocationPredicate) {
         this.allowDuplicates = allowDuplicates;
-        customMacs = new ObjectCounter<>(this.allowDuplicates);
+        customMacs = new LongCounter(this.allowDuplicates);
         this.skipAllocationPredicate = skipAllocationPredicate;
     }
 
@@ -37,9 +49,26 @@ class MacsStorage {
 
     Range addRange(Range range) {
         ranges.add(range);
+        rebuildRangesIndex();
         return range;
     }
 
+    private void rebuildRangesIndex() {
+        rangesByStart = ranges.toArray(new Range[0]);
+        // stable sort keeps ranges with the same left boundary in the order they were added
+        Arrays.sort(rangesByStart, Comparator.comparingLong(Range::getMinimum));
+        maxEndUpToIndex = new long[rangesByStart.length];
+        long maxEnd = Long.MIN_VALUE;
+        disjointRanges = true;
+        for (int i = 0; i < rangesByStart.length; i++) {
+            if (rangesByStart[i].getMinimum() <= maxEnd) {
+                disjointRanges = false;
+            }
+            maxEnd = Math.max(maxEnd, rangesByStart[i].getMaximum());
+            maxEndUpToIndex[i] = maxEnd;
+        }
+    }
+
     public boolean useMac(long mac) {
         return useMac(mac, allowDuplicates);
     }
@@ -153,13 +182,43 @@ class MacsStorage {
         return count;
     }
 
+    /**
+     * Finds the range including given mac by binary search over the ranges sorted by their left boundary. Ranges of a
+     * pool are normally disjoint, so only a single candidate is checked; should ranges overlap, the one added first is
+     * returned.
+     */
     private Range findIncludingRange(long mac) {
-        for (Range range : ranges) {
-            if (range.contains(mac)) {
-                return range;
+        int index = lastRangeStartingAtOrBefore(mac);
+        if (index < 0) {
+            return null;
+        }
+        if (disjointRanges) {
+            Range range = rangesByStart[index];
+            return range.contains(mac) ? range : null;
+        }
+
+        Range result = null;
+        for (int i = index; i >= 0 && maxEndUpToIndex[i] >= mac; i--) {
+            Range range = rangesByStart[i];
+            if (range.contains(mac) && (result == null || ranges.indexOf(range) < ranges.indexOf(result))) {
+                result = range;
             }
         }
-        return null;
+        return result;
+    }
+
+    private int lastRangeStartingAtOrBefore(long mac) {
+        int low = 0;
+        int high = rangesByStart.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (rangesByStart[middle].getMinimum() <= mac) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
     }
 
     boolean isMacInRange(Long mac) {
@@ -35,6 +35,14 @@ class Range {
         this.usedMacs = new BitSet(numberOfMacsInRange);
     }
 
+    public long getMinimum() {
+        return range.getMinimumLong();
+    }
+
+    public long getMaximum() {
+        return range.getMaximumLong();
+    }
+
     public boolean contains(long mac) {
         return range.containsLong(mac);
     }
@@ -173,7 +173,8 @@ public class SchedulingManager implements BackendService {
 
     private final int vcpuLoadPerCore = Config.<Integer>getValue(ConfigValues.VcpuConsumptionPercentage);
 
-    private PendingResourceManager getPendingResourceManager() {
+    // Package-private so it can be mocked in tests
+    PendingResourceManager getPendingResourceManager() {
         return pendingResourceManager;
     }
 
@@ -366,6 +367,22 @@ public class SchedulingManager implements BackendService {
             boolean delayWhenNeeded,
             String correlationId) {
         prepareClusterLock(cluster.getId());
+        if (!stateless && Config.<Boolean>getValue(ConfigValues.SchedulerOptimisticConcurrency)) {
+            Optional<Map<Guid, Guid>> optimisticResult = scheduleOptimistically(cluster,
+                    vms,
+                    hostBlackList,
+                    hostWhiteList,
+                    destHostIdList,
+                    ignoreHardVmToVmAffinity,
+                    doNotGroupVms,
+                    messages,
+                    delayWhenNeeded,
+                    correlationId);
+            if (optimisticResult.isPresent()) {
+                return optimisticResult.get();
+            }
+        }
+
         try {
             log.debug("Scheduling started, correlation Id: {}", correlationId);
             checkAllowOverbooking(cluster);
@@ -374,15 +391,11 @@ public class SchedulingManager implements BackendService {
             vms.forEach(vmHandler::updateVmStatistics);
             fetchNumaNodes(vms, hosts);
             ClusterPolicy policy = policyMap.get(cluster.getClusterPolicyId());
-            SchedulingContext context = new SchedulingContext(cluster,
-                    createClusterPolicyParameters(cluster),
+            SchedulingContext context = createSchedulingContext(cluster,
+                    policy,
                     ignoreHardVmToVmAffinity,
                     doNotGroupVms);
 
-            splitFilters(policy.getFilters(), policy.getFilterPositionMap(), context);
-            splitFunctions(policy.getFunctions(), context);
-            context.setShouldWeighClusterHosts(shouldWeighClusterHosts(cluster));
-
             Function<List<VM>, Optional<Guid>> findBestHost = group -> {
                 context.getMessages().clear();
                 refreshCachedPendingValues(hosts);
@@ -408,42 +421,12 @@ public class SchedulingManager implements BackendService {
                     continue;
                 }
 
-                Guid bestHostId = bestHost.get();
-                vmGroup.forEach(vm -> vmToHostAssignment.put(vm.getId(), bestHostId));
-
-                // Stateless scheduling will not update the pending values or update vfs
-                if (stateless) {
-                    continue;
-                }
-
-                List<VM> vmsNotOnHost = vmGroup.stream()
-                        .filter(vm -> !bestHostId.equals(vm.getRunOnVds()))
-                        .collect(Collectors.toList());
-
-                if (vmsNotOnHost.isEmpty()) {
-                    continue;
-                }
-
-                VDS host = hostsMap.get(bestHostId);
-                // For dedicate VMs we are going to miss adding up the pending resources for NUMA.
-                // We will update the pending resources per VM below and then the overall
-                Map<Guid, Map<Integer, NumaNodeMemoryConsumption>> numaConsumptionPerVm = vmNumaRequirements(vmGroup, host);
-                Map<Integer, NumaNodeMemoryConsumption> numaConsumption = numaConsumptionPerVm.values().stream()
-                        .flatMap(m -> m.entrySet().stream())
-                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, NumaNodeMemoryConsumption::merge));
-                updateHostNumaNodes(host, numaConsumption);
-
-                for (VM vm : vmsNotOnHost) {
-                    vmHandler.updateCpuAndNumaPinning(vm, host.getId());
-                    vmHandler.setCpuPinningByNumaPinning(vm, host.getId());
-                    List<VdsCpuUnit> dedicatedCpuPinning = vdsCpuUnitPinningHelper.updatePhysicalCpuAllocations(vm,
-                            PendingCpuPinning.collectForHost(getPendingResourceManager(), host.getId()), host.getId());
-                    String numaPinningString = vmHandler.createNumaPinningForExclusiveCpuPinning(vm, dedicatedCpuPinning);
-                    updateDedicatedNumaMemoryConsumption(vm, host, numaPinningString, numaConsumptionPerVm);
-                    addPendingResources(vm, host, numaConsumptionPerVm.getOrDefault(vm.getId(), Collections.emptyMap()), dedicatedCpuPinning);
-                    hostsToNotifyPending.add(bestHostId);
-                    vfsUpdates.add(() -> markVfsAsUsedByVm(vm, bestHostId));
-                }
+                assignVmGroup(vmGroup,
+                        hostsMap.get(bestHost.get()),
+                        stateless,
+                        vmToHostAssignment,
+                        hostsToNotifyPending,
+                        vfsUpdates);
             }
 
             hostsToNotifyPending.forEach(hostId -> getPendingResourceManager().notifyHostManagers(hostId));
@@ -461,6 +444,189 @@ public class SchedulingManager implements BackendService {
         }
     }
 
+    /**
+     * Schedules the VMs without holding the cluster lock while the filters and weights run, against the hosts
+     * and pending resources read at the beginning of the attempt. The cluster lock is only held to commit the
+     * result: if resources were added to any host of the cluster in the meantime, the attempt conflicts with another
+     * scheduling and is retried, up to {@link ConfigValues#SchedulerOptimisticMaxAttempts} times. All the hosts are
+     * checked, not only the selected one, since policy units such as the VM affinity ones look at the pending VMs of
+     * the other hosts as well.
+     *
+     * @return the assignment of the VMs, or empty if the VMs should be scheduled while holding the cluster lock,
+     *         because they have to be placed in several groups or all the attempts conflicted
+     */
+    private Optional<Map<Guid, Guid>> scheduleOptimistically(Cluster cluster,
+            List<VM> vms,
+            List<Guid> hostBlackList,
+            List<Guid> hostWhiteList,
+            List<Guid> destHostIdList,
+            boolean ignoreHardVmToVmAffinity,
+            boolean doNotGroupVms,
+            List<String> messages,
+            boolean delayWhenNeeded,
+            String correlationId) {
+        int maxAttempts = Config.<Integer>getValue(ConfigValues.SchedulerOptimisticMaxAttempts);
+        // The delay is executed only once
+        boolean delayed = false;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            log.debug("Optimistic scheduling attempt {} started, correlation Id: {}", attempt, correlationId);
+            List<VDS> clusterHosts = vdsDao.getAllForClusterWithStatus(cluster.getId(), VDSStatus.Up);
+            // the generations have to be read before the pending resources are, so no addition can be missed
+            Map<Guid, Long> hostGenerations = clusterHosts.stream()
+                    .collect(Collectors.toMap(VDS::getId,
+                            host -> getPendingResourceManager().getHostGeneration(host.getId())));
+            List<VDS> hosts = keepOnlyWhitelistedHosts(removeBlacklistedHosts(clusterHosts, hostBlackList),
+                    hostWhiteList);
+            vms.forEach(vmHandler::updateVmStatistics);
+            fetchNumaNodes(vms, hosts);
+            ClusterPolicy policy = policyMap.get(cluster.getClusterPolicyId());
+            SchedulingContext context = createSchedulingContext(cluster,
+                    policy,
+                    ignoreHardVmToVmAffinity,
+                    doNotGroupVms);
+            if (delayed) {
+                context.setCanDelay(false);
+            }
+
+            List<List<VM>> vmGroups = groupVms(vms, context);
+            if (vmGroups.size() != 1) {
+                // each group has to see the pending resources of the previous ones
+                return Optional.empty();
+            }
+
+            List<VM> vmGroup = vmGroups.get(0);
+            refreshCachedPendingValues(hosts);
+            Optional<Guid> bestHost = selectHost(policy, hosts, vmGroup, destHostIdList, context, correlationId);
+            if (delayWhenNeeded && !delayed && context.isShouldDelay()) {
+                log.debug("Delaying scheduling...");
+                runVmDelayer.delay(hosts.stream().map(VDS::getId).collect(Collectors.toList()));
+                delayed = true;
+                // the delayed attempt does not count, the hosts are read again after the delay
+                attempt--;
+                continue;
+            }
+
+            if (!bestHost.isPresent()) {
+                messages.addAll(context.getMessages());
+                return Optional.of(Collections.emptyMap());
+            }
+
+            Guid bestHostId = bestHost.get();
+            Map<Guid, Guid> vmToHostAssignment = new HashMap<>();
+            Set<Guid> hostsToNotifyPending = new HashSet<>();
+            List<Runnable> vfsUpdates = new ArrayList<>();
+            try {
+                lockCluster(cluster.getId());
+            } catch (InterruptedException e) {
+                log.error("scheduling interrupted, correlation Id: {}: {}", correlationId, e.getMessage());
+                log.debug("Exception: ", e);
+                return Optional.of(Collections.emptyMap());
+            }
+            try {
+                Optional<Guid> changedHostId = findChangedHost(hostGenerations);
+                if (changedHostId.isPresent()) {
+                    log.debug("Optimistic scheduling attempt {} conflicted on host '{}', correlation Id: {}",
+                            attempt,
+                            changedHostId.get(),
+                            correlationId);
+                    continue;
+                }
+                Map<Guid, VDS> hostsMap = hosts.stream().collect(Collectors.toMap(VDS::getId, h -> h));
+                assignVmGroup(vmGroup,
+                        hostsMap.get(bestHostId),
+                        false,
+                        vmToHostAssignment,
+                        hostsToNotifyPending,
+                        vfsUpdates);
+            } finally {
+                releaseCluster(cluster.getId());
+            }
+
+            hostsToNotifyPending.forEach(hostId -> getPendingResourceManager().notifyHostManagers(hostId));
+            vfsUpdates.forEach(Runnable::run);
+            messages.addAll(context.getMessages());
+            log.debug("Optimistic scheduling ended, correlation Id: {}", correlationId);
+            return Optional.of(vmToHostAssignment);
+        }
+
+        log.info("Optimistic scheduling did not succeed after {} attempts, scheduling while holding the lock of"
+                + " cluster '{}', correlation Id: {}", maxAttempts, cluster.getName(), correlationId);
+        return Optional.empty();
+    }
+
+    /**
+     * @return a host whose pending resources were added to since its generation was read, if there is one
+     */
+    private Optional<Guid> findChangedHost(Map<Guid, Long> hostGenerations) {
+        return hostGenerations.entrySet()
+                .stream()
+                .filter(entry -> getPendingResourceManager().getHostGeneration(entry.getKey()) != entry.getValue())
+                .map(Entry::getKey)
+                .findFirst();
+    }
+
+    private SchedulingContext createSchedulingContext(Cluster cluster,
+            ClusterPolicy policy,
+            boolean ignoreHardVmToVmAffinity,
+            boolean doNotGroupVms) {
+        SchedulingContext context = new SchedulingContext(cluster,
+                createClusterPolicyParameters(cluster),
+                ignoreHardVmToVmAffinity,
+                doNotGroupVms);
+
+        splitFilters(policy.getFilters(), policy.getFilterPositionMap(), context);
+        splitFunctions(policy.getFunctions(), context);
+        context.setShouldWeighClusterHosts(shouldWeighClusterHosts(cluster));
+        return context;
+    }
+
+    /**
+     * Assigns the group of VMs to the selected host and, unless the scheduling is stateless, adds the pending
+     * resources of the VMs which are not running on the host yet.
+     */
+    private void assignVmGroup(List<VM> vmGroup,
+            VDS host,
+            boolean stateless,
+            Map<Guid, Guid> vmToHostAssignment,
+            Set<Guid> hostsToNotifyPending,
+            List<Runnable> vfsUpdates) {
+        Guid bestHostId = host.getId();
+        vmGroup.forEach(vm -> vmToHostAssignment.put(vm.getId(), bestHostId));
+
+        // Stateless scheduling will not update the pending values or update vfs
+        if (stateless) {
+            return;
+        }
+
+        List<VM> vmsNotOnHost = vmGroup.stream()
+                .filter(vm -> !bestHostId.equals(vm.getRunOnVds()))
+                .collect(Collectors.toList());
+
+        if (vmsNotOnHost.isEmpty()) {
+            return;
+        }
+
+        // For dedicate VMs we are going to miss adding up the pending resources for NUMA.
+        // We will update the pending resources per VM below and then the overall
+        Map<Guid, Map<Integer, NumaNodeMemoryConsumption>> numaConsumptionPerVm = vmNumaRequirements(vmGroup, host);
+        Map<Integer, NumaNodeMemoryConsumption> numaConsumption = numaConsumptionPerVm.values().stream()
+                .flatMap(m -> m.entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, NumaNodeMemoryConsumption::merge));
+        updateHostNumaNodes(host, numaConsumption);
+
+        for (VM vm : vmsNotOnHost) {
+            vmHandler.updateCpuAndNumaPinning(vm, host.getId());
+            vmHandler.setCpuPinningByNumaPinning(vm, host.getId());
+            List<VdsCpuUnit> dedicatedCpuPinning = vdsCpuUnitPinningHelper.updatePhysicalCpuAllocations(vm,
+                    PendingCpuPinning.collectForHost(getPendingResourceManager(), host.getId()), host.getId());
+            String numaPinningString = vmHandler.createNumaPinningForExclusiveCpuPinning(vm, dedicatedCpuPinning);
+            updateDedicatedNumaMemoryConsumption(vm, host, numaPinningString, numaConsumptionPerVm);
+            addPendingResources(vm, host, numaConsumptionPerVm.getOrDefault(vm.getId(), Collections.emptyMap()), dedicatedCpuPinning);
+            hostsToNotifyPending.add(bestHostId);
+            vfsUpdates.add(() -> markVfsAsUsedByVm(vm, bestHostId));
+        }
+    }
+
     private void updateDedicatedNumaMemoryConsumption(VM vm, VDS host, String numaPinningString,
             Map<Guid, Map<Integer, NumaNodeMemoryConsumption>> numaConsumptionPerVm) {
         if (vm.getCpuPinningPolicy().isExclusive()) {
@@ -522,7 +688,7 @@ public class SchedulingManager implements BackendService {
             host.setNumaNodeList(vdsNumaNodeDao.getAllVdsNumaNodeByVdsId(host.getId()));
 
             // Subtracting pending memory, so the scheduling units don't have to consider it
-            Map<Integer, NumaNodeMemoryConsumption> pendingNumaMemory = PendingNumaMemory.collectForHost(pendingResourceManager, host.getId());
+            Map<Integer, NumaNodeMemoryConsumption> pendingNumaMemory = PendingNumaMemory.collectForHost(getPendingResourceManager(), host.getId());
             updateHostNumaNodes(host, pendingNumaMemory);
         }
     }
@@ -734,7 +900,9 @@ public class SchedulingManager implements BackendService {
                     .collect(Collectors.toList());
         }
 
-        Map<Guid, VM> vmsById = vms.stream().collect(Collectors.toMap(VM::getId, vm -> vm));
+        // keep the order of the VMs for the ones outside of affinity groups
+        Map<Guid, VM> vmsById = vms.stream()
+                .collect(Collectors.toMap(VM::getId, vm -> vm, (vm1, vm2) -> vm1, LinkedHashMap::new));
         List<Set<Guid>> unifiedGroups = new ArrayList<>(AffinityRulesUtils.getUnifiedPositiveAffinityGroups(allPositiveGroups));
 
         List<List<VM>> vmGroups = new ArrayList<>();
@@ -1557,6 +1725,21 @@ public class SchedulingManager implements BackendService {
             return schedule(vms, false);
         }
 
+        /**
+         * Schedules the VMs in one pass, the hosts, policy and affinity groups of the cluster are loaded only once
+         * for all of them. The VMs requiring the most memory and CPUs are placed first, so the smaller ones can
+         * fill the capacity left on the hosts.
+         *
+         * @return the host selected for each VM, the VMs which could not be scheduled are missing
+         */
+        public Map<Guid, Guid> scheduleBatch(List<VM> vms) {
+            List<VM> sortedVms = new ArrayList<>(vms);
+            sortedVms.sort(Comparator.comparingInt(VM::getMemSizeMb)
+                    .thenComparingInt(VM::getNumOfCpus)
+                    .reversed());
+            return schedule(sortedVms, false);
+        }
+
         public Optional<Guid> schedule(VM vm) {
             Map<Guid, Guid> res = schedule(Collections.singletonList(vm), false);
             return Optional.ofNullable(res.get(vm.getId()));
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -32,6 +33,8 @@ public class PendingResourceManager {
     private final Map<Guid, Set<PendingResource>> resourcesByHost = new ConcurrentHashMap<>();
     private final Map<Guid, Set<PendingResource>> resourcesByVm = new ConcurrentHashMap<>();
     private final Map<PendingResource, PendingResource> pendingResources = new ConcurrentHashMap<>();
+    /* Incremented whenever a resource is added to the host, used to detect conflicting optimistic scheduling */
+    private final Map<Guid, AtomicLong> hostGenerations = new ConcurrentHashMap<>();
 
     private final ResourceManager resourceManager;
 
@@ -143,9 +146,23 @@ public class PendingResourceManager {
             addToSetMap(resourcesByVm, resource.getVm(), resource);
             addToSetMap(resourcesByHost, resource.getHost(), resource);
             pendingResources.put(resource, resource);
+            hostGenerations.computeIfAbsent(resource.getHost(), id -> new AtomicLong()).incrementAndGet();
         }
     }
 
+    /**
+     * Return the generation of the pending resources of the host. The generation is increased every time a
+     * resource is added to the host, so a scheduler can detect whether resources were added to a host since it
+     * has read its state. Removing resources does not change the generation, as it can only free capacity.
+     *
+     * @param host ID of a host
+     * @return the current generation of the pending resources of the host
+     */
+    public long getHostGeneration(Guid host) {
+        AtomicLong generation = hostGenerations.get(host);
+        return generation == null ? 0L : generation.get();
+    }
+
     /**
      * Return all currently pending resources of type "type" associated with host "vds".
      * @param host ID of a host
@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.PostConstruct;
 import javax.ejb.DependsOn;
@@ -99,10 +100,9 @@ final class RecoveryStartupBean {
      */
     private boolean setVmsInTransitionAsUnknown(Set<Guid> hostIds) {
         // Is there any VM that is not fully Up or fully Down?
-        boolean runningVmsInTransition = false;
+        AtomicBoolean runningVmsInTransition = new AtomicBoolean();
 
-        final List<VM> vms = vmDao.getAll();
-        for (VM vm : vms) {
+        vmDao.forEach(vm -> {
             if (!vm.isNotRunning()) {
                 if (vm.getRunOnVds() != null && hostIds.contains(vm.getRunOnVds())) {
                     resourceManager.setVmUnknown(vm);
@@ -110,11 +110,11 @@ final class RecoveryStartupBean {
             }
 
             if (isVmInTransition(vm)) {
-                runningVmsInTransition = true;
+                runningVmsInTransition.set(true);
             }
-        }
+        });
 
-        return runningVmsInTransition;
+        return runningVmsInTransition.get();
     }
 
     private boolean isVmInTransition(VM vm) {
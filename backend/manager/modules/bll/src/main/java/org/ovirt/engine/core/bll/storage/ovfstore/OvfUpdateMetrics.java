@@ -0,0 +1,121 @@
+package org.ovirt.engine.core.bll.storage.ovfstore;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the OVFs regenerated and skipped by the OVF updates of the Data Centers, and the stored OVFs written to the
+ * OVF stores of the domains, so it can be monitored how incremental the OVF updates are. The counters are exposed in
+ * JMX and in the Prometheus text format.
+ */
+@Singleton
+public class OvfUpdateMetrics implements OvfUpdateMetricsMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OvfUpdateMetrics.class);
+
+    private static final String METRIC_PREFIX = "ovirt_engine_ovf_";
+
+    private final LongAdder regeneratedOvfs = new LongAdder();
+    private final LongAdder skippedOvfs = new LongAdder();
+    private final LongAdder storedOvfsWritten = new LongAdder();
+    private final LongAdder ovfStoresBuilt = new LongAdder();
+    private ObjectName objectName;
+
+    @PostConstruct
+    public void registerInJMX() {
+        try {
+            objectName = new ObjectName("org.ovirt.engine.core.bll:type=OvfUpdateMetrics");
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            log.warn("Failed to register the OVF update metrics in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+            objectName = null;
+        }
+    }
+
+    @PreDestroy
+    public void unregisterInJMX() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to unregister the OVF update metrics from JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    /**
+     * Records an OVF update of a Data Center.
+     *
+     * @param changedCount
+     *            the number of VMs and templates found changed since their OVF was last generated
+     * @param regeneratedCount
+     *            the number of them whose OVF was regenerated
+     */
+    public void recordPoolUpdate(int changedCount, int regeneratedCount) {
+        regeneratedOvfs.add(regeneratedCount);
+        skippedOvfs.add(Math.max(0, changedCount - regeneratedCount));
+    }
+
+    /**
+     * Records the build of the OVF store archive of a domain from the given number of stored OVFs.
+     */
+    public void recordOvfStoreBuilt(int storedOvfsCount) {
+        storedOvfsWritten.add(storedOvfsCount);
+        ovfStoresBuilt.increment();
+    }
+
+    @Override
+    public long getRegeneratedOvfs() {
+        return regeneratedOvfs.sum();
+    }
+
+    @Override
+    public long getSkippedOvfs() {
+        return skippedOvfs.sum();
+    }
+
+    @Override
+    public long getStoredOvfsWritten() {
+        return storedOvfsWritten.sum();
+    }
+
+    @Override
+    public long getOvfStoresBuilt() {
+        return ovfStoresBuilt.sum();
+    }
+
+    /**
+     * Writes the counters in the Prometheus text exposition format.
+     */
+    public void writePrometheusText(PrintWriter out) {
+        writeCounter(out, "regenerated_total", "VM and template OVFs regenerated", getRegeneratedOvfs());
+        writeCounter(out,
+                "skipped_total",
+                "Changed VMs and templates whose OVF regeneration was left to a following update",
+                getSkippedOvfs());
+        writeCounter(out,
+                "store_stored_ovfs_total",
+                "Stored OVFs written to OVF store archives without being regenerated",
+                getStoredOvfsWritten());
+        writeCounter(out, "stores_built_total", "OVF store archives built", getOvfStoresBuilt());
+        out.flush();
+    }
+
+    private static void writeCounter(PrintWriter out, String name, String help, long value) {
+        out.print("# HELP " + METRIC_PREFIX + name + " " + help + "\n");
+        out.print("# TYPE " + METRIC_PREFIX + name + " counter\n");
+        out.print(METRIC_PREFIX + name + " " + value + "\n");
+    }
+}
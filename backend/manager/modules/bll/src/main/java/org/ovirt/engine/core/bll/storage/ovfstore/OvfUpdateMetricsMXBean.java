@@ -0,0 +1,25 @@
+package org.ovirt.engine.core.bll.storage.ovfstore;
+
+public interface OvfUpdateMetricsMXBean {
+
+    /**
+     * @return the number of VM and template OVFs regenerated since the engine started
+     */
+    long getRegeneratedOvfs();
+
+    /**
+     * @return the number of VMs and templates found changed whose OVF was not regenerated, because their disks or
+     *         snapshots were locked or they changed again meanwhile, so they are left to a following update
+     */
+    long getSkippedOvfs();
+
+    /**
+     * @return the number of stored OVFs written to OVF store archives, without regenerating them
+     */
+    long getStoredOvfsWritten();
+
+    /**
+     * @return the number of OVF store archives built
+     */
+    long getOvfStoresBuilt();
+}
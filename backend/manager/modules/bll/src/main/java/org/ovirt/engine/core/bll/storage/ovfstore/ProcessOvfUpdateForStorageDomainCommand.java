@@ -1,8 +1,7 @@
 package org.ovirt.engine.core.bll.storage.ovfstore;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -38,7 +37,6 @@ import org.ovirt.engine.core.common.action.LockProperties;
 import org.ovirt.engine.core.common.action.LockProperties.Scope;
 import org.ovirt.engine.core.common.action.ProcessOvfUpdateParameters;
 import org.ovirt.engine.core.common.action.ProcessOvfUpdateParameters.OvfUpdateStep;
-import org.ovirt.engine.core.common.businessentities.OvfEntityData;
 import org.ovirt.engine.core.common.businessentities.StorageDomainOvfInfo;
 import org.ovirt.engine.core.common.businessentities.StorageDomainOvfInfoStatus;
 import org.ovirt.engine.core.common.businessentities.StoragePool;
@@ -69,11 +67,18 @@ import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.VmStaticDao;
 import org.ovirt.engine.core.utils.JsonHelper;
 import org.ovirt.engine.core.utils.archivers.tar.InMemoryTar;
+import org.ovirt.engine.core.utils.archivers.tar.SpooledOutputStream;
 import org.ovirt.engine.core.utils.ovf.OvfInfoFileConstants;
 
 @NonTransactiveCommandAttribute
 public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateParameters> extends StorageDomainCommandBase<T> implements SerialChildExecutingCommand {
 
+    /**
+     * The maximal size of an OVF store archive which is kept in memory, bigger archives are written to a temporary
+     * file, so the memory used for updating a domain does not depend on the number of its VMs and templates.
+     */
+    private static final int OVF_STORE_MEMORY_THRESHOLD = 16 * 1024 * 1024;
+
     @Inject
     private AuditLogDirector auditLogDirector;
 
@@ -98,6 +103,8 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
     @Inject
     private DiskImageDynamicDao diskImageDynamicDao;
     @Inject
+    private OvfUpdateMetrics ovfUpdateMetrics;
+    @Inject
     @Typed(SerialChildCommandsExecutionCallback.class)
     private Instance<SerialChildCommandsExecutionCallback> callbackProvider;
 
@@ -227,11 +234,11 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
         }
     }
 
-    private byte[] buildOvfInfoFileByteArray(List<Guid> vmAndTemplatesIds) {
-        ByteArrayOutputStream bufferedOutputStream = new ByteArrayOutputStream();
+    private SpooledOutputStream buildOvfInfoFile(List<Guid> vmAndTemplatesIds) {
+        SpooledOutputStream ovfStoreOutputStream = new SpooledOutputStream(OVF_STORE_MEMORY_THRESHOLD, "ovf-store");
         Set<Guid> processedIds = new HashSet<>();
 
-        try (InMemoryTar inMemoryTar = new InMemoryTar(bufferedOutputStream)) {
+        try (InMemoryTar inMemoryTar = new InMemoryTar(ovfStoreOutputStream)) {
             inMemoryTar.addTarEntry(generateInfoFileData().getBytes(),
                     OvfInfoFileConstants.InfoFileName);
             Map<String, Object> metaDataForEntities = generateMetaDataFile(vmAndTemplatesIds);
@@ -248,31 +255,65 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
                 }
             }
 
-            List<Pair<Guid, String>> unprocessedOvfData = retrieveUnprocessedUnregisteredOvfData(processedIds, metaDataForEntities);
+            // the status of the unregistered entities is added to the metadata, so it is written after them
+            int unregisteredOvfsCount = addUnprocessedUnregisteredOvfs(processedIds, metaDataForEntities, inMemoryTar);
             inMemoryTar.addTarEntry(buildJson(metaDataForEntities, true).getBytes(), OvfInfoFileConstants.MetaDataFileName);
-            buildFilesForOvfs(unprocessedOvfData, inMemoryTar);
+            log.info("Built the OVF store of domain '{}' from the stored OVFs of {} VMs/templates and {} unregistered "
+                            + "entities",
+                    getParameters().getStorageDomainId(),
+                    processedIds.size(),
+                    unregisteredOvfsCount);
+            ovfUpdateMetrics.recordOvfStoreBuilt(processedIds.size() + unregisteredOvfsCount);
         } catch (Exception e) {
-            throw new RuntimeException(String.format("Exception while building in memory tar of the OVFs of domain %s",
+            deleteOvfInfoFile(ovfStoreOutputStream);
+            throw new RuntimeException(String.format("Exception while building tar of the OVFs of domain %s",
                     getParameters().getStorageDomainId()), e);
         }
 
-        return bufferedOutputStream.toByteArray();
+        return ovfStoreOutputStream;
+    }
+
+    private void deleteOvfInfoFile(SpooledOutputStream ovfStoreOutputStream) {
+        try {
+            ovfStoreOutputStream.delete();
+        } catch (IOException e) {
+            log.warn("Failed to delete the temporary OVF store file of domain '{}': {}",
+                    getParameters().getStorageDomainId(),
+                    e.getMessage());
+            log.debug("Exception", e);
+        }
     }
 
-    private List<Pair<Guid, String>> retrieveUnprocessedUnregisteredOvfData(Set<Guid> processedIds,
-            Map<String, Object> metaDataForEntities) {
+    /**
+     * Writes the OVFs of the unregistered entities of the domain which were not written yet to the tar as they are
+     * read from the database, so they are never all held in memory, and adds their status to the metadata.
+     *
+     * @return the number of OVFs written
+     */
+    private int addUnprocessedUnregisteredOvfs(Set<Guid> processedIds,
+            Map<String, Object> metaDataForEntities,
+            InMemoryTar inMemoryTar) {
         Map<String, Object> statusMap = (Map<String, Object>) metaDataForEntities.get(OvfInfoFileConstants.VmStatus);
-        List<OvfEntityData> ovfList = unregisteredOVFDataDao.getAllForStorageDomainByEntityType(
-                getParameters().getStorageDomainId(), null);
-        List<Pair<Guid, String>> ovfData = new LinkedList<>();
-        for (OvfEntityData ovfEntityData : ovfList) {
-            if (!processedIds.contains(ovfEntityData.getEntityId())) {
-                Pair<Guid, String> data = new Pair<>(ovfEntityData.getEntityId(), ovfEntityData.getOvfData());
-                ovfData.add(data);
-            }
-            statusMap.putIfAbsent(ovfEntityData.getEntityId().toString(), ovfEntityData.getStatus().getValue());
+        int[] addedOvfsCount = new int[1];
+        unregisteredOVFDataDao.forEachForStorageDomainByEntityType(getParameters().getStorageDomainId(),
+                null,
+                ovfEntityData -> {
+                    if (!processedIds.contains(ovfEntityData.getEntityId()) && ovfEntityData.getOvfData() != null) {
+                        addOvfFile(inMemoryTar, ovfEntityData.getEntityId(), ovfEntityData.getOvfData());
+                        addedOvfsCount[0]++;
+                    }
+                    statusMap.putIfAbsent(ovfEntityData.getEntityId().toString(),
+                            ovfEntityData.getStatus().getValue());
+                });
+        return addedOvfsCount[0];
+    }
+
+    private void addOvfFile(InMemoryTar inMemoryTar, Guid id, String ovf) {
+        try {
+            inMemoryTar.addTarEntry(ovf.getBytes(), id + ".ovf");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
         }
-        return ovfData;
     }
 
     protected boolean updateOvfStoreContent() {
@@ -291,8 +332,15 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
 
         vmAndTemplatesIds.addAll(vmStaticDao.getVmAndTemplatesIdsWithoutAttachedImageDisks(getParameters().getStoragePoolId(), false));
 
-        byte[] bytes = buildOvfInfoFileByteArray(vmAndTemplatesIds);
+        SpooledOutputStream ovfData = buildOvfInfoFile(vmAndTemplatesIds);
+        try {
+            return updateOvfStores(ovfData, vmAndTemplatesIds);
+        } finally {
+            deleteOvfInfoFile(ovfData);
+        }
+    }
 
+    private boolean updateOvfStores(SpooledOutputStream ovfData, List<Guid> vmAndTemplatesIds) {
         Pair<StorageDomainOvfInfo, DiskImage> lastOvfStoreForUpdate = domainOvfStoresInfoForUpdate.getLast();
 
         // means that the last ovf store was never updated, if it was - we don't want to update
@@ -311,7 +359,7 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
 
         for (Pair<StorageDomainOvfInfo, DiskImage> pair : domainOvfStoresInfoForUpdate) {
             shouldUpdateLastOvfStore |=
-                    performOvfUpdateForDomain(bytes,
+                    performOvfUpdateForDomain(ovfData,
                             pair.getFirst(),
                             pair.getSecond(),
                             vmAndTemplatesIds);
@@ -320,7 +368,7 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
         // if we successfully updated any ovf store, we can attempt to also update the one we kept for best effort
         // backup (if we did)
         if (shouldUpdateLastOvfStore && lastOvfStoreForUpdate != null) {
-            performOvfUpdateForDomain(bytes,
+            performOvfUpdateForDomain(ovfData,
                     lastOvfStoreForUpdate.getFirst(),
                     lastOvfStoreForUpdate.getSecond(),
                     vmAndTemplatesIds);
@@ -354,7 +402,7 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
         runVdsCommand(VDSCommandType.SetVolumeDescription, vdsCommandParameters);
     }
 
-    private boolean performOvfUpdateForDomain(byte[] ovfData,
+    private boolean performOvfUpdateForDomain(SpooledOutputStream ovfData,
             StorageDomainOvfInfo storageDomainOvfInfo,
             DiskImage ovfDisk,
             List<Guid> vmAndTemplatesIds) {
@@ -374,20 +422,19 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
 
             storageDomainOvfInfoDao.update(storageDomainOvfInfo);
 
-            ByteArrayInputStream byteArrayInputStream =
-                    new ByteArrayInputStream(ovfData);
-
-            Long size = Long.valueOf(ovfData.length);
-            UploadStreamParameters uploadStreamParameters =
-                    new UploadStreamParameters(storagePoolId, storageDomainId,
-                            diskId, volumeId, byteArrayInputStream,
-                            size);
-
-            uploadStreamParameters.setParentCommand(getActionType());
-            uploadStreamParameters.setParentParameters(getParameters());
-            uploadStreamParameters.setEndProcedure(EndProcedure.COMMAND_MANAGED);
-            ActionReturnValue actionReturnValue =
-                    runInternalActionWithTasksContext(ActionType.UploadStream, uploadStreamParameters);
+            Long size = ovfData.getSize();
+            ActionReturnValue actionReturnValue;
+            try (InputStream inputStream = ovfData.openInputStream()) {
+                UploadStreamParameters uploadStreamParameters =
+                        new UploadStreamParameters(storagePoolId, storageDomainId,
+                                diskId, volumeId, inputStream,
+                                size);
+
+                uploadStreamParameters.setParentCommand(getActionType());
+                uploadStreamParameters.setParentParameters(getParameters());
+                uploadStreamParameters.setEndProcedure(EndProcedure.COMMAND_MANAGED);
+                actionReturnValue = runInternalActionWithTasksContext(ActionType.UploadStream, uploadStreamParameters);
+            }
             if (actionReturnValue.getSucceeded()) {
                 storageDomainOvfInfo.setStatus(StorageDomainOvfInfoStatus.UPDATED);
                 storageDomainOvfInfo.setStoredOvfIds(vmAndTemplatesIds);
@@ -408,7 +455,7 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
                 imageDao.update(ovfDisk.getImage());
                 return true;
             }
-        } catch (EngineException e) {
+        } catch (EngineException | IOException e) {
             log.warn("failed to update domain '{}' ovf store disk '{}'", storageDomainId, diskId);
         }
 
@@ -94,6 +94,8 @@ public class ProcessOvfUpdateForStoragePoolCommand <T extends ProcessOvfUpdatePa
     private DbUserDao dbUserDao;
     @Inject
     private OvfHelper ovfHelper;
+    @Inject
+    private OvfUpdateMetrics ovfUpdateMetrics;
 
     private int itemsCountPerUpdate;
     private List<Guid> proccessedIdsInfo;
@@ -101,6 +103,8 @@ public class ProcessOvfUpdateForStoragePoolCommand <T extends ProcessOvfUpdatePa
     private List<String> proccessedOvfConfigurationsInfo;
     private Set<Guid> proccessedDomains;
     private List<Guid> activeDataDomainsIds;
+    private int changedOvfsCount;
+    private int regeneratedOvfsCount;
 
     public ProcessOvfUpdateForStoragePoolCommand(T parameters, CommandContext commandContext) {
         super(parameters, commandContext);
@@ -126,6 +130,11 @@ public class ProcessOvfUpdateForStoragePoolCommand <T extends ProcessOvfUpdatePa
         updateOvfForTemplatesOfStoragePool(pool);
 
         log.info("Successfully updated templates OVFs in Data Center '{}'", pool.getName());
+        log.info("Regenerated {} VM/template OVFs in Data Center '{}', the stored OVFs of all the other VMs/templates "
+                        + "are reused",
+                regeneratedOvfsCount,
+                pool.getName());
+        ovfUpdateMetrics.recordPoolUpdate(changedOvfsCount, regeneratedOvfsCount);
         log.info("Attempting to remove unneeded template/vm OVFs in Data Center '{}'", pool.getName());
 
         removeOvfForTemplatesAndVmsOfStoragePool(pool);
@@ -177,6 +186,10 @@ public class ProcessOvfUpdateForStoragePoolCommand <T extends ProcessOvfUpdatePa
     protected void updateOvfForVmsOfStoragePool(StoragePool pool) {
         Guid poolId = pool.getId();
         List<Guid> vmsIdsForUpdate = vmAndTemplatesGenerationsDao.getVmsIdsForOvfUpdate(poolId);
+        changedOvfsCount += vmsIdsForUpdate.size();
+        log.debug("Found {} VMs changed since their OVF was last generated in Data Center '{}'",
+                vmsIdsForUpdate.size(),
+                pool.getName());
         int i = 0;
         while (i < vmsIdsForUpdate.size()) {
             int size = Math.min(itemsCountPerUpdate, vmsIdsForUpdate.size() - i);
@@ -217,6 +230,7 @@ public class ProcessOvfUpdateForStoragePoolCommand <T extends ProcessOvfUpdatePa
     protected void performOvfUpdate(Map<Guid, KeyValuePairCompat<String, List<Guid>>> vmsAndTemplateMetadata) {
 
         markDomainsWithOvfsForOvfUpdate(vmsAndTemplateMetadata.keySet());
+        regeneratedOvfsCount += proccessedIdsInfo.size();
 
         int i = 0;
         while (i < proccessedIdsInfo.size()) {
@@ -277,6 +291,10 @@ public class ProcessOvfUpdateForStoragePoolCommand <T extends ProcessOvfUpdatePa
     protected void updateOvfForTemplatesOfStoragePool(StoragePool pool) {
         Guid poolId = pool.getId();
         List<Guid> templateIdsForUpdate = vmAndTemplatesGenerationsDao.getVmTemplatesIdsForOvfUpdate(poolId);
+        changedOvfsCount += templateIdsForUpdate.size();
+        log.debug("Found {} templates changed since their OVF was last generated in Data Center '{}'",
+                templateIdsForUpdate.size(),
+                pool.getName());
         int i = 0;
         while (i < templateIdsForUpdate.size()) {
             int size = Math.min(templateIdsForUpdate.size() - i, itemsCountPerUpdate);
@@ -18,6 +18,16 @@ public interface CommandsCache {
 
     Set<Guid> keySet();
 
+    /**
+     * @return a live, weakly consistent view of the cached commands which can be iterated while the cache is modified
+     */
+    Collection<CommandEntity> values();
+
+    /**
+     * @return ids of the cached commands having the given root command, excluding the root command itself
+     */
+    Set<Guid> getCommandIdsByRootCommandId(Guid rootCommandId);
+
     void remove(Guid commandId);
 
     void put(CommandEntity cmdEntity);
@@ -2,10 +2,13 @@ package org.ovirt.engine.core.bll.tasks;
 
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,10 +22,16 @@ import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.CommandEntityDao;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 
+/**
+ * Caches the command entities in a {@link ConcurrentHashMap}, so they can be read by the callbacks poller and written
+ * by the command execution threads without locking, along with an index of the commands by their root command.
+ */
 @Singleton
 public class CommandsCacheImpl implements CommandsCache {
 
-    private Map<Guid, CommandEntity> commandMap;
+    private final ConcurrentMap<Guid, CommandEntity> commandMap;
+    /** Ids of the commands per root command id, excluding the root command itself **/
+    private final ConcurrentMap<Guid, Set<Guid>> commandIdsByRootId;
     private volatile boolean cacheInitialized;
     private Object LOCK = new Object();
 
@@ -30,7 +39,8 @@ public class CommandsCacheImpl implements CommandsCache {
     private CommandEntityDao commandEntityDao;
 
     public CommandsCacheImpl() {
-        commandMap = new HashMap<>();
+        commandMap = new ConcurrentHashMap<>();
+        commandIdsByRootId = new ConcurrentHashMap<>();
     }
 
     private void initializeCache() {
@@ -39,7 +49,7 @@ public class CommandsCacheImpl implements CommandsCache {
                 if (!cacheInitialized) {
                     List<CommandEntity> cmdEntities = commandEntityDao.getAll();
                     for (CommandEntity cmdEntity : cmdEntities) {
-                        commandMap.put(cmdEntity.getId(), cmdEntity);
+                        putInMap(cmdEntity);
                     }
                     cacheInitialized = true;
                 }
@@ -53,6 +63,19 @@ public class CommandsCacheImpl implements CommandsCache {
         return commandMap.keySet();
     }
 
+    @Override
+    public Collection<CommandEntity> values() {
+        initializeCache();
+        return Collections.unmodifiableCollection(commandMap.values());
+    }
+
+    @Override
+    public Set<Guid> getCommandIdsByRootCommandId(Guid rootCommandId) {
+        initializeCache();
+        Set<Guid> commandIds = commandIdsByRootId.get(rootCommandId);
+        return commandIds == null ? Collections.emptySet() : Collections.unmodifiableSet(commandIds);
+    }
+
     @Override
     public CommandEntity get(Guid commandId) {
         initializeCache();
@@ -61,21 +84,81 @@ public class CommandsCacheImpl implements CommandsCache {
 
     @Override
     public void remove(final Guid commandId) {
-        commandMap.remove(commandId);
+        removeFromMap(commandId);
         commandEntityDao.remove(commandId);
     }
 
     @Override
     public void put(final CommandEntity cmdEntity) {
-        commandMap.put(cmdEntity.getId(), cmdEntity);
+        putInMap(cmdEntity);
         saveOrUpdateWithoutTransaction(cmdEntity);
     }
 
+    /**
+     * Puts the command in the map and in the index by root. Both are updated within the compute() of the command id,
+     * so a concurrent put or removal of the same command can't leave the index out of sync with the map.
+     */
+    private void putInMap(CommandEntity cmdEntity) {
+        commandMap.compute(cmdEntity.getId(), (commandId, previous) -> {
+            if (previous != null) {
+                removeFromRootIndex(previous);
+            }
+            addToRootIndex(cmdEntity);
+            return cmdEntity;
+        });
+    }
+
+    private void removeFromMap(Guid commandId) {
+        commandMap.computeIfPresent(commandId, (id, removed) -> {
+            removeFromRootIndex(removed);
+            return null;
+        });
+    }
+
+    private void addToRootIndex(CommandEntity cmdEntity) {
+        Guid rootCommandId = cmdEntity.getRootCommandId();
+        if (Guid.isNullOrEmpty(rootCommandId) || rootCommandId.equals(cmdEntity.getId())) {
+            return;
+        }
+        // adding within compute() so a concurrent removal of the last command of the root can't drop the set
+        commandIdsByRootId.compute(rootCommandId, (id, commandIds) -> {
+            Set<Guid> result = commandIds == null ? ConcurrentHashMap.newKeySet() : commandIds;
+            result.add(cmdEntity.getId());
+            return result;
+        });
+    }
+
+    private void removeFromRootIndex(CommandEntity cmdEntity) {
+        Guid rootCommandId = cmdEntity.getRootCommandId();
+        if (Guid.isNullOrEmpty(rootCommandId)) {
+            return;
+        }
+        commandIdsByRootId.computeIfPresent(rootCommandId, (id, commandIds) -> {
+            commandIds.remove(cmdEntity.getId());
+            return commandIds.isEmpty() ? null : commandIds;
+        });
+    }
+
+    /**
+     * Removes the old commands from the database and reloads the cache from it. The cached commands created before the
+     * cutoff which are no longer in the database are removed from the cache and from the index by root as well.
+     */
     @Override
     public void removeAllCommandsBeforeDate(DateTime cutoff) {
         commandEntityDao.removeAllBeforeDate(cutoff);
-        cacheInitialized = false;
-        initializeCache();
+        synchronized (LOCK) {
+            List<CommandEntity> cmdEntities = commandEntityDao.getAll();
+            Set<Guid> commandIds = cmdEntities.stream().map(CommandEntity::getId).collect(Collectors.toSet());
+            commandMap.values()
+                    .stream()
+                    .filter(cmdEntity -> !commandIds.contains(cmdEntity.getId()))
+                    .filter(cmdEntity -> cmdEntity.getCreatedAt() != null && cmdEntity.getCreatedAt().before(cutoff))
+                    .map(CommandEntity::getId)
+                    .collect(Collectors.toList())
+                    .forEach(this::removeFromMap);
+            cmdEntities.forEach(this::putInMap);
+            cacheInitialized = true;
+        }
     }
 
     @Override
@@ -204,10 +204,8 @@ public class CommandsRepository {
      */
     public List<CommandEntity> getCommands(boolean onlyWithCallbackEnabled) {
         List<CommandEntity> cmdEntities = new ArrayList<>();
-        CommandEntity cmdEntity;
-        for (Guid cmdId : commandsCache.keySet()) {
-            cmdEntity = commandsCache.get(cmdId);
-            if (!onlyWithCallbackEnabled || commandsCache.get(cmdId).isCallbackEnabled()) {
+        for (CommandEntity cmdEntity : commandsCache.values()) {
+            if (!onlyWithCallbackEnabled || cmdEntity.isCallbackEnabled()) {
                 cmdEntities.add(cmdEntity);
             }
         }
@@ -286,13 +284,11 @@ public class CommandsRepository {
 
     public List<Guid> getCommandIdsBySessionSeqId(long engineSessionSeqId) {
         List<Guid> cmdIds = new ArrayList<>();
-        CommandEntity cmdEntity;
 
-        for (Guid cmdId : commandsCache.keySet()) {
-            cmdEntity = commandsCache.get(cmdId);
-            if (cmdEntity != null && cmdEntity.getEngineSessionSeqId() != SsoSessionUtils.EMPTY_SESSION_SEQ_ID &&
+        for (CommandEntity cmdEntity : commandsCache.values()) {
+            if (cmdEntity.getEngineSessionSeqId() != SsoSessionUtils.EMPTY_SESSION_SEQ_ID &&
                     cmdEntity.getEngineSessionSeqId() == engineSessionSeqId) {
-                cmdIds.add(cmdId);
+                cmdIds.add(cmdEntity.getId());
             }
         }
         return cmdIds;
@@ -311,16 +307,7 @@ public class CommandsRepository {
     }
 
     public boolean hasCommandEntitiesWithRootCommandId(Guid rootCommandId) {
-        CommandEntity cmdEntity;
-        for (Guid cmdId : commandsCache.keySet()) {
-            cmdEntity = commandsCache.get(cmdId);
-            if (cmdEntity != null && !Guid.isNullOrEmpty(cmdEntity.getRootCommandId()) &&
-                    !cmdEntity.getRootCommandId().equals(cmdId) &&
-                    cmdEntity.getRootCommandId().equals(rootCommandId)) {
-                return true;
-            }
-        }
-        return false;
+        return !commandsCache.getCommandIdsByRootCommandId(rootCommandId).isEmpty();
     }
 
     public CallbackTiming getCallbackTiming(Guid commandId) {
@@ -6,8 +6,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -28,8 +30,10 @@ import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.ovirt.engine.core.bll.context.CommandContext;
+import org.ovirt.engine.core.bll.context.CompensationContext;
 import org.ovirt.engine.core.common.AuditLogType;
 import org.ovirt.engine.core.common.action.ActionParametersBase;
+import org.ovirt.engine.core.common.action.ActionType;
 import org.ovirt.engine.core.common.businessentities.aaa.DbUser;
 import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.test.InMemoryLoggingHandler;
@@ -55,6 +59,9 @@ public class CommandBaseTest extends BaseCommandTest {
     @Mock
     private AuditLogDirector director;
 
+    @Mock
+    private PermissionCache permissionCache;
+
     @InjectMocks
     private CommandBase<ActionParametersBase> command = mock(
             CommandBase.class,
@@ -140,6 +147,17 @@ public class CommandBaseTest extends BaseCommandTest {
                 "extractVariableDeclarations didn't extract the variables as expected");
     }
 
+    @Test
+    public void testEndingSuccessfullyInvalidatesPermissionCache() {
+        doReturn(ActionType.MoveDisk).when(command).getActionType();
+        doReturn(mock(CompensationContext.class)).when(command).getCompensationContext();
+        command.getParameters().setTaskGroupSuccess(true);
+
+        command.endActionInTransactionScope();
+
+        verify(permissionCache).invalidateAll();
+    }
+
     @ParameterizedTest
     @MethodSource("sourceForTestExceptionsDuringAuditLog")
     public void testExceptionsDuringAuditLog(RuntimeException ex, boolean result) {
@@ -1,14 +1,17 @@
 package org.ovirt.engine.core.bll;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VdsStatistics;
 import org.ovirt.engine.core.common.queries.IdQueryParameters;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.VdsDao;
+import org.ovirt.engine.core.vdsbroker.monitoring.StatisticsStore;
 
 /**
  * A test case for {@link GetVdsByVdsIdQuery}.
@@ -21,6 +24,9 @@ public class GetVdsByVdsIdQueryTest extends AbstractQueryTest<IdQueryParameters,
     @Mock
     private VdsDao vdsDaoMock;
 
+    @Mock
+    private StatisticsStore statisticsStoreMock;
+
     @Test
     public void testExecuteQueryCommnad() {
         // Set up the expected data
@@ -41,4 +47,24 @@ public class GetVdsByVdsIdQueryTest extends AbstractQueryTest<IdQueryParameters,
         VDS actual = query.getQueryReturnValue().getReturnValue();
         assertEquals(expected, actual, "wrong VDS");
     }
+
+    @Test
+    public void testExecuteQueryCommandWithPendingStatistics() {
+        Guid vdsID = Guid.newGuid();
+        VDS vds = new VDS();
+        vds.setId(vdsID);
+        VdsStatistics statistics = new VdsStatistics();
+        statistics.setId(vdsID);
+
+        when(getQueryParameters().getId()).thenReturn(vdsID);
+        when(vdsDaoMock.get(vdsID)).thenReturn(vds);
+        when(statisticsStoreMock.getPendingVdsStatistics(vdsID)).thenReturn(statistics);
+
+        GetVdsByVdsIdQuery<IdQueryParameters> query = getQuery();
+
+        query.executeQueryCommand();
+
+        VDS actual = query.getQueryReturnValue().getReturnValue();
+        assertSame(statistics, actual.getStatisticsData(), "statistics not served from memory");
+    }
 }
@@ -0,0 +1,146 @@
+package org.ovirt.engine.core.bll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ovirt.engine.core.common.VdcObjectType;
+import org.ovirt.engine.core.common.action.ActionType;
+import org.ovirt.engine.core.common.businessentities.ActionGroup;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.PermissionDao;
+
+@ExtendWith(MockitoExtension.class)
+public class PermissionCacheTest {
+
+    private static final Guid USER_ID = Guid.newGuid();
+    private static final Guid GROUP_ID = Guid.newGuid();
+    private static final List<Guid> GROUP_IDS = Collections.singletonList(GROUP_ID);
+    private static final Guid VM_ID = Guid.newGuid();
+    private static final Guid PERMISSION_ID = Guid.newGuid();
+
+    @Mock
+    private PermissionDao permissionDao;
+
+    @InjectMocks
+    private PermissionCache cache;
+
+    private long now;
+
+    @BeforeEach
+    public void setUp() {
+        now = 1000;
+        cache.init(10, TimeUnit.SECONDS, 2, () -> now);
+    }
+
+    @Test
+    public void testResultIsCached() {
+        mockPermission(VM_ID, PERMISSION_ID);
+
+        assertEquals(PERMISSION_ID, getPermission(VM_ID));
+        assertEquals(PERMISSION_ID, getPermission(VM_ID));
+
+        verify(permissionDao).getEntityPermissions(USER_ID, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    public void testDenialIsCached() {
+        assertNull(getPermission(VM_ID));
+        assertNull(getPermission(VM_ID));
+
+        verify(permissionDao).getEntityPermissions(USER_ID, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+    }
+
+    @Test
+    public void testResultIsKeptPerGroups() {
+        getPermission(VM_ID);
+        cache.getEntityPermissions(USER_ID, Collections.emptyList(), ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+
+        verify(permissionDao, times(2)).getEntityPermissions(USER_ID, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+    }
+
+    @Test
+    public void testResultExpiresAfterTtl() {
+        getPermission(VM_ID);
+        now += TimeUnit.SECONDS.toMillis(10);
+        getPermission(VM_ID);
+
+        verify(permissionDao, times(2)).getEntityPermissions(USER_ID, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        getPermission(VM_ID);
+        cache.invalidateAll();
+
+        assertEquals(0, cache.getSize());
+        getPermission(VM_ID);
+        verify(permissionDao, times(2)).getEntityPermissions(USER_ID, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        for (Guid vmId : Arrays.asList(Guid.newGuid(), Guid.newGuid(), VM_ID)) {
+            getPermission(vmId);
+        }
+        assertEquals(2, cache.getSize());
+
+        now += TimeUnit.SECONDS.toMillis(10);
+        getPermission(VM_ID);
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testUnknownGroupsAreNotCached() {
+        cache.getEntityPermissions(USER_ID, null, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+        cache.getEntityPermissions(USER_ID, null, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+
+        verify(permissionDao, times(2)).getEntityPermissions(USER_ID, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testDisabled() {
+        cache.init(0, TimeUnit.SECONDS, 2, () -> now);
+
+        getPermission(VM_ID);
+        getPermission(VM_ID);
+
+        verify(permissionDao, times(2)).getEntityPermissions(USER_ID, ActionGroup.RUN_VM, VM_ID, VdcObjectType.VM);
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testIsInvalidatedBy() {
+        assertTrue(PermissionCache.isInvalidatedBy(ActionType.AddPermission));
+        assertTrue(PermissionCache.isInvalidatedBy(ActionType.ChangeVMCluster));
+        assertFalse(PermissionCache.isInvalidatedBy(ActionType.RunVm));
+    }
+
+    private void mockPermission(Guid objectId, Guid permissionId) {
+        when(permissionDao.getEntityPermissions(USER_ID, ActionGroup.RUN_VM, objectId, VdcObjectType.VM))
+                .thenReturn(permissionId);
+    }
+
+    private Guid getPermission(Guid objectId) {
+        return cache.getEntityPermissions(USER_ID, GROUP_IDS, ActionGroup.RUN_VM, objectId, VdcObjectType.VM);
+    }
+}
@@ -0,0 +1,127 @@
+package org.ovirt.engine.core.bll;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.stubbing.OngoingStubbing;
+import org.ovirt.engine.core.bll.context.CommandContext;
+import org.ovirt.engine.core.bll.context.NoOpCompensationContext;
+import org.ovirt.engine.core.bll.scheduling.SchedulingManager;
+import org.ovirt.engine.core.common.action.ActionReturnValue;
+import org.ovirt.engine.core.common.action.ActionType;
+import org.ovirt.engine.core.common.action.RunVmParams;
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.VmStaticDao;
+
+public class RunVMActionRunnerTest extends BaseCommandTest {
+
+    private static final Guid CLUSTER_ID = Guid.newGuid();
+    private static final Guid HOST_ID = Guid.newGuid();
+
+    private static CommandContext commandContext = CommandContext.createContext(new
+            RunVmParams().getSessionId()).withCompensationContext(NoOpCompensationContext.getInstance());
+
+    @Mock
+    private NestedCommandFactory commandFactory;
+
+    @Mock
+    private VmStaticDao vmStaticDao;
+
+    @Mock
+    private SchedulingManager schedulingManager;
+
+    private SchedulingManager.CallBuilder callBuilder = mock(SchedulingManager.CallBuilder.class, RETURNS_SELF);
+
+    @InjectMocks
+    private RunVMActionRunner runner = new RunVMActionRunner(ActionType.RunVm,
+            Arrays.asList(new RunVmParams(Guid.newGuid()), new RunVmParams(Guid.newGuid())),
+            commandContext,
+            true);
+
+    @BeforeEach
+    public void setUp() {
+        runner.setIsWaitForResult(true);
+        when(schedulingManager.prepareCall(any())).thenReturn(callBuilder);
+    }
+
+    @Test
+    public void testBatchSchedulableVmsAreScheduledTogether() {
+        RunVmCommand<?> command1 = createCommand(true);
+        RunVmCommand<?> command2 = createCommand(true);
+        setUpFactory(command1, command2);
+        Map<Guid, Guid> vmToHostAssignment = Map.of(command1.getVmId(), HOST_ID);
+        when(callBuilder.scheduleBatch(anyList())).thenReturn(vmToHostAssignment);
+
+        runner.execute();
+
+        verify(callBuilder).scheduleBatch(Arrays.asList(command1.getVm(), command2.getVm()));
+        InOrder inOrder = inOrder(command1);
+        inOrder.verify(command1).setBatchScheduledVdsId(HOST_ID);
+        inOrder.verify(command1).executeAction();
+        inOrder.verify(command1).clearUnusedBatchScheduledVds();
+        verify(command2, never()).setBatchScheduledVdsId(any());
+        verify(command2).executeAction();
+    }
+
+    @Test
+    public void testSingleBatchSchedulableVmIsScheduledByItsCommand() {
+        RunVmCommand<?> command1 = createCommand(true);
+        RunVmCommand<?> command2 = createCommand(false);
+        setUpFactory(command1, command2);
+
+        runner.execute();
+
+        verify(callBuilder, never()).scheduleBatch(anyList());
+        verify(command1).executeAction();
+        verify(command2).executeAction();
+    }
+
+    private RunVmCommand<?> createCommand(boolean batchSchedulable) {
+        VM vm = new VM();
+        vm.setId(Guid.newGuid());
+        vm.setClusterId(CLUSTER_ID);
+
+        ActionReturnValue returnValue = new ActionReturnValue();
+        returnValue.setValid(true);
+
+        RunVmCommand<?> command = mock(RunVmCommand.class);
+        when(command.getVm()).thenReturn(vm);
+        when(command.getVmId()).thenReturn(vm.getId());
+        when(command.getClusterId()).thenReturn(CLUSTER_ID);
+        when(command.getCluster()).thenReturn(new Cluster());
+        when(command.getActionType()).thenReturn(ActionType.RunVm);
+        when(command.validateOnly()).thenReturn(returnValue);
+        when(command.getReturnValue()).thenReturn(returnValue);
+        when(command.isBatchSchedulable()).thenReturn(batchSchedulable);
+        return command;
+    }
+
+    private void setUpFactory(RunVmCommand<?>... commands) {
+        List<Guid> vmIds = Arrays.stream(commands).map(CommandBase::getVmId).collect(Collectors.toList());
+        when(vmStaticDao.getOrderedVmGuidsForRunMultipleActions(anyList())).thenReturn(vmIds);
+        OngoingStubbing<CommandBase<?>> stubbing =
+                when(commandFactory.createWrappedCommand(any(), any(), any(), anyBoolean()));
+        for (RunVmCommand<?> command : commands) {
+            stubbing = stubbing.thenReturn(command);
+        }
+    }
+}
@@ -56,6 +56,7 @@ public class SearchQueryTest extends AbstractQueryTest<SearchParameters, SearchQ
         return Stream.concat(AbstractQueryTest.mockConfiguration(),
                 Stream.of(
                         MockConfigDescriptor.of(ConfigValues.UserSessionTimeOutInterval, 30),
+                        MockConfigDescriptor.of(ConfigValues.SearchQueriesCacheMaxSize, 100),
                         MockConfigDescriptor.of(ConfigValues.SupportedClusterLevels,
                                 new HashSet<>(Collections.singletonList(new Version(3, 0)))),
                         MockConfigDescriptor.of(ConfigValues.DBEngine, null),
@@ -180,6 +180,54 @@ public class InMemoryLockManagerTest {
         assertThrows(IllegalArgumentException.class, () -> lockManager.acquireLockWait(lockLock1, -1000L));
     }
 
+    @Test
+    public void testAllOrNothingAcrossStripes() {
+        lockManager = new InMemoryLockManager(2);
+        assertTrue(lockManager.acquireLock(lockLock2).isAcquired());
+        assertFalse(lockManager.acquireLock(updateAndLockLock).isAcquired());
+        // the shared part of the failed lock must not be left behind
+        assertTrue(lockManager.acquireLock(lockLock1).isAcquired());
+        assertEquals(2, lockManager.showAllLocks().size());
+        lockManager.releaseLock(lockLock1);
+        lockManager.releaseLock(lockLock2);
+        assertTrue(lockManager.acquireLock(updateAndLockLock).isAcquired());
+        lockManager.releaseLock(updateAndLockLock);
+        assertTrue(lockManager.showAllLocks().isEmpty());
+    }
+
+    @Test
+    public void testWaitingThreadIsWokenUpByRelease() throws InterruptedException {
+        assertTrue(lockManager.acquireLock(lockLock1).isAcquired());
+        Thread waiter = new Thread(() -> lockManager.acquireLockWait(failLockLock));
+        waiter.start();
+        // unrelated locks are acquired and released while the waiter is blocked
+        assertTrue(lockManager.acquireLock(lockLock2).isAcquired());
+        lockManager.releaseLock(lockLock2);
+        lockManager.releaseLock(lockLock1);
+        waiter.join(5000L);
+        assertFalse(waiter.isAlive());
+        assertEquals(1, lockManager.showAllLocks().size());
+        lockManager.releaseLock(failLockLock);
+        assertTrue(lockManager.showAllLocks().isEmpty());
+    }
+
+    @Test
+    public void testContentionStatistics() {
+        assertEquals(InMemoryLockManager.DEFAULT_STRIPE_COUNT, lockManager.getStripeCount());
+        assertTrue(lockManager.acquireLock(lockLock1).isAcquired());
+        assertFalse(lockManager.acquireLock(failLockLock).isAcquired());
+        assertFalse(lockManager.acquireLockWait(failLockLock, 10L).isAcquired());
+        // the timed wait retries once more after the timeout elapsed
+        assertEquals(4, lockManager.getAcquireAttemptsCount());
+        assertEquals(3, lockManager.getFailedAcquireAttemptsCount());
+        assertEquals(1, lockManager.getWaitsCount());
+        lockManager.resetStatistics();
+        assertEquals(0, lockManager.getAcquireAttemptsCount());
+        assertEquals(0, lockManager.getFailedAcquireAttemptsCount());
+        assertEquals(0, lockManager.getWaitsCount());
+        lockManager.releaseLock(lockLock1);
+    }
+
     @Test
     public void testLockHijack() {
         new Thread(() -> {
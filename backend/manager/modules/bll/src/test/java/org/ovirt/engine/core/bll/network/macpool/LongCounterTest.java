@@ -0,0 +1,74 @@
+package org.ovirt.engine.core.bll.network.macpool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class LongCounterTest {
+
+    @Test
+    public void testIncreaseNoDuplicates() {
+        final LongCounter longCounter = new LongCounter(false);
+
+        assertThat(longCounter.increase(1), is(true));
+        assertThat(longCounter.increase(1), is(false));
+        assertThat(longCounter.increase(2), is(true));
+        assertThat(longCounter.increase(-3), is(true));
+
+        assertThat(longCounter.contains(0), is(false));
+        assertThat(longCounter.contains(1), is(true));
+        assertThat(longCounter.contains(2), is(true));
+        assertThat(longCounter.contains(-3), is(true));
+        assertThat(longCounter.containsDuplicates(), is(false));
+        assertThat(longCounter.size(), is(3));
+    }
+
+    @Test
+    public void testIncreaseWithDuplicates() {
+        final LongCounter longCounter = new LongCounter(true);
+
+        assertThat(longCounter.increase(1), is(true));
+        assertThat(longCounter.containsDuplicates(), is(false));
+        assertThat(longCounter.increase(1), is(true));
+        assertThat(longCounter.containsDuplicates(), is(true));
+        assertThat(longCounter.count(1), is(2));
+        assertThat(longCounter.increase(1, false), is(false));
+        assertThat(longCounter.count(1), is(2));
+    }
+
+    @Test
+    public void testDecrease() {
+        final LongCounter longCounter = new LongCounter(true);
+
+        longCounter.increase(1);
+        longCounter.increase(1);
+        longCounter.decrease(1);
+        assertThat(longCounter.count(1), is(1));
+        assertThat(longCounter.containsDuplicates(), is(false));
+        longCounter.decrease(1);
+        assertThat(longCounter.contains(1), is(false));
+        longCounter.decrease(1);
+        assertThat(longCounter.count(1), is(0));
+        assertThat(longCounter.size(), is(0));
+    }
+
+    @Test
+    public void testManyValuesSurviveResizesAndRemovals() {
+        final LongCounter longCounter = new LongCounter(false);
+        final long base = 0x001A4A160000L;
+        final int count = 10_000;
+
+        for (int i = 0; i < count; i++) {
+            assertThat(longCounter.increase(base + i), is(true));
+        }
+        for (int i = 0; i < count; i += 2) {
+            longCounter.decrease(base + i);
+        }
+
+        assertThat(longCounter.size(), is(count / 2));
+        for (int i = 0; i < count; i++) {
+            assertThat(longCounter.contains(base + i), is(i % 2 == 1));
+        }
+    }
+}
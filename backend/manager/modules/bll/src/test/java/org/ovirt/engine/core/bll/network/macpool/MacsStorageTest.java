@@ -84,6 +84,43 @@ public class MacsStorageTest {
         assertThat(macsStorage.containsDuplicates(), is(false));
     }
 
+    @Test
+    public void testMacsAreLookedUpInIncludingRange() {
+        MacsStorage macsStorage = new MacsStorage(false, skip -> false);
+        // ranges are added unsorted, with gaps between them
+        Range third = macsStorage.addRange(new Range(new LongRange(200, 209)));
+        Range first = macsStorage.addRange(new Range(new LongRange(0, 9)));
+        Range second = macsStorage.addRange(new Range(new LongRange(100, 109)));
+
+        assertThat(macsStorage.useMac(5L), is(true));
+        assertThat(macsStorage.useMac(109L), is(true));
+        assertThat(macsStorage.useMac(200L), is(true));
+        assertThat(macsStorage.useMac(150L), is(true));
+        assertThat(first.isAllocated(5L), is(true));
+        assertThat(second.isAllocated(109L), is(true));
+        assertThat(third.isAllocated(200L), is(true));
+        assertThat(macsStorage.isMacInRange(150L), is(false));
+        assertThat(macsStorage.isMacInUse(150L), is(true));
+
+        macsStorage.freeMac(109L);
+        macsStorage.freeMac(150L);
+        assertThat(second.isAllocated(109L), is(false));
+        assertThat(macsStorage.isMacInUse(150L), is(false));
+    }
+
+    @Test
+    public void testOverlappingRangesPreferRangeAddedFirst() {
+        MacsStorage macsStorage = new MacsStorage(false, skip -> false);
+        Range wide = macsStorage.addRange(new Range(new LongRange(10, 100)));
+        Range narrow = macsStorage.addRange(new Range(new LongRange(0, 20)));
+
+        assertThat(macsStorage.useMac(15L), is(true));
+        assertThat(wide.isAllocated(15L), is(true));
+        assertThat(narrow.isAllocated(15L), is(false));
+        assertThat(macsStorage.useMac(5L), is(true));
+        assertThat(narrow.isAllocated(5L), is(true));
+    }
+
     private void assertReturnedRange(List<Range> ranges, MacsStorage macsStorage, List<Integer> expectedRangeIndices) {
 
         for (int expectedRangeIndex : expectedRangeIndices) {
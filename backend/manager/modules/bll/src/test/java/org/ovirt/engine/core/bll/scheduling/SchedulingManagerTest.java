@@ -0,0 +1,170 @@
+package org.ovirt.engine.core.bll.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.bll.VmHandler;
+import org.ovirt.engine.core.bll.network.host.VfScheduler;
+import org.ovirt.engine.core.bll.scheduling.pending.PendingResourceManager;
+import org.ovirt.engine.core.bll.scheduling.pending.PendingVM;
+import org.ovirt.engine.core.bll.scheduling.utils.VdsCpuUnitPinningHelper;
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.scheduling.ClusterPolicy;
+import org.ovirt.engine.core.common.scheduling.VmOverheadCalculator;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.compat.Version;
+import org.ovirt.engine.core.dao.VdsDao;
+import org.ovirt.engine.core.dao.VdsNumaNodeDao;
+import org.ovirt.engine.core.dao.VmNumaNodeDao;
+import org.ovirt.engine.core.dao.scheduling.ClusterPolicyDao;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+
+@ExtendWith({MockConfigExtension.class, MockitoExtension.class})
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SchedulingManagerTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private VdsDao vdsDao;
+    @Mock
+    private VmNumaNodeDao vmNumaNodeDao;
+    @Mock
+    private VdsNumaNodeDao vdsNumaNodeDao;
+    @Mock
+    private ClusterPolicyDao clusterPolicyDao;
+    @Mock
+    private VmHandler vmHandler;
+    @Mock
+    private VfScheduler vfScheduler;
+    @Mock
+    private VmOverheadCalculator vmOverheadCalculator;
+    @Mock
+    private VdsCpuUnitPinningHelper vdsCpuUnitPinningHelper;
+    @Mock
+    private PendingResourceManager pendingResourceManager;
+
+    @Spy
+    @InjectMocks
+    private SchedulingManager schedulingManager;
+
+    private Cluster cluster;
+    private VDS selectedHost;
+    private VDS otherHost;
+    private VM vm;
+    private AtomicLong otherHostGeneration;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(
+                MockConfigDescriptor.of(ConfigValues.VcpuConsumptionPercentage, 10),
+                MockConfigDescriptor.of(ConfigValues.SchedulerOptimisticConcurrency, true),
+                MockConfigDescriptor.of(ConfigValues.SchedulerOptimisticMaxAttempts, MAX_ATTEMPTS),
+                MockConfigDescriptor.of(ConfigValues.SchedulerAllowOverBooking, false),
+                MockConfigDescriptor.of(ConfigValues.SpeedOptimizationSchedulingThreshold, 10),
+                MockConfigDescriptor.of(ConfigValues.ExternalSchedulerEnabled, false)
+        );
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ClusterPolicy policy = new ClusterPolicy();
+        policy.setId(Guid.newGuid());
+        schedulingManager.addClusterPolicy(policy);
+
+        cluster = new Cluster();
+        cluster.setId(Guid.newGuid());
+        cluster.setClusterPolicyId(policy.getId());
+        cluster.setCompatibilityVersion(Version.getLast());
+
+        selectedHost = createHost();
+        otherHost = createHost();
+        when(vdsDao.getAllForClusterWithStatus(cluster.getId(), VDSStatus.Up))
+                .thenAnswer(invocation -> Arrays.asList(selectedHost, otherHost));
+
+        vm = new VM();
+        vm.setId(Guid.newGuid());
+        vm.setClusterId(cluster.getId());
+
+        otherHostGeneration = new AtomicLong();
+        doReturn(pendingResourceManager).when(schedulingManager).getPendingResourceManager();
+        when(pendingResourceManager.getHostGeneration(any())).thenReturn(0L);
+        when(pendingResourceManager.getHostGeneration(otherHost.getId()))
+                .thenAnswer(invocation -> otherHostGeneration.get());
+    }
+
+    @Test
+    public void testOptimisticScheduling() {
+        assertEquals(Optional.of(selectedHost.getId()), schedule());
+
+        verify(vmNumaNodeDao).getAllVmNumaNodeByVmId(vm.getId());
+        verify(pendingResourceManager).addPending(argThat(resource -> resource instanceof PendingVM
+                && resource.getHost().equals(selectedHost.getId())));
+    }
+
+    @Test
+    public void testConflictOnOtherHostIsRetried() {
+        // another scheduling adds a pending VM to the other host while the first attempt runs
+        when(vmNumaNodeDao.getAllVmNumaNodeByVmId(vm.getId())).thenAnswer(invocation -> {
+            if (otherHostGeneration.get() == 0) {
+                otherHostGeneration.incrementAndGet();
+            }
+            return Collections.emptyList();
+        });
+
+        assertEquals(Optional.of(selectedHost.getId()), schedule());
+
+        verify(vmNumaNodeDao, times(2)).getAllVmNumaNodeByVmId(vm.getId());
+    }
+
+    @Test
+    public void testConflictingAttemptsFallBackToLockedScheduling() {
+        when(vmNumaNodeDao.getAllVmNumaNodeByVmId(vm.getId())).thenAnswer(invocation -> {
+            otherHostGeneration.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        assertEquals(Optional.of(selectedHost.getId()), schedule());
+
+        // each optimistic attempt and the locked scheduling read the NUMA nodes of the VM
+        verify(vmNumaNodeDao, times(MAX_ATTEMPTS + 1)).getAllVmNumaNodeByVmId(vm.getId());
+    }
+
+    private Optional<Guid> schedule() {
+        return schedulingManager.prepareCall(cluster)
+                .destHostIdList(Collections.singletonList(selectedHost.getId()))
+                .schedule(vm);
+    }
+
+    private VDS createHost() {
+        VDS host = new VDS();
+        host.setId(Guid.newGuid());
+        host.setClusterId(cluster.getId());
+        host.setClusterCompatibilityVersion(Version.getLast());
+        return host;
+    }
+}
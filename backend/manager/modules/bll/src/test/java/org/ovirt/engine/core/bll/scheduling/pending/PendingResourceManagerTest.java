@@ -197,4 +197,32 @@ public class PendingResourceManagerTest {
                 .extracting(PendingMemory::getSizeInMb)
                 .containsOnly(768L);
     }
+
+    @Test
+    public void testHostGeneration() {
+        PendingResourceManager manager = new PendingResourceManager();
+
+        VDS host1 = new VDS();
+        host1.setId(Guid.newGuid());
+
+        VDS host2 = new VDS();
+        host2.setId(Guid.newGuid());
+
+        VM vm1 = new VM();
+        vm1.setId(Guid.newGuid());
+
+        assertEquals(0, manager.getHostGeneration(host1.getId()));
+
+        manager.addPending(new PendingVM(host1, vm1));
+        long generation = manager.getHostGeneration(host1.getId());
+        assertThat(generation).isPositive();
+        assertEquals(0, manager.getHostGeneration(host2.getId()));
+
+        manager.addPending(new PendingMemory(host1, vm1, 768));
+        assertThat(manager.getHostGeneration(host1.getId())).isGreaterThan(generation);
+
+        generation = manager.getHostGeneration(host1.getId());
+        manager.clearVm(vm1);
+        assertEquals(generation, manager.getHostGeneration(host1.getId()));
+    }
 }
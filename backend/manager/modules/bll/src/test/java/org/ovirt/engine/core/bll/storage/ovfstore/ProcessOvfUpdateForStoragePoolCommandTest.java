@@ -115,6 +115,9 @@ public class ProcessOvfUpdateForStoragePoolCommandTest extends BaseCommandTest {
     @Mock
     private OvfHelper ovfHelper;
 
+    @Mock
+    private OvfUpdateMetrics ovfUpdateMetrics;
+
     @Spy
     @InjectMocks
     private OvfUpdateProcessHelper ovfUpdateProcessHelper;
@@ -526,6 +529,7 @@ public class ProcessOvfUpdateForStoragePoolCommandTest extends BaseCommandTest {
         verify(command, times(numberOfTimesToBeCalled(size, true))).performOvfUpdate(any());
         verifyCorrectOvfDataUpdaterRun(neededToBeUpdated);
         verifyOvfUpdatedForSupportedPools(Collections.emptyList(), Collections.emptyMap());
+        verify(ovfUpdateMetrics).recordPoolUpdate(vmGuids.size() + templatesGuids.size(), neededToBeUpdated.size());
     }
 
     @Test
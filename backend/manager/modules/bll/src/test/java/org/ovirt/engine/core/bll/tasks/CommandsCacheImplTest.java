@@ -0,0 +1,116 @@
+package org.ovirt.engine.core.bll.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+
+import javax.transaction.TransactionManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.businessentities.CommandEntity;
+import org.ovirt.engine.core.compat.DateTime;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.CommandEntityDao;
+import org.ovirt.engine.core.utils.InjectedMock;
+import org.ovirt.engine.core.utils.InjectorExtension;
+
+@ExtendWith({MockitoExtension.class, InjectorExtension.class})
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CommandsCacheImplTest {
+
+    private static final Guid ROOT_ID = Guid.newGuid();
+
+    @Mock
+    private CommandEntityDao commandEntityDao;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    @InjectedMock
+    public TransactionManager transactionManager;
+
+    @InjectMocks
+    private CommandsCacheImpl cache;
+
+    @Test
+    public void testPutIndexesByRoot() {
+        CommandEntity root = commandEntity(ROOT_ID, null, new Date());
+        CommandEntity child = commandEntity(Guid.newGuid(), ROOT_ID, new Date());
+
+        cache.put(root);
+        cache.put(child);
+
+        assertEquals(Collections.singleton(child.getId()), cache.getCommandIdsByRootCommandId(ROOT_ID));
+        assertEquals(child, cache.get(child.getId()));
+        verify(commandEntityDao).saveOrUpdate(child);
+    }
+
+    @Test
+    public void testPutWithChangedRoot() {
+        Guid otherRootId = Guid.newGuid();
+        Guid childId = Guid.newGuid();
+        cache.put(commandEntity(childId, ROOT_ID, new Date()));
+
+        cache.put(commandEntity(childId, otherRootId, new Date()));
+
+        assertTrue(cache.getCommandIdsByRootCommandId(ROOT_ID).isEmpty());
+        assertEquals(Collections.singleton(childId), cache.getCommandIdsByRootCommandId(otherRootId));
+    }
+
+    @Test
+    public void testRemove() {
+        CommandEntity child = commandEntity(Guid.newGuid(), ROOT_ID, new Date());
+        CommandEntity otherChild = commandEntity(Guid.newGuid(), ROOT_ID, new Date());
+        cache.put(child);
+        cache.put(otherChild);
+
+        cache.remove(child.getId());
+
+        assertNull(cache.get(child.getId()));
+        assertEquals(Collections.singleton(otherChild.getId()), cache.getCommandIdsByRootCommandId(ROOT_ID));
+        verify(commandEntityDao).remove(child.getId());
+
+        cache.remove(otherChild.getId());
+        assertTrue(cache.getCommandIdsByRootCommandId(ROOT_ID).isEmpty());
+    }
+
+    @Test
+    public void testRemoveAllCommandsBeforeDateReindexes() {
+        DateTime cutoff = new DateTime(10000);
+        CommandEntity removedChild = commandEntity(Guid.newGuid(), ROOT_ID, new Date(5000));
+        CommandEntity keptOldChild = commandEntity(Guid.newGuid(), ROOT_ID, new Date(5000));
+        CommandEntity newChild = commandEntity(Guid.newGuid(), ROOT_ID, new Date(20000));
+        cache.put(removedChild);
+        cache.put(keptOldChild);
+        cache.put(newChild);
+        when(commandEntityDao.getAll()).thenReturn(Collections.singletonList(keptOldChild));
+
+        cache.removeAllCommandsBeforeDate(cutoff);
+
+        verify(commandEntityDao).removeAllBeforeDate(cutoff);
+        assertNull(cache.get(removedChild.getId()));
+        assertEquals(new HashSet<>(Arrays.asList(keptOldChild.getId(), newChild.getId())),
+                cache.getCommandIdsByRootCommandId(ROOT_ID));
+        assertEquals(new HashSet<>(Arrays.asList(keptOldChild.getId(), newChild.getId())), cache.keySet());
+    }
+
+    private static CommandEntity commandEntity(Guid commandId, Guid rootCommandId, Date createdAt) {
+        CommandEntity cmdEntity = new CommandEntity();
+        cmdEntity.setId(commandId);
+        cmdEntity.setRootCommandId(rootCommandId);
+        cmdEntity.setCreatedAt(createdAt);
+        return cmdEntity;
+    }
+}
@@ -1138,6 +1138,14 @@ public enum ConfigValues {
     @TypeConverterAttribute(Integer.class)
     SchedulerOverBookingThreshold(ClientAccessLevel.Admin),
 
+    @Reloadable
+    @TypeConverterAttribute(Boolean.class)
+    SchedulerOptimisticConcurrency,
+
+    @Reloadable
+    @TypeConverterAttribute(Integer.class)
+    SchedulerOptimisticMaxAttempts,
+
     @TypeConverterAttribute(Boolean.class)
     IgnoreVmToVmAffinityForHostMaintenance,
 
@@ -1366,6 +1374,36 @@ public enum ConfigValues {
     @TypeConverterAttribute(Integer.class)
     UsageHistoryLimit,
 
+    /**
+     * Whether VM statistics which did not change significantly since they were last written are written again
+     */
+    @Reloadable
+    @TypeConverterAttribute(Boolean.class)
+    VmStatisticsDeltaFlush,
+
+    @Reloadable
+    @TypeConverterAttribute(Integer.class)
+    VmStatisticsDeltaFlushThreshold,
+
+    @Reloadable
+    @TypeConverterAttribute(Integer.class)
+    VmStatisticsDeltaFlushMaxAge,
+
+    @TypeConverterAttribute(Integer.class)
+    StatisticsWriteBehindIntervalInSeconds,
+
+    @TypeConverterAttribute(Integer.class)
+    AuditLogWriteBehindQueueSize,
+
+    @TypeConverterAttribute(String.class)
+    AuditLogWriteBehindOverflowPolicy,
+
+    @TypeConverterAttribute(Integer.class)
+    PermissionCacheTimeToLiveInSeconds,
+
+    @TypeConverterAttribute(Integer.class)
+    PermissionCacheMaxSize,
+
     @TypeConverterAttribute(Integer.class)
     MaxCpuLimitQosValue(ClientAccessLevel.Admin),
 
@@ -1636,6 +1674,10 @@ public enum ConfigValues {
     @TypeConverterAttribute(Boolean.class)
     EnableQemuDiscardNoUnref,
 
+    @Reloadable
+    @TypeConverterAttribute(Integer.class)
+    SearchQueriesCacheMaxSize,
+
     Invalid;
 
     private ClientAccessLevel accessLevel;
@@ -233,6 +233,7 @@ public enum VDSCommandType {
     HostDevListByCaps("org.ovirt.engine.core.vdsbroker"),        // get all host devices with passthrough information
     Destroy("org.ovirt.engine.core.vdsbroker.vdsbroker"),        // Clean a DOWN VM from the vms list
     GetVmExternalData("org.ovirt.engine.core.vdsbroker.vdsbroker"),
+    GetVmsExternalData("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     SetDestroyOnReboot("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     HostDevChangeNumVfs("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     RegisterLibvirtSecrets("org.ovirt.engine.core.vdsbroker.vdsbroker"),
@@ -32,6 +32,15 @@ public interface DbEngineDialect {
      */
     public SimpleJdbcCallOperations createJdbcCallForQuery(JdbcTemplate jdbcTemplate);
 
+    /**
+     * Compile a call created by {@link #createJdbcCallForQuery(JdbcTemplate)} into an immutable template, which
+     * can be executed concurrently with any row mapper.
+     *
+     * @param call The call for querying data, with the names of its in parameters set.
+     * @return A {@link ReadCallTemplate} executing the same query as the call.
+     */
+    public ReadCallTemplate createReadCallTemplate(SimpleJdbcCallOperations call);
+
     /**
      * Gets the engine prefix to be used for sp parameters.
      */
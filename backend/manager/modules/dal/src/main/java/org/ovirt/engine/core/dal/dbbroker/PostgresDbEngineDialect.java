@@ -161,6 +161,14 @@ public class PostgresDbEngineDialect implements DbEngineDialect {
             return result;
         }
 
+        /**
+         * Compile the call and create a template of it, which binds the values of the call parameters by position.
+         */
+        private ReadCallTemplate toReadCallTemplate() {
+            compile();
+            return new ReadCallTemplate(generateSql(), getCallParameters());
+        }
+
         /**
          * @return The query used for calling the function.
          */
@@ -181,6 +189,11 @@ public class PostgresDbEngineDialect implements DbEngineDialect {
         return new PostgresSimpleJdbcCall(jdbcTemplate);
     }
 
+    @Override
+    public ReadCallTemplate createReadCallTemplate(SimpleJdbcCallOperations call) {
+        return ((PostgresSimpleJdbcCall) call).toReadCallTemplate();
+    }
+
     @Override
     public String getParamNamePrefix() {
         return PREFIX;
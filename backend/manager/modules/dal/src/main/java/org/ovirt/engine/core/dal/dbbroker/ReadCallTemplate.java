@@ -0,0 +1,94 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * An immutable call of a stored procedure which returns a set of rows. The template is created once per procedure
+ * from the parameters compiled by a {@link org.springframework.jdbc.core.simple.SimpleJdbcCall} and binds the values
+ * of each call by position, instead of matching the values with the call parameters by name on every call.
+ */
+public final class ReadCallTemplate {
+
+    private final String sql;
+    private final String[] parameterNames;
+    private final int[] sqlTypes;
+
+    ReadCallTemplate(String sql, List<SqlParameter> callParameters) {
+        this.sql = sql;
+        parameterNames = new String[callParameters.size()];
+        sqlTypes = new int[callParameters.size()];
+        for (int i = 0; i < callParameters.size(); i++) {
+            SqlParameter parameter = callParameters.get(i);
+            parameterNames[i] = parameter.getName();
+            sqlTypes[i] = parameter.getSqlType();
+        }
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    <T> List<T> execute(JdbcTemplate jdbcTemplate, RowMapper<T> mapper, MapSqlParameterSource parameterSource) {
+        return jdbcTemplate.query(sql, ps -> bind(ps, parameterSource), mapper);
+    }
+
+    <T> void executeEach(JdbcTemplate jdbcTemplate,
+            RowMapper<T> mapper,
+            MapSqlParameterSource parameterSource,
+            int fetchSize,
+            Consumer<? super T> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            bind(ps, parameterSource);
+            return ps;
+        }, new RowCallbackHandler() {
+            private int rowNum;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                consumer.accept(mapper.mapRow(rs, rowNum++));
+            }
+        });
+    }
+
+    void bind(PreparedStatement ps, MapSqlParameterSource parameterSource) throws SQLException {
+        Map<String, Object> values = parameterSource.getValues();
+        for (int i = 0; i < parameterNames.length; i++) {
+            ps.setObject(i + 1, getValue(values, parameterNames[i]), sqlTypes[i]);
+        }
+    }
+
+    /**
+     * Gets the value of the parameter. The names given by the callers usually match the names of the parameters
+     * exactly, otherwise they are matched the same way {@link org.springframework.jdbc.core.simple.SimpleJdbcCall}
+     * matches them - case insensitively, or by the property name of the parameter. Parameters which have no value
+     * are bound to {@code null}.
+     */
+    private static Object getValue(Map<String, Object> values, String parameterName) {
+        Object value = values.get(parameterName);
+        if (value != null || values.containsKey(parameterName)) {
+            return value;
+        }
+
+        String propertyName = JdbcUtils.convertUnderscoreNameToPropertyName(parameterName);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(parameterName) || entry.getKey().equalsIgnoreCase(propertyName)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -23,9 +24,10 @@ import org.springframework.jdbc.core.simple.SimpleJdbcCall;
 @Singleton
 public class SimpleJdbcCallsHandler {
 
-    private static final String RETURN_VALUE_PARAMETER = "RETURN_VALUE";
+    private static final int STREAMING_FETCH_SIZE = 1000;
 
     private final ConcurrentMap<String, SimpleJdbcCall> callsMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ReadCallTemplate> readCallsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Pair<String, Integer>> outParamsMap = new ConcurrentHashMap<>();
 
     private final DbEngineDialect dialect;
@@ -120,21 +122,58 @@ public class SimpleJdbcCallsHandler {
         return results.isEmpty() ? null : results.get(0);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> List<T> executeReadList(final String procedureName,
             final RowMapper<T> mapper,
             final MapSqlParameterSource parameterSource) {
-        Map<String, Object> resultsMap = executeImpl(procedureName, parameterSource, createCallForRead(procedureName, mapper, parameterSource), mapper);
-        return (List<T>) resultsMap.get(RETURN_VALUE_PARAMETER);
+        return getReadCall(procedureName, parameterSource).execute(jdbcTemplate, mapper, parameterSource);
+    }
+
+    /**
+     * Reads the rows returned by the procedure one by one, instead of collecting them to a list, so the memory used by
+     * the read does not depend on the number of the rows. Within a transaction the rows are fetched from a
+     * server-side cursor in chunks of 1000 rows, outside of it the rows are still fetched at once by the driver, but
+     * only mapped when they are passed to the consumer.
+     *
+     * @param procedureName
+     *            the procedure name
+     * @param mapper
+     *            the mapper of the rows
+     * @param parameterSource
+     *            the parameters of the procedure
+     * @param consumer
+     *            the consumer of the mapped rows, called in the order of the rows
+     */
+    public <T> void executeReadEach(final String procedureName,
+            final RowMapper<T> mapper,
+            final MapSqlParameterSource parameterSource,
+            final Consumer<? super T> consumer) {
+        getReadCall(procedureName, parameterSource)
+                .executeEach(jdbcTemplate, mapper, parameterSource, STREAMING_FETCH_SIZE, consumer);
+    }
+
+    /**
+     * Gets the template of the call of the procedure, compiling its metadata if the procedure was not called before.
+     * Like in {@link #getCall(String, CallCreator)}, the existence check is not atomic, so at worst case few more
+     * redundant information schema calls will be made. The template is immutable, so it is safe to share it between
+     * concurrent calls with different row mappers.
+     */
+    ReadCallTemplate getReadCall(String procedureName, MapSqlParameterSource parameterSource) {
+        ReadCallTemplate readCall = readCallsMap.get(procedureName);
+        if (readCall == null) {
+            readCall = dialect.createReadCallTemplate(createCallForRead(procedureName, parameterSource).createCall());
+            ReadCallTemplate existing = readCallsMap.putIfAbsent(procedureName, readCall);
+            if (existing != null) {
+                readCall = existing;
+            }
+        }
+        return readCall;
     }
 
     private CallCreator createCallForRead(final String procedureName,
-            final RowMapper<?> mapper,
             final MapSqlParameterSource parameterSource) {
         return () -> {
             SimpleJdbcCall call =
                     (SimpleJdbcCall) dialect.createJdbcCallForQuery(jdbcTemplate).withProcedureName(procedureName);
-            call.returningResultSet(RETURN_VALUE_PARAMETER, mapper);
             // Pass mapper information (only parameter names) in order to supply all the needed
             // metadata information for compilation.
             call.getInParameterNames().addAll(
@@ -148,12 +187,8 @@ public class SimpleJdbcCallsHandler {
     }
 
     private Map<String, Object> executeImpl(String procedureName,
-                                                MapSqlParameterSource paramsSource, CallCreator callCreatorr) {
-        return executeImpl(procedureName, paramsSource, callCreatorr, null);
-    }
-    private <T> Map<String, Object> executeImpl(String procedureName,
-            MapSqlParameterSource paramsSource, CallCreator callCreator, RowMapper<T> mapper) {
-        SimpleJdbcCall call = getCall(procedureName, callCreator, mapper);
+            MapSqlParameterSource paramsSource, CallCreator callCreator) {
+        SimpleJdbcCall call = getCall(procedureName, callCreator);
         return call.execute(paramsSource);
     }
 
@@ -169,10 +204,6 @@ public class SimpleJdbcCallsHandler {
      * @return simple JDBC call object
      */
     protected SimpleJdbcCall getCall(String procedureName, CallCreator callCreator) {
-        return getCall(procedureName, callCreator, null);
-    }
-
-    protected <T> SimpleJdbcCall getCall(String procedureName, CallCreator callCreator, RowMapper<T> mapper) {
         SimpleJdbcCall call = callsMap.get(procedureName);
         if (call == null) {
             call = callCreator.createCall();
@@ -182,8 +213,6 @@ public class SimpleJdbcCallsHandler {
             }
             call.compile();
             callsMap.putIfAbsent(procedureName, call);
-        } else if (mapper != null) {
-            call.returningResultSet(RETURN_VALUE_PARAMETER, mapper);
         }
         return call;
     }
@@ -0,0 +1,194 @@
+package org.ovirt.engine.core.dal.dbbroker.auditloghandling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.ovirt.engine.core.common.AuditLogSeverity;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.dao.AuditLogDao;
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes audit log events to the database.
+ * <p>
+ * By default each event is written by the logging thread in a transaction of its own. When
+ * {@link ConfigValues#AuditLogWriteBehindQueueSize} is positive, events are put in a bounded queue instead and a single
+ * writer drains the queue and writes the events in batches. The ids of the queued events are taken from the sequence
+ * as they are inserted, like for the events written right away, so the ids keep growing in the order the events
+ * become visible, which the clients following the events by id rely on. The queued events therefore don't get their
+ * ids set. When the queue is full, {@link ConfigValues#AuditLogWriteBehindOverflowPolicy} tells whether to wait for
+ * room in the queue or to drop the event.
+ * <p>
+ * Alerts are always written right away, since alerts of hosts are deduplicated and removed by type, which must see
+ * the alerts logged before. So are external events, whose id is returned by the command adding them.
+ */
+@Singleton
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_IN_MILLIS = 500;
+
+    enum OverflowPolicy {
+        Block,
+        Drop
+    }
+
+    @Inject
+    private AuditLogDao auditLogDao;
+
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private final Object flushLock = new Object();
+    private final LongAdder droppedEvents = new LongAdder();
+    private long reportedDroppedEvents;
+    private BlockingQueue<AuditLog> queue;
+    private OverflowPolicy overflowPolicy;
+    private volatile ScheduledFuture<?> flushJob;
+
+    @PostConstruct
+    void init() {
+        int queueSize = Config.<Integer> getValue(ConfigValues.AuditLogWriteBehindQueueSize);
+        if (queueSize > 0) {
+            overflowPolicy = getOverflowPolicy();
+            log.info("Writing audit log events to the database in batches, at most {} waiting events, overflow policy {}",
+                    queueSize,
+                    overflowPolicy);
+            queue = new ArrayBlockingQueue<>(queueSize);
+            flushJob = executor.scheduleWithFixedDelay(this::flush,
+                    FLUSH_INTERVAL_IN_MILLIS,
+                    FLUSH_INTERVAL_IN_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+            flush();
+        }
+    }
+
+    public void write(AuditLog auditLog) {
+        if (isWriteBehind() && !auditLog.isExternal() && auditLog.getSeverity() != AuditLogSeverity.ALERT) {
+            enqueue(auditLog);
+        } else {
+            TransactionSupport.executeInNewTransaction(() -> {
+                auditLogDao.save(auditLog);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * @return the number of events which were dropped since the queue was full
+     */
+    public long getDroppedEventsCount() {
+        return droppedEvents.sum();
+    }
+
+    // visible for testing
+    void flush() {
+        synchronized (flushLock) {
+            while (!queue.isEmpty()) {
+                List<AuditLog> batch = new ArrayList<>(MAX_BATCH_SIZE);
+                queue.drainTo(batch, MAX_BATCH_SIZE);
+                save(batch);
+            }
+            reportDroppedEvents();
+        }
+    }
+
+    private boolean isWriteBehind() {
+        return flushJob != null;
+    }
+
+    private void enqueue(AuditLog auditLog) {
+        if (overflowPolicy == OverflowPolicy.Drop) {
+            if (!queue.offer(auditLog)) {
+                droppedEvents.increment();
+            }
+            return;
+        }
+
+        try {
+            queue.put(auditLog);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedEvents.increment();
+        }
+    }
+
+    private void save(List<AuditLog> batch) {
+        try {
+            saveInNewTransaction(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} audit log events to the database, writing them one by one: {}",
+                    batch.size(),
+                    ExceptionUtils.getRootCauseMessage(e));
+            log.debug("Exception", e);
+            batch.forEach(this::saveSingle);
+        }
+    }
+
+    private void saveSingle(AuditLog auditLog) {
+        try {
+            saveInNewTransaction(Collections.singletonList(auditLog));
+        } catch (RuntimeException e) {
+            log.error("Failed to write audit log event {} to the database: {}",
+                    auditLog.getLogType(),
+                    ExceptionUtils.getRootCauseMessage(e));
+            log.debug("Exception", e);
+        }
+    }
+
+    private void saveInNewTransaction(List<AuditLog> batch) {
+        TransactionSupport.executeInNewTransaction(() -> {
+            auditLogDao.saveAll(batch);
+            return null;
+        });
+    }
+
+    private void reportDroppedEvents() {
+        long dropped = droppedEvents.sum();
+        if (dropped > reportedDroppedEvents) {
+            log.warn("Dropped {} audit log events since {} events were already waiting to be written",
+                    dropped - reportedDroppedEvents,
+                    queue.size() + queue.remainingCapacity());
+            reportedDroppedEvents = dropped;
+        }
+    }
+
+    private static OverflowPolicy getOverflowPolicy() {
+        String policy = Config.getValue(ConfigValues.AuditLogWriteBehindOverflowPolicy);
+        try {
+            return OverflowPolicy.valueOf(policy);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Unknown audit log overflow policy '{}', using {}", policy, OverflowPolicy.Block);
+            return OverflowPolicy.Block;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static org.ovirt.engine.core.common.config.OptionBehaviour.ValueDependent
 import java.lang.reflect.Field;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -38,7 +39,11 @@ public class DBConfigUtils implements IConfigUtilsInterface {
     private static final Logger log = LoggerFactory.getLogger(DBConfigUtils.class);
 
     private static final String TEMP = "Temp";
-    private final Map<String, Map<String, Object>> _vdcOptionCache = new HashMap<>();
+    private static final int NUMBER_OF_OPTIONS = ConfigValues.values().length;
+    private static final Object NO_VALUE = new Object();
+
+    @SuppressWarnings("unchecked")
+    private volatile OptionsSnapshot snapshot = new OptionsSnapshot(new Map[NUMBER_OF_OPTIONS]);
 
     @Inject
     private VdcOptionDao vdcOptionDao;
@@ -126,58 +131,84 @@ public class DBConfigUtils implements IConfigUtilsInterface {
     }
 
     /**
-     * Refreshes the VDC option cache.
+     * Refreshes the VDC option cache. The values are loaded into a new snapshot which replaces the current one once
+     * it is complete, so readers never see a partially loaded cache.
      */
     @PostConstruct
-    public void refresh() {
-        _vdcOptionCache.clear();
+    public synchronized void refresh() {
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] values = new Map[NUMBER_OF_OPTIONS];
         List<VdcOption> list = moveDependentToEnd(vdcOptionDao.getAll());
         for (VdcOption option : list) {
-            try {
-                if (!_vdcOptionCache.containsKey(option.getOptionName()) ||
-                        !_vdcOptionCache.get(option.getOptionName()).containsKey(option.getVersion()) ||
-                        isReloadable(option.getOptionName())) {
-                    updateOption(option);
+            ConfigValues configValue = findConfigValue(option.getOptionName());
+            if (configValue == null) {
+                // Ignore temporary values inserted to vdc_options by upgrades as
+                // flags.
+                if (!option.getOptionName().startsWith(TEMP)) {
+                    log.warn("Could not find enum value for option: '{}'", option.getOptionName());
                 }
-            } catch (NoSuchFieldException e) {
-                log.error("Not refreshing field '{}': does not exist in class {}.", option.getOptionName(),
-                        ConfigValues.class.getSimpleName());
+                continue;
+            }
+            Map<String, Object> versions = values[configValue.ordinal()];
+            if (versions == null) {
+                versions = new HashMap<>();
+                values[configValue.ordinal()] = versions;
+            }
+            if (!versions.containsKey(option.getVersion()) || isReloadable(configValue)) {
+                versions.put(option.getVersion(), getValue(option, values));
             }
         }
+        snapshot = new OptionsSnapshot(values);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> Map<String, T> getValuesForAllVersions(ConfigValues configValue) {
-        return (Map<String, T>) _vdcOptionCache.get(configValue.toString());
+        return (Map<String, T>) snapshot.getValuesForAllVersions(configValue);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T getValue(ConfigValues name, String version) {
-        Map<String, T> values = getValuesForAllVersions(name);
-        if (valueExists(name, version)) {
-            return values.get(version);
+        OptionsSnapshot current = snapshot;
+        if (ConfigCommon.defaultConfigurationVersion.equals(version)) {
+            Object value = current.getDefaultVersionValue(name);
+            if (value != NO_VALUE) {
+                return (T) value;
+            }
+        } else {
+            Map<String, Object> values = current.getValuesForAllVersions(name);
+            if (values != null && values.containsKey(version)) {
+                return (T) values.get(version);
+            }
         }
         throw new IllegalArgumentException(name.toString() + " has no value for version: " + version);
     }
 
     @Override
     public boolean valueExists(ConfigValues configValue, String version) {
-        Map<String, Object> values = getValuesForAllVersions(configValue);
+        Map<String, Object> values = snapshot.getValuesForAllVersions(configValue);
         return values != null && values.containsKey(version);
     }
 
-    private void updateOption(VdcOption option) {
-        Map<String, Object> values = _vdcOptionCache.get(option.getOptionName());
-        if (values == null) {
-            values = new HashMap<>();
-            _vdcOptionCache.put(option.getOptionName(), values);
+    /**
+     * Returns the option of the given name, or {@code null} for unknown options, such as the temporary ones inserted
+     * by upgrades.
+     */
+    private static ConfigValues findConfigValue(String optionName) {
+        try {
+            return ConfigValues.valueOf(optionName);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        values.put(option.getVersion(), getValue(option));
     }
 
-    private static boolean isReloadable(String optionName) throws NoSuchFieldException {
-        return ConfigValues.class.getField(optionName).isAnnotationPresent(Reloadable.class);
+    private static boolean isReloadable(ConfigValues configValue) {
+        try {
+            return ConfigValues.class.getField(configValue.name()).isAnnotationPresent(Reloadable.class);
+        } catch (NoSuchFieldException e) {
+            return false;
+        }
     }
 
     private List<VdcOption> moveDependentToEnd(List<VdcOption> list) {
@@ -196,9 +227,10 @@ public class DBConfigUtils implements IConfigUtilsInterface {
     }
 
     /**
-     * Returns the typed value of the given option. returns default value if option.option_value is null
+     * Returns the typed value of the given option. returns default value if option.option_value is null. Values
+     * depending on other options are resolved from the given values, which are being loaded.
      */
-    protected Object getValue(VdcOption option) {
+    private static Object getValue(VdcOption option, Map<String, Object>[] values) {
         Object result = option.getOptionValue();
         EnumValue enumValue = parseEnumValue(option.getOptionName());
         if (enumValue != null) {
@@ -207,7 +239,6 @@ public class DBConfigUtils implements IConfigUtilsInterface {
             result = parseValue(option.getOptionValue(), option.getOptionName(), fieldType);
 
             if (optionBehaviour != null) {
-                Map<String, Object> values = null;
                 switch (optionBehaviour.behaviour()) {
                     // split string by comma for List<string> constructor
                     case CommaSeparatedStringArray:
@@ -224,11 +255,11 @@ public class DBConfigUtils implements IConfigUtilsInterface {
                         break;
                     case ValueDependent:
                         // get the config that this value depends on
-                        String prefix = getValue(optionBehaviour.dependentOn(), ConfigCommon.defaultConfigurationVersion);
+                        String prefix = (String) getDefaultVersionValue(values, optionBehaviour.dependentOn());
                         // combine the prefix with the 'real value'
                         if (prefix != null) {
                             String realName = String.format("%1$s%2$s", prefix, optionBehaviour.realValue());
-                            result = getValue(ConfigValues.valueOf(realName), ConfigCommon.defaultConfigurationVersion);
+                            result = getDefaultVersionValue(values, ConfigValues.valueOf(realName));
                         }
                         break;
                     case CommaSeparatedVersionArray:
@@ -249,6 +280,48 @@ public class DBConfigUtils implements IConfigUtilsInterface {
         return result;
     }
 
+    private static Object getDefaultVersionValue(Map<String, Object>[] values, ConfigValues configValue) {
+        Map<String, Object> versions = values[configValue.ordinal()];
+        if (versions == null || !versions.containsKey(ConfigCommon.defaultConfigurationVersion)) {
+            throw new IllegalArgumentException(configValue.toString() + " has no value for version: "
+                    + ConfigCommon.defaultConfigurationVersion);
+        }
+        return versions.get(ConfigCommon.defaultConfigurationVersion);
+    }
+
+    /**
+     * Immutable values of all the options, indexed by the ordinal of the option. The values of the default version,
+     * which are the ones read on most calls, are kept separately so they are resolved without a lookup by version.
+     */
+    private static final class OptionsSnapshot {
+        private final Map<String, Object>[] valuesByVersion;
+        private final Object[] defaultVersionValues;
+
+        OptionsSnapshot(Map<String, Object>[] values) {
+            valuesByVersion = values;
+            defaultVersionValues = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Map<String, Object> versions = values[i];
+                if (versions == null) {
+                    defaultVersionValues[i] = NO_VALUE;
+                } else {
+                    valuesByVersion[i] = Collections.unmodifiableMap(versions);
+                    defaultVersionValues[i] = versions.containsKey(ConfigCommon.defaultConfigurationVersion)
+                            ? versions.get(ConfigCommon.defaultConfigurationVersion)
+                            : NO_VALUE;
+                }
+            }
+        }
+
+        Map<String, Object> getValuesForAllVersions(ConfigValues configValue) {
+            return valuesByVersion[configValue.ordinal()];
+        }
+
+        Object getDefaultVersionValue(ConfigValues configValue) {
+            return defaultVersionValues[configValue.ordinal()];
+        }
+    }
+
     public static final class EnumValue {
         final Class<?> fieldType;
         final OptionBehaviourAttribute optionBehaviour;
@@ -114,6 +114,16 @@ public interface AuditLogDao extends Dao, SearchDao<AuditLog> {
      */
     void save(AuditLog entry);
 
+    /**
+     * Saves the provided audit logs in a batch. The ids are taken from the sequence as the entries are inserted, in
+     * the order of the list, and are not set in the entries. Otherwise each entry is saved the way
+     * {@link #save(AuditLog)} saves it.
+     *
+     * @param entries
+     *            the entries
+     */
+    void saveAll(List<AuditLog> entries);
+
     /**
      * Updates the provided audit log entry.
      *
@@ -5,9 +5,11 @@ import java.sql.Array;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -19,6 +21,7 @@ import org.ovirt.engine.core.dal.dbbroker.DbEngineDialect;
 import org.ovirt.engine.core.dal.dbbroker.SimpleJdbcCallsHandler;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
 
 public abstract class BaseDao {
     protected static final String SEPARATOR = ",";
@@ -60,6 +63,21 @@ public abstract class BaseDao {
         return createArrayOf("uuid", uuids);
     }
 
+    /**
+     * Runs a search query, binding the given values to its placeholders. The values are bound untyped, so the database
+     * infers their types from the query as it does for literals.
+     */
+    protected <T> List<T> searchWithQuery(String query, RowMapper<T> rowMapper, Object... parameters) {
+        if (parameters.length == 0) {
+            return getJdbcTemplate().query(query, rowMapper);
+        }
+        Object[] values = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            values[i] = new SqlParameterValue(Types.OTHER, parameters[i]);
+        }
+        return getJdbcTemplate().query(query, rowMapper, values);
+    }
+
     /**
      * @return A generic {@link Guid} result mapper which always takes the {@link Guid} result, regardless of how it's
      *         column is called.
@@ -109,8 +109,8 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
     }
 
     @Override
-    public List<Cluster> getAllWithQuery(String query) {
-        List<Cluster> clusters = getJdbcTemplate().query(query, clusterRowMapper);
+    public List<Cluster> getAllWithQuery(String query, Object... parameters) {
+        List<Cluster> clusters = searchWithQuery(query, clusterRowMapper, parameters);
         return getHostsAndVmsForClusters(clusters);
     }
 
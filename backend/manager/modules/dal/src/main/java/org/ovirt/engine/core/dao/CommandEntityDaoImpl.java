@@ -92,7 +92,7 @@ public class CommandEntityDaoImpl extends DefaultGenericDao<CommandEntity, Guid>
                 .addValue("command_type", entity.getCommandType().getValue())
                 .addValue("parent_command_id", entity.getParentCommandId())
                 .addValue("root_command_id", Guid.isNullOrEmpty(entity.getRootCommandId()) ? Guid.Empty : entity.getRootCommandId())
-                .addValue("command_context", SerializationFactory.getSerializer().serialize(entity.getCommandContext()))
+                .addValue("command_context", SerializationFactory.getSerializer().serializeCompact(entity.getCommandContext()))
                 .addValue("command_parameters", serializeParameters(entity.getCommandParameters()))
                 .addValue("command_params_class", entity.getCommandParameters() == null ? null : entity.getCommandParameters().getClass().getName())
                 .addValue("created_at", entity.getCreatedAt())
@@ -101,15 +101,15 @@ public class CommandEntityDaoImpl extends DefaultGenericDao<CommandEntity, Guid>
                 .addValue("callback_enabled", entity.isCallbackEnabled())
                 .addValue("return_value", serializeReturnValue(entity.getReturnValue()))
                 .addValue("return_value_class", entity.getReturnValue() == null ? null : entity.getReturnValue().getClass().getName())
-                .addValue("data", SerializationFactory.getSerializer().serialize(entity.getData()));
+                .addValue("data", SerializationFactory.getSerializer().serializeCompact(entity.getData()));
     }
 
     private String serializeReturnValue(ActionReturnValue retVal) {
-        return SerializationFactory.getSerializer().serialize(retVal);
+        return SerializationFactory.getSerializer().serializeCompact(retVal);
     }
 
     private String serializeParameters(ActionParametersBase params) {
-        return SerializationFactory.getSerializer().serialize(params);
+        return SerializationFactory.getSerializer().serializeCompact(params);
     }
 
     @SuppressWarnings("unchecked")
@@ -3,6 +3,7 @@ package org.ovirt.engine.core.dao;
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.ovirt.engine.core.common.businessentities.BusinessEntity;
 import org.springframework.jdbc.core.RowMapper;
@@ -83,6 +84,14 @@ public abstract class DefaultReadDao<T extends BusinessEntity<ID>, ID extends Se
                 getCustomMapSqlParameterSource());
     }
 
+    @Override
+    public void forEach(Consumer<? super T> consumer) {
+        getCallsHandler().executeReadEach(getProcedureNameForGetAll(),
+                createEntityRowMapper(),
+                getCustomMapSqlParameterSource(),
+                consumer);
+    }
+
     /**
      * Create a parameter mapper to map the entity id to the id in the procedure parameters.
      *
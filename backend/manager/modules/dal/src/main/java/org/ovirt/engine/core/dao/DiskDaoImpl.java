@@ -170,8 +170,8 @@ public class DiskDaoImpl extends BaseDao implements DiskDao {
     }
 
     @Override
-    public List<Disk> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, diskRowMapper);
+    public List<Disk> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, diskRowMapper, parameters);
     }
 
     private static final RowMapper<Disk> diskRowMapper = (rs, rowNum) -> {
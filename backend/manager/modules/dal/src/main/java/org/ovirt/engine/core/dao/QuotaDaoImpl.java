@@ -541,8 +541,8 @@ public class QuotaDaoImpl extends BaseDao implements QuotaDao {
     }
 
     @Override
-    public List<Quota> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, getQuotaMetaDataFromResultSet());
+    public List<Quota> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, getQuotaMetaDataFromResultSet(), parameters);
     }
 
     @Override
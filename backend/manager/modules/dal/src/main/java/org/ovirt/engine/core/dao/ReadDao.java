@@ -2,6 +2,7 @@ package org.ovirt.engine.core.dao;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.ovirt.engine.core.common.businessentities.BusinessEntity;
 
@@ -31,4 +32,15 @@ public interface ReadDao<T extends BusinessEntity<ID>, ID extends Serializable>
      * @return A list of all the entities, or an empty list if none is found.
      */
     public List<T> getAll();
+
+    /**
+     * Reads all the entities of type {@link T} one by one. {@link DefaultReadDao} streams the rows without keeping all
+     * of them in memory; other implementations read them through {@link #getAll()}.
+     *
+     * @param consumer
+     *            The consumer of the entities, called in the order they are read.
+     */
+    public default void forEach(Consumer<? super T> consumer) {
+        getAll().forEach(consumer);
+    }
 }
@@ -13,7 +13,9 @@ public interface SearchDao<T extends Queryable> {
      *
      * @param query
      *            the query
+     * @param parameters
+     *            the values of the placeholders of the query, in their order
      * @return the list of entries
      */
-    List<T> getAllWithQuery(String query);
+    List<T> getAllWithQuery(String query, Object... parameters);
 }
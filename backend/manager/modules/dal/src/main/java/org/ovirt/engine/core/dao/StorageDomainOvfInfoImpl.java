@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -83,6 +84,11 @@ public class StorageDomainOvfInfoImpl extends DefaultGenericDao<StorageDomainOvf
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void forEach(Consumer<? super StorageDomainOvfInfo> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     protected MapSqlParameterSource createIdParameterMapper(Guid guid) {
         return getCustomMapSqlParameterSource().addValue("ovf_disk_id", guid);
@@ -110,8 +110,8 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
     }
 
     @Override
-    public List<StoragePool> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, mapper);
+    public List<StoragePool> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, mapper, parameters);
     }
 
     @Override
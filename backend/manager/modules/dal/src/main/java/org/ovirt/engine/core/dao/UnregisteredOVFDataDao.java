@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.ovirt.engine.core.common.businessentities.OvfEntityData;
 import org.ovirt.engine.core.common.businessentities.VmEntityType;
@@ -31,6 +32,21 @@ public interface UnregisteredOVFDataDao extends Dao {
      */
     public List<OvfEntityData> getAllForStorageDomainByEntityType(Guid storageDomainId, VmEntityType entityType);
 
+    /**
+     * Reads all the entities of the given type related to the storage Domain Id one by one, without keeping all of
+     * their OVFs in memory.
+     *
+     * @param storageDomainId
+     *            The Storage Domain Id.
+     * @param entityType
+     *            The entity type (VM/Template).
+     * @param consumer
+     *            The consumer of the OvfEntityData related to the storage Domain Id.
+     */
+    public void forEachForStorageDomainByEntityType(Guid storageDomainId,
+            VmEntityType entityType,
+            Consumer<? super OvfEntityData> consumer);
+
     /**
      * Insert new entity to the unregistered table.
      */
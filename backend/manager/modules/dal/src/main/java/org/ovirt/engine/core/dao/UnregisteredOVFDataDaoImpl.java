@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -25,6 +26,18 @@ public class UnregisteredOVFDataDaoImpl extends BaseDao implements UnregisteredO
                         .addValue("entity_type", entityType != null ? entityType.name() : null));
     }
 
+    @Override
+    public void forEachForStorageDomainByEntityType(Guid storageDomainId,
+            VmEntityType entityType,
+            Consumer<? super OvfEntityData> consumer) {
+        getCallsHandler().executeReadEach("GetAllOVFEntitiesForStorageDomainByEntityType",
+                ovfEntityDataRowMapper,
+                getCustomMapSqlParameterSource()
+                        .addValue("storage_domain_id", storageDomainId)
+                        .addValue("entity_type", entityType != null ? entityType.name() : null),
+                consumer);
+    }
+
     @Override
     public List<OvfEntityData> getByEntityIdAndStorageDomain(Guid entityId, Guid storageDomainId) {
         return getCallsHandler().executeReadList("GetOVFDataByEntityIdAndStorageDomain",
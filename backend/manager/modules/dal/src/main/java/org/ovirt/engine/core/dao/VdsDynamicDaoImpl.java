@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -193,6 +194,11 @@ public class VdsDynamicDaoImpl extends MassOperationsGenericDao<VdsDynamic, Guid
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void forEach(Consumer<? super VdsDynamic> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void updateStatus(Guid id, VDSStatus status) {
         MapSqlParameterSource parameterSource = getStatusSqlParameterSource(id, status);
@@ -3,6 +3,8 @@ package org.ovirt.engine.core.dao;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import javax.inject.Named;
@@ -11,6 +13,7 @@ import javax.inject.Singleton;
 import org.apache.commons.lang.StringUtils;
 import org.ovirt.engine.core.common.businessentities.HugePage;
 import org.ovirt.engine.core.common.businessentities.VdsStatistics;
+import org.ovirt.engine.core.common.businessentities.comparators.BusinessEntityComparator;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dal.dbbroker.DbFacadeUtils;
 import org.ovirt.engine.core.utils.JsonHelper;
@@ -137,7 +140,25 @@ public class VdsStatisticsDaoImpl extends BaseDao implements VdsStatisticsDao {
 
     @Override
     public void update(VdsStatistics stats) {
-        MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
+        getCallsHandler().executeModification("UpdateVdsStatistics", createUpdateParametersMapper(stats));
+    }
+
+    @Override
+    public void updateAllInBatch(Collection<VdsStatistics> statistics) {
+        if (statistics.isEmpty()) {
+            return;
+        }
+
+        // To overcome possible deadlocks, we need to sort the collection
+        List<VdsStatistics> sortedStatistics = new ArrayList<>(statistics);
+        sortedStatistics.sort(BusinessEntityComparator.newInstance());
+        getCallsHandler().executeStoredProcAsBatch("UpdateVdsStatistics",
+                sortedStatistics,
+                this::createUpdateParametersMapper);
+    }
+
+    private MapSqlParameterSource createUpdateParametersMapper(VdsStatistics stats) {
+        return getCustomMapSqlParameterSource()
                 .addValue("cpu_idle", stats.getCpuIdle())
                 .addValue("cpu_load", stats.getCpuLoad())
                 .addValue("cpu_sys", stats.getCpuSys())
@@ -163,8 +184,6 @@ public class VdsStatisticsDaoImpl extends BaseDao implements VdsStatisticsDao {
                 .addValue("ha_local_maintenance", stats.getHighlyAvailableLocalMaintenance())
                 .addValue("cpu_over_commit_time_stamp", stats.getCpuOverCommitTimeStamp())
                 .addValue("hugepages", serializeHugePages(stats.getHugePages()));
-
-        getCallsHandler().executeModification("UpdateVdsStatistics", parameterSource);
     }
 
     @Override
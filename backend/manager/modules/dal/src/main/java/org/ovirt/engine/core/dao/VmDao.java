@@ -3,6 +3,7 @@ package org.ovirt.engine.core.dao;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.ovirt.engine.core.common.businessentities.OriginType;
 import org.ovirt.engine.core.common.businessentities.VM;
@@ -179,9 +180,11 @@ public interface VmDao extends Dao {
      *
      * @param query
      *            the SQL query
+     * @param parameters
+     *            the values of the placeholders of the query, in their order
      * @return the list of VMs
      */
-    List<VM> getAllUsingQuery(String query);
+    List<VM> getAllUsingQuery(String query, Object... parameters);
 
     /**
      * Retrieves the list of VMs for the given storage domain.
@@ -233,6 +236,14 @@ public interface VmDao extends Dao {
      */
     List<VM> getAll();
 
+    /**
+     * Reads all VMs one by one, without keeping all of them in memory.
+     *
+     * @param consumer
+     *            the consumer of the VMs
+     */
+    void forEach(Consumer<? super VM> consumer);
+
     /**
      * Specific use-case for ovirt-web-ui - Get vms:
      *
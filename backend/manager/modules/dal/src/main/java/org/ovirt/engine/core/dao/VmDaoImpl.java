@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.inject.Named;
@@ -186,8 +187,8 @@ public class VmDaoImpl extends BaseDao implements VmDao {
     }
 
     @Override
-    public List<VM> getAllUsingQuery(String query) {
-        return getJdbcTemplate().query(query, vmRowMapper);
+    public List<VM> getAllUsingQuery(String query, Object... parameters) {
+        return searchWithQuery(query, vmRowMapper, parameters);
     }
 
     @Override
@@ -226,6 +227,14 @@ public class VmDaoImpl extends BaseDao implements VmDao {
         return getAll(null, false);
     }
 
+    @Override
+    public void forEach(Consumer<? super VM> consumer) {
+        getCallsHandler().executeReadEach("GetAllFromVms",
+                vmRowMapper,
+                getCustomMapSqlParameterSource().addValue("user_id", null).addValue("is_filtered", false),
+                consumer);
+    }
+
     @Override
     public List<VM> getAll(Guid userID, boolean isFiltered) {
         return getCallsHandler().executeReadList("GetAllFromVms",
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -98,6 +99,14 @@ public class VmDynamicDaoImpl extends MassOperationsGenericDao<VmDynamic, Guid>
                 getCustomMapSqlParameterSource());
     }
 
+    @Override
+    public void forEach(Consumer<? super VmDynamic> consumer) {
+        getCallsHandler().executeReadEach("GetAllFromVmDynamic",
+                createEntityRowMapper(),
+                getCustomMapSqlParameterSource(),
+                consumer);
+    }
+
     @Override
     public void updateOvirtGuestAgentStatus(Guid vmId, GuestAgentStatus ovirtGuestAgentStatus) {
         getCallsHandler().executeModification("UpdateOvirtGuestAgentStatus",
@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -34,6 +35,14 @@ public class VmJobDaoImpl extends MassOperationsGenericDao<VmJob, Guid> implemen
                 getCustomMapSqlParameterSource());
     }
 
+    @Override
+    public void forEach(Consumer<? super VmJob> consumer) {
+        getCallsHandler().executeReadEach("GetAllVmJobs",
+                vmJobRowMapper,
+                getCustomMapSqlParameterSource(),
+                consumer);
+    }
+
     @Override
     protected MapSqlParameterSource createIdParameterMapper(Guid id) {
         return getCustomMapSqlParameterSource().addValue("vm_job_id", id);
@@ -3,6 +3,7 @@ package org.ovirt.engine.core.dao;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.inject.Named;
@@ -30,6 +31,11 @@ public class VmStaticDaoImpl extends VmBaseDao<VmStatic> implements VmStaticDao
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void forEach(Consumer<? super VmStatic> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     protected MapSqlParameterSource createFullParametersMapper(VmStatic vm) {
         return createBaseParametersMapper(vm)
@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -25,6 +26,11 @@ public class VmStatisticsDaoImpl extends MassOperationsGenericDao<VmStatistics,
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void forEach(Consumer<? super VmStatistics> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     protected MapSqlParameterSource createIdParameterMapper(Guid id) {
         return getCustomMapSqlParameterSource().addValue("vm_guid", id);
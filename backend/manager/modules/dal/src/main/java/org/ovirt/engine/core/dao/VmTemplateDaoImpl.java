@@ -5,6 +5,7 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -92,6 +93,17 @@ public class VmTemplateDaoImpl extends VmBaseDao<VmTemplate> implements VmTempla
         return getAll(null, false, VmEntityType.TEMPLATE);
     }
 
+    @Override
+    public void forEach(Consumer<? super VmTemplate> consumer) {
+        getCallsHandler().executeReadEach("GetAllFromVmTemplates",
+                VMTemplateRowMapper.instance,
+                getCustomMapSqlParameterSource()
+                        .addValue("entity_type", VmEntityType.TEMPLATE.name())
+                        .addValue("user_id", null)
+                        .addValue("is_filtered", false),
+                consumer);
+    }
+
     @Override
     public List<VmTemplate> getAll(Guid userID, boolean isFiltered, VmEntityType entityType) {
         return getCallsHandler().executeReadList("GetAllFromVmTemplates",
@@ -125,8 +137,8 @@ public class VmTemplateDaoImpl extends VmBaseDao<VmTemplate> implements VmTempla
     }
 
     @Override
-    public List<VmTemplate> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, VMTemplateRowMapper.instance);
+    public List<VmTemplate> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, VMTemplateRowMapper.instance, parameters);
     }
 
     @Override
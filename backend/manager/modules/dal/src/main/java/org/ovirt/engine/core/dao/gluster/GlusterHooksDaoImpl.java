@@ -128,8 +128,8 @@ public class GlusterHooksDaoImpl extends MassOperationsGenericDao<GlusterHookEnt
 
     @Override
     @SuppressWarnings("deprecation")
-    public List<GlusterHookEntity> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, glusterHookRowMapper);
+    public List<GlusterHookEntity> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, glusterHookRowMapper, parameters);
     }
 
     @Override
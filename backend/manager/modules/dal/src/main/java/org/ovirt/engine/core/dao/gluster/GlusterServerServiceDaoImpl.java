@@ -13,7 +13,6 @@ import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.MassOperationsGenericDao;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 /**
  * Implementation of the DB Facade for Services.
@@ -42,8 +41,8 @@ public class GlusterServerServiceDaoImpl extends MassOperationsGenericDao<Gluste
     }
 
     @Override
-    public List<GlusterServerService> getAllWithQuery(String query) {
-        return new NamedParameterJdbcTemplate(getJdbcTemplate()).query(query, serviceRowMapper);
+    public List<GlusterServerService> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, serviceRowMapper, parameters);
     }
 
     @Override
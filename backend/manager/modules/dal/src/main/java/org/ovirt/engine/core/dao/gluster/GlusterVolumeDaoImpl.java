@@ -212,8 +212,8 @@ public class GlusterVolumeDaoImpl extends MassOperationsGenericDao<GlusterVolume
     }
 
     @Override
-    public List<GlusterVolumeEntity> getAllWithQuery(String query) {
-        List<GlusterVolumeEntity> volumes = getJdbcTemplate().query(query, volumeRowMapper);
+    public List<GlusterVolumeEntity> getAllWithQuery(String query, Object... parameters) {
+        List<GlusterVolumeEntity> volumes = searchWithQuery(query, volumeRowMapper, parameters);
         fetchRelatedEntities(volumes);
         return volumes;
     }
@@ -71,8 +71,8 @@ public class GlusterVolumeSnapshotConfigDaoImpl extends BaseDao implements Glust
     }
 
     @Override
-    public List<GlusterVolumeSnapshotConfig> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, snapshotConfigRowMapper);
+    public List<GlusterVolumeSnapshotConfig> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, snapshotConfigRowMapper, parameters);
     }
 
     @Override
@@ -119,8 +119,8 @@ public class GlusterVolumeSnapshotDaoImpl extends MassOperationsGenericDao<Glust
     }
 
     @Override
-    public List<GlusterVolumeSnapshotEntity> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, snapshotRowMapper);
+    public List<GlusterVolumeSnapshotEntity> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, snapshotRowMapper, parameters);
     }
 
     @Override
@@ -15,7 +15,7 @@ public interface GlusterVolumeSnapshotScheduleDao extends Dao, SearchDao<Gluster
     public void removeByVolumeId(Guid volumeId);
 
     @Override
-    public List<GlusterVolumeSnapshotSchedule> getAllWithQuery(String query);
+    public List<GlusterVolumeSnapshotSchedule> getAllWithQuery(String query, Object... parameters);
 
     public void updateScheduleByVolumeId(Guid volumeId, GlusterVolumeSnapshotSchedule schedule);
 }
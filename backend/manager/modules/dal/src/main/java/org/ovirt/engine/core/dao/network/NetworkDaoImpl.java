@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -88,6 +89,14 @@ public class NetworkDaoImpl extends DefaultGenericDao<Network, Guid> implements
         return getAll(null, false);
     }
 
+    @Override
+    public void forEach(Consumer<? super Network> consumer) {
+        getCallsHandler().executeReadEach("GetAllFromnetwork",
+                networkRowMapper,
+                getCustomMapSqlParameterSource().addValue("user_id", null).addValue("is_filtered", false),
+                consumer);
+    }
+
     @Override
     public List<Network> getAll(Guid userID, boolean isFiltered) {
         return getCallsHandler().executeReadList("GetAllFromnetwork",
@@ -29,8 +29,8 @@ public class NetworkViewDaoImpl extends BaseDao implements NetworkViewDao {
     }
 
     @Override
-    public List<NetworkView> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, networkViewRowMapper);
+    public List<NetworkView> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, networkViewRowMapper, parameters);
     }
 
     @Override
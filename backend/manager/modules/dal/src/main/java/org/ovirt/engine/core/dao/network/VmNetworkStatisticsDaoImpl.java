@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.dao.network;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -24,6 +25,11 @@ public class VmNetworkStatisticsDaoImpl extends NetworkStatisticsDaoImpl<VmNetwo
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void forEach(Consumer<? super VmNetworkStatistics> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     protected MapSqlParameterSource createFullParametersMapper(VmNetworkStatistics stats) {
         return super.createFullParametersMapper(stats)
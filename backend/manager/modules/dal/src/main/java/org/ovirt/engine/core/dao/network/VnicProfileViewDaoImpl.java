@@ -3,6 +3,7 @@ package org.ovirt.engine.core.dao.network;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -40,6 +41,14 @@ public class VnicProfileViewDaoImpl extends DefaultReadDao<VnicProfileView, Guid
         return getAll(null, false);
     }
 
+    @Override
+    public void forEach(Consumer<? super VnicProfileView> consumer) {
+        getCallsHandler().executeReadEach(getProcedureNameForGetAll(),
+                VnicProfileViewRowMapper.INSTANCE,
+                getCustomMapSqlParameterSource().addValue("user_id", null).addValue("is_filtered", false),
+                consumer);
+    }
+
     @Override
     public List<VnicProfileView> getAll(Guid userId, boolean filtered) {
         return getCallsHandler().executeReadList(getProcedureNameForGetAll(),
@@ -130,8 +139,8 @@ public class VnicProfileViewDaoImpl extends DefaultReadDao<VnicProfileView, Guid
     }
 
     @Override
-    public List<VnicProfileView> getAllWithQuery(String query) {
-        return getJdbcTemplate().query(query, VnicProfileViewRowMapper.INSTANCE);
+    public List<VnicProfileView> getAllWithQuery(String query, Object... parameters) {
+        return searchWithQuery(query, VnicProfileViewRowMapper.INSTANCE, parameters);
     }
 
 }
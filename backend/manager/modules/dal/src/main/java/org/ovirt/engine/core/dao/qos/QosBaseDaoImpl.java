@@ -4,6 +4,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.ovirt.engine.core.common.businessentities.qos.QosBase;
 import org.ovirt.engine.core.common.businessentities.qos.QosType;
@@ -35,6 +36,14 @@ public abstract class QosBaseDaoImpl<T extends QosBase> extends DefaultGenericDa
         return getAll(null, false);
     }
 
+    @Override
+    public void forEach(Consumer<? super T> consumer) {
+        getCallsHandler().executeReadEach("GetAllQosByQosType",
+                createEntityRowMapper(),
+                getCustomMapSqlParameterSource().addValue("qos_type", getQosType()),
+                consumer);
+    }
+
     @Override
     public List<T> getAll(Guid userID, boolean isFiltered) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource();
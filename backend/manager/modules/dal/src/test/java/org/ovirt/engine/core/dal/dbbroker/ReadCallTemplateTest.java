@@ -0,0 +1,66 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+public class ReadCallTemplateTest {
+
+    private static final String SQL = "select * from public.getvmsbyclusterid(?, ?, ?)";
+
+    private final ReadCallTemplate template = new ReadCallTemplate(SQL, Arrays.asList(
+            new SqlParameter("v_cluster_id", Types.OTHER),
+            new SqlParameter("v_user_id", Types.OTHER),
+            new SqlParameter("v_is_filtered", Types.BOOLEAN)));
+
+    @Test
+    public void testValuesAreBoundByPosition() throws SQLException {
+        UUID clusterId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        PreparedStatement ps = mock(PreparedStatement.class);
+
+        template.bind(ps, new MapSqlParameterSource()
+                .addValue("v_is_filtered", true)
+                .addValue("v_user_id", userId)
+                .addValue("v_cluster_id", clusterId));
+
+        verify(ps).setObject(1, clusterId, Types.OTHER);
+        verify(ps).setObject(2, userId, Types.OTHER);
+        verify(ps).setObject(3, true, Types.BOOLEAN);
+        verifyNoMoreInteractions(ps);
+    }
+
+    @Test
+    public void testNamesAreMatchedCaseInsensitively() throws SQLException {
+        UUID clusterId = UUID.randomUUID();
+        PreparedStatement ps = mock(PreparedStatement.class);
+
+        template.bind(ps, new MapSqlParameterSource()
+                .addValue("V_CLUSTER_ID", clusterId)
+                .addValue("vIsFiltered", false));
+
+        verify(ps).setObject(1, clusterId, Types.OTHER);
+        verify(ps).setObject(3, false, Types.BOOLEAN);
+    }
+
+    @Test
+    public void testMissingValuesAreBoundToNull() throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+
+        template.bind(ps, new MapSqlParameterSource().addValue("v_user_id", null));
+
+        verify(ps).setObject(1, null, Types.OTHER);
+        verify(ps).setObject(2, null, Types.OTHER);
+        verify(ps).setObject(3, null, Types.BOOLEAN);
+    }
+}
@@ -0,0 +1,202 @@
+package org.ovirt.engine.core.dal.dbbroker.auditloghandling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.transaction.TransactionManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.AuditLogSeverity;
+import org.ovirt.engine.core.common.AuditLogType;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.AuditLogDao;
+import org.ovirt.engine.core.utils.InjectedMock;
+import org.ovirt.engine.core.utils.InjectorExtension;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.utils.MockedConfig;
+
+@ExtendWith({ MockitoExtension.class, MockConfigExtension.class, InjectorExtension.class })
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AuditLogWriterTest {
+
+    private static final int QUEUE_SIZE = 2;
+
+    @InjectedMock
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    public TransactionManager transactionManager;
+
+    @Mock
+    private AuditLogDao auditLogDao;
+
+    @Mock
+    private ManagedScheduledExecutorService executor;
+
+    @InjectMocks
+    private AuditLogWriter auditLogWriter;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.AuditLogWriteBehindQueueSize, QUEUE_SIZE),
+                MockConfigDescriptor.of(ConfigValues.AuditLogWriteBehindOverflowPolicy, "Drop"));
+    }
+
+    public static Stream<MockConfigDescriptor<?>> blockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.AuditLogWriteBehindQueueSize, QUEUE_SIZE),
+                MockConfigDescriptor.of(ConfigValues.AuditLogWriteBehindOverflowPolicy, "Block"));
+    }
+
+    public static Stream<MockConfigDescriptor<?>> writeThroughConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.AuditLogWriteBehindQueueSize, 0));
+    }
+
+    @Test
+    @MockedConfig("writeThroughConfiguration")
+    public void testWriteThrough() {
+        auditLogWriter.init();
+        AuditLog auditLog = auditLog(AuditLogSeverity.NORMAL);
+
+        auditLogWriter.write(auditLog);
+
+        verify(executor, never()).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        verify(auditLogDao).save(auditLog);
+    }
+
+    @Test
+    public void testEventsAreWrittenInBatch() {
+        startWriteBehind();
+        AuditLog first = auditLog(AuditLogSeverity.NORMAL);
+        AuditLog second = auditLog(AuditLogSeverity.ERROR);
+
+        auditLogWriter.write(first);
+        auditLogWriter.write(second);
+
+        verify(auditLogDao, never()).save(any());
+        verify(auditLogDao, never()).saveAll(anyList());
+
+        auditLogWriter.flush();
+
+        verify(auditLogDao).saveAll(Arrays.asList(first, second));
+    }
+
+    @Test
+    public void testAlertsAreWrittenRightAway() {
+        startWriteBehind();
+        AuditLog alert = auditLog(AuditLogSeverity.ALERT);
+
+        auditLogWriter.write(alert);
+
+        verify(auditLogDao).save(alert);
+        auditLogWriter.flush();
+        verify(auditLogDao, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testEventsAreDroppedWhenQueueIsFull() {
+        startWriteBehind();
+        AuditLog first = auditLog(AuditLogSeverity.NORMAL);
+        AuditLog second = auditLog(AuditLogSeverity.NORMAL);
+
+        auditLogWriter.write(first);
+        auditLogWriter.write(second);
+        auditLogWriter.write(auditLog(AuditLogSeverity.NORMAL));
+
+        assertEquals(1, auditLogWriter.getDroppedEventsCount());
+        auditLogWriter.flush();
+        verify(auditLogDao).saveAll(Arrays.asList(first, second));
+    }
+
+    @Test
+    @MockedConfig("blockConfiguration")
+    public void testWriteWaitsForRoomWhenQueueIsFull() throws InterruptedException {
+        startWriteBehind();
+        AuditLog first = auditLog(AuditLogSeverity.NORMAL);
+        AuditLog second = auditLog(AuditLogSeverity.NORMAL);
+        AuditLog third = auditLog(AuditLogSeverity.NORMAL);
+        auditLogWriter.write(first);
+        auditLogWriter.write(second);
+
+        Thread writer = new Thread(() -> auditLogWriter.write(third));
+        writer.start();
+        while (writer.getState() != Thread.State.WAITING) {
+            assertTrue(writer.isAlive());
+            Thread.sleep(10);
+        }
+        // a waiting writer holds no lock, so other events are still logged
+        auditLogWriter.write(auditLog(AuditLogSeverity.ALERT));
+
+        auditLogWriter.flush();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        auditLogWriter.flush();
+
+        assertEquals(0, auditLogWriter.getDroppedEventsCount());
+        verify(auditLogDao).saveAll(Arrays.asList(first, second));
+        verify(auditLogDao).saveAll(Collections.singletonList(third));
+    }
+
+    @Test
+    public void testFailedBatchIsWrittenOneByOne() {
+        startWriteBehind();
+        AuditLog first = auditLog(AuditLogSeverity.NORMAL);
+        AuditLog second = auditLog(AuditLogSeverity.NORMAL);
+        List<AuditLog> batch = Arrays.asList(first, second);
+        doThrow(new RuntimeException()).when(auditLogDao).saveAll(batch);
+
+        auditLogWriter.write(first);
+        auditLogWriter.write(second);
+        auditLogWriter.flush();
+
+        verify(auditLogDao).saveAll(Collections.singletonList(first));
+        verify(auditLogDao).saveAll(Collections.singletonList(second));
+    }
+
+    @Test
+    public void testQueuedEventsAreWrittenOnShutdown() {
+        startWriteBehind();
+        AuditLog auditLog = auditLog(AuditLogSeverity.WARNING);
+        auditLogWriter.write(auditLog);
+
+        auditLogWriter.shutdown();
+
+        verify(auditLogDao).saveAll(Collections.singletonList(auditLog));
+    }
+
+    private void startWriteBehind() {
+        ScheduledFuture<?> future = mock(ScheduledFuture.class);
+        doReturn(future).when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        auditLogWriter.init();
+        verify(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private static AuditLog auditLog(AuditLogSeverity severity) {
+        AuditLog auditLog = new AuditLog(AuditLogType.UNASSIGNED, severity);
+        // the events have no ids until written, tell them apart by message
+        auditLog.setMessage(Guid.newGuid().toString());
+        return auditLog;
+    }
+}
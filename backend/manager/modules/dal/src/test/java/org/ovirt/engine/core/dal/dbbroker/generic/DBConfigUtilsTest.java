@@ -0,0 +1,121 @@
+package org.ovirt.engine.core.dal.dbbroker.generic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ovirt.engine.core.common.businessentities.VdcOption;
+import org.ovirt.engine.core.common.config.ConfigCommon;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.dao.VdcOptionDao;
+
+@ExtendWith(MockitoExtension.class)
+public class DBConfigUtilsTest {
+
+    private static final String GENERAL = ConfigCommon.defaultConfigurationVersion;
+    private static final String VERSION = "4.7";
+
+    @Mock
+    private VdcOptionDao vdcOptionDao;
+
+    @InjectMocks
+    private DBConfigUtils configUtils;
+
+    @Test
+    public void testValuesAreTyped() {
+        when(vdcOptionDao.getAll()).thenReturn(Arrays.asList(
+                option(ConfigValues.StatisticsWriteBehindIntervalInSeconds, "10", GENERAL),
+                option(ConfigValues.MaxNumOfVmSockets, "16", GENERAL),
+                option(ConfigValues.MaxNumOfVmSockets, "32", VERSION)));
+
+        configUtils.refresh();
+
+        assertEquals(10, (int) configUtils.getValue(ConfigValues.StatisticsWriteBehindIntervalInSeconds, GENERAL));
+        assertEquals(16, (int) configUtils.getValue(ConfigValues.MaxNumOfVmSockets, GENERAL));
+        assertEquals(32, (int) configUtils.getValue(ConfigValues.MaxNumOfVmSockets, VERSION));
+        assertEquals(2, configUtils.getValuesForAllVersions(ConfigValues.MaxNumOfVmSockets).size());
+        assertTrue(configUtils.valueExists(ConfigValues.MaxNumOfVmSockets, VERSION));
+        assertFalse(configUtils.valueExists(ConfigValues.StatisticsWriteBehindIntervalInSeconds, VERSION));
+    }
+
+    @Test
+    public void testMissingValues() {
+        when(vdcOptionDao.getAll()).thenReturn(Collections.singletonList(
+                option(ConfigValues.MaxNumOfVmSockets, "32", VERSION)));
+
+        configUtils.refresh();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> configUtils.getValue(ConfigValues.MaxNumOfVmSockets, GENERAL));
+        assertThrows(IllegalArgumentException.class,
+                () -> configUtils.getValue(ConfigValues.SSLEnabled, GENERAL));
+        assertNull(configUtils.getValuesForAllVersions(ConfigValues.SSLEnabled));
+    }
+
+    @Test
+    public void testNullValue() {
+        when(vdcOptionDao.getAll()).thenReturn(Collections.singletonList(
+                option(ConfigValues.MaxNumOfVmSockets, null, GENERAL)));
+
+        configUtils.refresh();
+
+        assertNull(configUtils.getValue(ConfigValues.MaxNumOfVmSockets, GENERAL));
+        assertTrue(configUtils.valueExists(ConfigValues.MaxNumOfVmSockets, GENERAL));
+    }
+
+    @Test
+    public void testDependentValuesAreResolved() {
+        VdcOption pagingType = option(ConfigValues.DBPagingType, "", GENERAL);
+        when(vdcOptionDao.getAll()).thenReturn(Arrays.asList(
+                pagingType,
+                option(ConfigValues.DBEngine, "Postgres", GENERAL),
+                option(ConfigValues.PostgresPagingType, "Offset", GENERAL)));
+
+        configUtils.refresh();
+
+        assertEquals("Offset", configUtils.getValue(ConfigValues.DBPagingType, GENERAL));
+    }
+
+    @Test
+    public void testRefreshReplacesValues() {
+        when(vdcOptionDao.getAll()).thenReturn(Arrays.asList(
+                option(ConfigValues.SSLEnabled, "true", GENERAL),
+                option(ConfigValues.StatisticsWriteBehindIntervalInSeconds, "10", GENERAL)));
+        configUtils.refresh();
+
+        when(vdcOptionDao.getAll()).thenReturn(Arrays.asList(
+                option(ConfigValues.SSLEnabled, "false", GENERAL),
+                option(ConfigValues.SSLEnabled, "true", GENERAL),
+                option(ConfigValues.StatisticsWriteBehindIntervalInSeconds, "20", GENERAL),
+                option(ConfigValues.StatisticsWriteBehindIntervalInSeconds, "30", GENERAL),
+                option("TempUpgradeFlag", "true", GENERAL)));
+        configUtils.refresh();
+
+        // the last value of reloadable options and the first value of other options is used
+        assertTrue(configUtils.<Boolean> getValue(ConfigValues.SSLEnabled, GENERAL));
+        assertEquals(20, (int) configUtils.getValue(ConfigValues.StatisticsWriteBehindIntervalInSeconds, GENERAL));
+    }
+
+    private static VdcOption option(ConfigValues configValue, String value, String version) {
+        return option(configValue.name(), value, version);
+    }
+
+    private static VdcOption option(String name, String value, String version) {
+        VdcOption option = new VdcOption();
+        option.setOptionName(name);
+        option.setOptionValue(value);
+        option.setVersion(version);
+        return option;
+    }
+}
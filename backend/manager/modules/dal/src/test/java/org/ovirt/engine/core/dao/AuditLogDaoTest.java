@@ -7,8 +7,11 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -271,6 +274,23 @@ public class AuditLogDaoTest extends BaseDaoTestCase<AuditLogDao> {
         assertEquals(newAuditLog, result);
     }
 
+    /**
+     * Ensures that saving audit logs in a batch works as expected.
+     */
+    @Test
+    public void testSaveAll() {
+        AuditLog otherAuditLog = new AuditLog(AuditLogType.IRS_DISK_SPACE_LOW, AuditLogSeverity.WARNING);
+        newAuditLog.setMessage("first batched message");
+        otherAuditLog.setMessage("second batched message");
+        dao.saveAll(Arrays.asList(newAuditLog, otherAuditLog));
+
+        Map<String, Long> ids = dao.getAll(null, false).stream()
+                .filter(auditLog -> auditLog.getMessage() != null && auditLog.getMessage().endsWith("batched message"))
+                .collect(Collectors.toMap(AuditLog::getMessage, AuditLog::getAuditLogId));
+        assertEquals(2, ids.size());
+        assertTrue(ids.get(newAuditLog.getMessage()) < ids.get(otherAuditLog.getMessage()));
+    }
+
     @Test
     public void testSaveExternalEvent() {
         AuditLog newExternalEvent = new AuditLog();
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -64,6 +65,17 @@ public abstract class BaseReadDaoTestCase<ID extends Serializable, T extends Bus
         assertEquals(getEntitiesTotalCount(), result.size());
     }
 
+    /**
+     * Ensures that reading all entities one by one reads as many entities as retrieving all of them.
+     */
+    @Test
+    public void testForEach() {
+        List<T> result = new ArrayList<>();
+        dao.forEach(result::add);
+
+        assertEquals(dao.getAll().size(), result.size());
+    }
+
     protected abstract int getEntitiesTotalCount();
 
 }
@@ -74,6 +74,12 @@ public class DiskImageDaoTest extends BaseReadDaoTestCase<Guid, DiskImage, DiskI
         assertThrows(UnsupportedOperationException.class, super::testGetAll);
     }
 
+    @Override
+    @Test
+    public void testForEach() {
+        assertThrows(UnsupportedOperationException.class, super::testForEach);
+    }
+
     @Test
     public void testGetAncestorForSon() {
         DiskImage result = dao.getAncestor(existingEntity.getImageId());
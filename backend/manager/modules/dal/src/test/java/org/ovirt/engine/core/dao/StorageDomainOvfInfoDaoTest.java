@@ -46,6 +46,11 @@ public class StorageDomainOvfInfoDaoTest extends BaseGenericDaoTestCase<Guid, St
         //unneeded here
     }
 
+    @Override
+    public void testForEach() {
+        //unneeded here
+    }
+
     @Override
     public void testGet() {
         //unneeded here
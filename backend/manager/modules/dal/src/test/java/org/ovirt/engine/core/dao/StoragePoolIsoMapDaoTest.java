@@ -48,6 +48,12 @@ public class StoragePoolIsoMapDaoTest extends
         // Not supported
     }
 
+    @Disabled
+    @Override
+    public void testForEach() {
+        // Not supported
+    }
+
     @Test
     public void testGetAllStoragePoolIsoMapsForStoragePool() {
         List<StoragePoolIsoMap> result = dao.getAllForStoragePool(FixturesTool.DATA_CENTER);
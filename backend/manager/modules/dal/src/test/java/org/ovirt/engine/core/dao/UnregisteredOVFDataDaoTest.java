@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -65,6 +66,15 @@ public class UnregisteredOVFDataDaoTest extends BaseDaoTestCase<UnregisteredOVFD
                 "A Template and a VM should be fetched for the specified storage domain");
     }
 
+    @Test
+    public void testForEachEntityForStorageDomain() {
+        List<OvfEntityData> ovfEntityDataList = new ArrayList<>();
+        dao.forEachForStorageDomainByEntityType(FixturesTool.STORAGE_DOMAIN_NFS2_1, null, ovfEntityDataList::add);
+        assertEquals(dao.getAllForStorageDomainByEntityType(FixturesTool.STORAGE_DOMAIN_NFS2_1, null),
+                ovfEntityDataList,
+                "The same entities should be streamed as fetched for the specified storage domain");
+    }
+
     @Test
     public void testGetAllEntitiesForStorageDomainWithNoUnregisteredEntities() {
         List<OvfEntityData> ovfEntityDataList =
@@ -60,6 +60,12 @@ public class VdsDynamicDaoTest extends BaseGenericDaoTestCase<Guid, VdsDynamic,
         // Not Supported
     }
 
+    @Disabled
+    @Override
+    public void testForEach() {
+        // Not Supported
+    }
+
     @Test
     public void testUpdateStatus() {
         VdsDynamic before = dao.get(FixturesTool.VDS_GLUSTER_SERVER2);
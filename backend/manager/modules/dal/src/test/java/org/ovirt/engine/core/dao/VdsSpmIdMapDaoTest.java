@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
 
@@ -65,6 +66,12 @@ public class VdsSpmIdMapDaoTest extends BaseGenericDaoTestCase<Guid, VdsSpmIdMap
         }
     }
 
+    @Test
+    @Override
+    public void testForEach() {
+        assertThrows(UnsupportedOperationException.class, () -> dao.forEach(e -> { }));
+    }
+
     @Test
     public void testGetVdsSpmIdMapForStoragePoolAndVdsId() {
         VdsSpmIdMap result = dao.get(existingEntity.getStoragePoolId(), existingEntity.getVdsSpmId());
@@ -54,6 +54,12 @@ public class VdsStaticDaoTest extends BaseGenericDaoTestCase<Guid, VdsStatic, Vd
         // Not supported
     }
 
+    @Disabled
+    @Override
+    public void testForEach() {
+        // Not supported
+    }
+
     /**
      * Ensures all the right VdsStatic instances are returned.
      */
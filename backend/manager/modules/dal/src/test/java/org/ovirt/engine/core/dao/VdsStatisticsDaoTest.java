@@ -1,6 +1,11 @@
 package org.ovirt.engine.core.dao;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.businessentities.VdsStatistics;
 import org.ovirt.engine.core.compat.Guid;
 
@@ -32,9 +37,22 @@ public class VdsStatisticsDaoTest extends BaseGenericDaoTestCase<Guid, VdsStatis
         return 5;
     }
 
+    @Test
+    public void testUpdateAllInBatch() {
+        updateExistingEntity();
+        dao.updateAllInBatch(Collections.singletonList(existingEntity));
+        assertEquals(existingEntity, dao.get(getExistingEntityId()));
+    }
+
     @Disabled
     @Override
     public void testGetAll() {
         // Not Supported
     }
+
+    @Disabled
+    @Override
+    public void testForEach() {
+        // Not Supported
+    }
 }
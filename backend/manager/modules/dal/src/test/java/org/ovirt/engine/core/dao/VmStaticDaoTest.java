@@ -164,6 +164,12 @@ public class VmStaticDaoTest extends BaseGenericDaoTestCase<Guid, VmStatic, VmSt
         assertThrows(UnsupportedOperationException.class, () -> dao.getAll());
     }
 
+    @Test
+    @Override
+    public void testForEach() {
+        assertThrows(UnsupportedOperationException.class, () -> dao.forEach(e -> { }));
+    }
+
     @Test
     @Override
     public void testRemove() {
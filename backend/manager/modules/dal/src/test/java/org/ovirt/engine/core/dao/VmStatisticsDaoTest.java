@@ -51,6 +51,12 @@ public class VmStatisticsDaoTest extends BaseGenericDaoTestCase<Guid, VmStatisti
         assertThrows(UnsupportedOperationException.class, () -> dao.getAll());
     }
 
+    @Test
+    @Override
+    public void testForEach() {
+        assertThrows(UnsupportedOperationException.class, () -> dao.forEach(e -> { }));
+    }
+
     @Test
     public void testUpdateAll() {
         VmStatistics existingVm = dao.get(FixturesTool.VM_RHEL5_POOL_57);
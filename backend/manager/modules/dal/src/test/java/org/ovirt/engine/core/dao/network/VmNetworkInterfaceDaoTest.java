@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -168,6 +170,30 @@ public class VmNetworkInterfaceDaoTest extends BaseDaoTestCase<VmNetworkInterfac
         }
     }
 
+    /**
+     * Ensures that the interfaces of all the specified VMs are returned.
+     */
+    @Test
+    public void testGetAllInterfacesForVms() {
+        List<VmNetworkInterface> result = dao.getAllForVms(Arrays.asList(VM_ID, Guid.newGuid()), null, false);
+
+        assertEquals(dao.getAllForVm(VM_ID).size(), result.size());
+        for (VmNetworkInterface iface : result) {
+            assertEquals(VM_ID, iface.getVmId());
+        }
+    }
+
+    /**
+     * Ensures that no interfaces are returned for an unprivileged user
+     */
+    @Test
+    public void testGetAllInterfacesForVmsFilteredWithoutPermissions() {
+        List<VmNetworkInterface> result =
+                dao.getAllForVms(Collections.singletonList(VM_ID), UNPRIVILEGED_USER_ID, true);
+
+        assertTrue(result.isEmpty());
+    }
+
     /**
      * Ensures that the VMs for a privileged user are returned
      */
@@ -0,0 +1,97 @@
+package org.ovirt.engine.core.bll.network.macpool;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.math.LongRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p> Benchmark's the MAC pool storage {@link MacsStorage}, as used when many VMs are created at once.</p>
+ * <p> {@code allocateAndFree} allocates a batch of MACs from a pool having many ranges and frees them again,
+ * {@code useAndFreeCustomMacs} uses and frees MACs which are outside of all the ranges of the pool and
+ * {@code isMacInUse} looks up MACs spread over all the ranges.</p>
+ *
+ * The benchmark lives in the package of {@link MacsStorage} since the storage is package private.
+ *
+ * @see MacsStorage
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MacsStorageBenchmark {
+
+    private static final long FIRST_MAC = 0x001A4A160000L;
+    private static final int MACS_PER_RANGE = 1024;
+    private static final int GAP_BETWEEN_RANGES = 1024;
+    private static final int BATCH_SIZE = 1000;
+
+    @Benchmark
+    public void allocateAndFree(BenchmarkState state, Blackhole blackhole) {
+        List<Long> macs = state.macsStorage.allocateAvailableMacs(BATCH_SIZE);
+        for (Long mac : macs) {
+            state.macsStorage.freeMac(mac);
+        }
+        blackhole.consume(macs);
+    }
+
+    @Benchmark
+    public void useAndFreeCustomMacs(BenchmarkState state, Blackhole blackhole) {
+        for (long mac : state.customMacs) {
+            blackhole.consume(state.macsStorage.useMac(mac));
+        }
+        for (long mac : state.customMacs) {
+            state.macsStorage.freeMac(mac);
+        }
+    }
+
+    @Benchmark
+    public void isMacInUse(BenchmarkState state, Blackhole blackhole) {
+        for (long mac : state.lookedUpMacs) {
+            blackhole.consume(state.macsStorage.isMacInUse(mac));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({"1", "16", "64"})
+        private int numberOfRanges;
+
+        private MacsStorage macsStorage;
+        private long[] customMacs;
+        private long[] lookedUpMacs;
+
+        @Setup
+        public void setup() {
+            macsStorage = new MacsStorage(false, mac -> false);
+            for (int i = 0; i < numberOfRanges; i++) {
+                long from = rangeStart(i);
+                macsStorage.addRange(new Range(new LongRange(from, from + MACS_PER_RANGE - 1)));
+            }
+
+            customMacs = new long[BATCH_SIZE];
+            lookedUpMacs = new long[BATCH_SIZE];
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                // the gaps between the ranges are not part of the pool
+                customMacs[i] = rangeStart(i % numberOfRanges) + MACS_PER_RANGE + i % GAP_BETWEEN_RANGES;
+                lookedUpMacs[i] = rangeStart(i % numberOfRanges) + i % MACS_PER_RANGE;
+            }
+        }
+
+        private static long rangeStart(int rangeIndex) {
+            return FIRST_MAC + (long) rangeIndex * (MACS_PER_RANGE + GAP_BETWEEN_RANGES);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * <p> Benchmark's reading a row through {@link SimpleJdbcCallsHandler}, which binds the parameters to the cached
+ * {@link ReadCallTemplate} of the procedure, against executing the call through a cached {@link SimpleJdbcCall}, which
+ * matches the parameters by name on each call.</p>
+ *
+ * <p> The benchmark needs a PostgreSQL database with the engine schema, like the one of the DAO tests. The connection
+ * is set by the {@code benchmarks.db.url}, {@code benchmarks.db.user} and {@code benchmarks.db.pass} properties and
+ * the read VM by {@code benchmarks.db.vmId}.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimpleJdbcCallsHandlerBenchmark {
+
+    private static final String PROCEDURE_NAME = "GetVmByVmGuid";
+    private static final String RETURN_VALUE_PARAMETER = "RETURN_VALUE";
+    private static final RowMapper<Object> ROW_MAPPER = (rs, rowNum) -> rs.getObject(1);
+
+    @Benchmark
+    public void readCallTemplate(BenchmarkState state, Blackhole blackhole) {
+        blackhole.consume(state.handler.executeReadList(PROCEDURE_NAME, ROW_MAPPER, state.createParameterSource()));
+    }
+
+    @Benchmark
+    public void simpleJdbcCall(BenchmarkState state, Blackhole blackhole) {
+        MapSqlParameterSource parameterSource = state.createParameterSource();
+        state.call.returningResultSet(RETURN_VALUE_PARAMETER, ROW_MAPPER);
+        blackhole.consume(state.call.execute(parameterSource).get(RETURN_VALUE_PARAMETER));
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        private SingleConnectionDataSource dataSource;
+        private DbEngineDialect dialect;
+        private SimpleJdbcCallsHandler handler;
+        private SimpleJdbcCall call;
+        private UUID vmId;
+
+        @Setup
+        public void setup() {
+            String url = System.getProperty("benchmarks.db.url", "jdbc:postgresql://localhost/engine_dao_tests");
+            String user = System.getProperty("benchmarks.db.user", "engine");
+            String pass = System.getProperty("benchmarks.db.pass", "engine");
+            vmId = UUID.fromString(System.getProperty("benchmarks.db.vmId", "77296e00-0cad-4e5a-9299-008a7b6f4355"));
+
+            dataSource = new SingleConnectionDataSource(url, user, pass, true);
+            dialect = new PostgresDbEngineDialect();
+            JdbcTemplate jdbcTemplate = dialect.createJdbcTemplate(dataSource);
+            handler = new SimpleJdbcCallsHandler(dialect, jdbcTemplate);
+
+            call = (SimpleJdbcCall) dialect.createJdbcCallForQuery(jdbcTemplate).withProcedureName(PROCEDURE_NAME);
+            call.getInParameterNames().addAll(
+                    SqlParameterSourceUtils.extractCaseInsensitiveParameterNames(createParameterSource()).keySet());
+            call.compile();
+        }
+
+        private MapSqlParameterSource createParameterSource() {
+            return new CustomMapSqlParameterSource(dialect)
+                    .addValue("vm_guid", vmId)
+                    .addValue("user_id", null)
+                    .addValue("is_filtered", false);
+        }
+
+        @TearDown
+        public void teardown() {
+            dataSource.destroy();
+        }
+    }
+}
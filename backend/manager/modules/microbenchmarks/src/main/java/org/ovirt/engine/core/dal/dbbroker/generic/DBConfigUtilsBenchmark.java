@@ -0,0 +1,114 @@
+package org.ovirt.engine.core.dal.dbbroker.generic;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.common.businessentities.VdcOption;
+import org.ovirt.engine.core.common.config.ConfigCommon;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.dao.VdcOptionDao;
+
+/**
+ * <p> Benchmark's reading config values from {@link DBConfigUtils}, which keeps the values in a snapshot indexed by the
+ * option, against looking them up in maps keyed by the name of the option and by the version, the way the cache used
+ * to be kept.</p>
+ *
+ * <p> {@code getValue} reads values of the default version, as read by most callers, and {@code getValueOfVersion}
+ * reads values of a cluster version.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DBConfigUtilsBenchmark {
+
+    private static final String VERSION = "4.7";
+    private static final ConfigValues[] READ_OPTIONS = {
+        ConfigValues.VdsRefreshRate,
+        ConfigValues.NumberVmRefreshesBeforeSave,
+        ConfigValues.MaxNumOfVmSockets,
+        ConfigValues.TimeoutToResetVdsInSeconds,
+        ConfigValues.SpmCommandFailOverRetries,
+    };
+
+    @Benchmark
+    public void getValue(BenchmarkState state, Blackhole blackhole) {
+        for (ConfigValues option : READ_OPTIONS) {
+            blackhole.consume(state.configUtils.<Object> getValue(option, ConfigCommon.defaultConfigurationVersion));
+        }
+    }
+
+    @Benchmark
+    public void getValueByName(BenchmarkState state, Blackhole blackhole) {
+        for (ConfigValues option : READ_OPTIONS) {
+            blackhole.consume(state.valuesByName.get(option.toString()).get(ConfigCommon.defaultConfigurationVersion));
+        }
+    }
+
+    @Benchmark
+    public void getValueOfVersion(BenchmarkState state, Blackhole blackhole) {
+        for (ConfigValues option : READ_OPTIONS) {
+            blackhole.consume(state.configUtils.<Object> getValue(option, VERSION));
+        }
+    }
+
+    @Benchmark
+    public void getValueOfVersionByName(BenchmarkState state, Blackhole blackhole) {
+        for (ConfigValues option : READ_OPTIONS) {
+            blackhole.consume(state.valuesByName.get(option.toString()).get(VERSION));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        private DBConfigUtils configUtils;
+        private Map<String, Map<String, Object>> valuesByName;
+
+        @Setup
+        public void setup() throws ReflectiveOperationException {
+            List<VdcOption> options = new ArrayList<>();
+            for (ConfigValues option : READ_OPTIONS) {
+                options.add(option(option, "10", ConfigCommon.defaultConfigurationVersion));
+                options.add(option(option, "20", VERSION));
+            }
+            VdcOptionDao vdcOptionDao = (VdcOptionDao) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { VdcOptionDao.class },
+                    (proxy, method, args) -> "getAll".equals(method.getName()) ? options : null);
+
+            configUtils = new DBConfigUtils();
+            Field daoField = DBConfigUtils.class.getDeclaredField("vdcOptionDao");
+            daoField.setAccessible(true);
+            daoField.set(configUtils, vdcOptionDao);
+            configUtils.refresh();
+
+            valuesByName = new HashMap<>();
+            for (ConfigValues option : READ_OPTIONS) {
+                valuesByName.put(option.toString(), new HashMap<>(configUtils.getValuesForAllVersions(option)));
+            }
+        }
+
+        private static VdcOption option(ConfigValues configValue, String value, String version) {
+            VdcOption option = new VdcOption();
+            option.setOptionName(configValue.name());
+            option.setOptionValue(value);
+            option.setVersion(version);
+            return option;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.ovirt.engine.core.utils.ovf.xml;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.uutils.xml.SecureDocumentBuilderFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+/**
+ * <p> Benchmark's reading the items of an OVF the way the OVF readers do, loading the document and evaluating a few
+ * XPath expressions for each of its items, through {@link XmlDocument}, against creating the document builder and the
+ * XPath objects on each load and evaluation.</p>
+ *
+ * <p> The OVF is generated with the given number of items, each having the properties of a disk.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class XmlDocumentBenchmark {
+
+    private static final String OVF_URI = "http://schemas.dmtf.org/ovf/envelope/1/";
+    private static final String RASD_URI =
+            "http://schemas.dmtf.org/wbem/wscim/1/cim-schema/2/CIM_ResourceAllocationSettingData";
+    private static final String[] ITEM_PROPERTIES = {
+        "rasd:InstanceId", "rasd:ResourceType", "rasd:Parent", "rasd:StorageId", "rasd:HostResource"
+    };
+
+    @Benchmark
+    public void xmlDocument(BenchmarkState state, Blackhole blackhole) throws Exception {
+        XmlDocument document = new XmlDocument(state.ovf);
+        for (XmlNode item : document.selectNodes("//*/Item", state.namespaces)) {
+            for (String property : ITEM_PROPERTIES) {
+                blackhole.consume(item.selectSingleNode(property, state.namespaces));
+            }
+        }
+    }
+
+    @Benchmark
+    public void newFactories(BenchmarkState state, Blackhole blackhole) throws Exception {
+        DocumentBuilderFactory factory = SecureDocumentBuilderFactory.newDocumentBuilderFactory();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(state.ovf)));
+        NodeList items = (NodeList) newXPath(state.namespaces).evaluate("//*/Item", document, XPathConstants.NODESET);
+        for (int i = 0; i < items.getLength(); i++) {
+            for (String property : ITEM_PROPERTIES) {
+                blackhole.consume((Node) newXPath(state.namespaces).evaluate(property,
+                        items.item(i),
+                        XPathConstants.NODE));
+            }
+        }
+    }
+
+    private static XPath newXPath(XmlNamespaceManager namespaces) {
+        XPath xPath = XPathFactory.newInstance().newXPath();
+        xPath.setNamespaceContext(namespaces);
+        return xPath;
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        @Param({"10", "100"})
+        private int numberOfItems;
+
+        private String ovf;
+        private XmlNamespaceManager namespaces;
+
+        @Setup
+        public void setup() {
+            namespaces = new XmlNamespaceManager();
+            namespaces.addNamespace("ovf", OVF_URI);
+            namespaces.addNamespace("rasd", RASD_URI);
+
+            StringBuilder builder = new StringBuilder()
+                    .append("<ovf:Envelope xmlns:ovf=\"").append(OVF_URI)
+                    .append("\" xmlns:rasd=\"").append(RASD_URI).append("\">")
+                    .append("<Content><Section>");
+            for (int i = 0; i < numberOfItems; i++) {
+                builder.append("<Item>")
+                        .append("<rasd:InstanceId>").append(i).append("</rasd:InstanceId>")
+                        .append("<rasd:ResourceType>17</rasd:ResourceType>")
+                        .append("<rasd:Parent>00000000-0000-0000-0000-000000000000</rasd:Parent>")
+                        .append("<rasd:StorageId>").append(i).append("</rasd:StorageId>")
+                        .append("<rasd:HostResource>disk/").append(i).append("</rasd:HostResource>")
+                        .append("</Item>");
+            }
+            ovf = builder.append("</Section></Content></ovf:Envelope>").toString();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.ovirt.engine.core.utils.serialization.json;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.common.action.ActionParametersBase;
+import org.ovirt.engine.core.common.action.AddVmParameters;
+import org.ovirt.engine.core.common.action.RunVmParams;
+import org.ovirt.engine.core.common.businessentities.VmStatic;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * <p> Benchmarks serializing and deserializing command parameters the way they are persisted with their command,
+ * formatted by {@link JsonObjectSerializer#serialize(Object)} against compact by
+ * {@link JsonObjectSerializer#serializeCompact(Object)}.</p>
+ *
+ * <p> The parameters are a small {@link RunVmParams}, holding a few scalar values, and an {@link AddVmParameters} of a
+ * VM copied from a template, whose disk and nic id mappings hold 200 entries each. The disks and nics themselves are
+ * not part of the parameters.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonObjectSerializerBenchmark {
+
+    private static final int NUMBER_OF_DEVICES = 200;
+
+    @Benchmark
+    public void serializeFormatted(BenchmarkState state, Blackhole blackhole) {
+        blackhole.consume(state.serializer.serialize(state.parameters));
+    }
+
+    @Benchmark
+    public void serializeCompact(BenchmarkState state, Blackhole blackhole) {
+        blackhole.consume(state.serializer.serializeCompact(state.parameters));
+    }
+
+    @Benchmark
+    public void deserializeFormatted(BenchmarkState state, Blackhole blackhole) {
+        blackhole.consume(state.deserializer.deserialize(state.formatted, state.parameters.getClass()));
+    }
+
+    @Benchmark
+    public void deserializeCompact(BenchmarkState state, Blackhole blackhole) {
+        blackhole.consume(state.deserializer.deserialize(state.compact, state.parameters.getClass()));
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({"RunVmParams", "AddVmParameters"})
+        private String parametersType;
+
+        private final JsonObjectSerializer serializer = new JsonObjectSerializer();
+        private final JsonObjectDeserializer deserializer = new JsonObjectDeserializer();
+        private ActionParametersBase parameters;
+        private String formatted;
+        private String compact;
+
+        @Setup
+        public void setup() {
+            parameters = "RunVmParams".equals(parametersType) ? createRunVmParams() : createAddVmParameters();
+            formatted = serializer.serialize(parameters);
+            compact = serializer.serializeCompact(parameters);
+        }
+
+        private static RunVmParams createRunVmParams() {
+            RunVmParams params = new RunVmParams(Guid.newGuid());
+            params.setRunAsStateless(true);
+            params.setDiskPath("/rhev/data-center/mnt/iso/boot.iso");
+            params.setCorrelationId("benchmark");
+            return params;
+        }
+
+        private static AddVmParameters createAddVmParameters() {
+            VmStatic vmStatic = new VmStatic();
+            vmStatic.setId(Guid.newGuid());
+            vmStatic.setName("benchmark");
+            vmStatic.setDescription("A VM with many devices");
+            vmStatic.setClusterId(Guid.newGuid());
+            vmStatic.setVmtGuid(Guid.Empty);
+            vmStatic.setNumOfSockets(4);
+            vmStatic.setCpuPerSocket(4);
+            vmStatic.setMemSizeMb(16384);
+
+            AddVmParameters params = new AddVmParameters(vmStatic);
+            params.setStorageDomainId(Guid.newGuid());
+            params.setCorrelationId("benchmark");
+            params.setSrcDiskIdToTargetDiskIdMapping(createMapping());
+            params.setSrcVmNicIdToTargetVmNicIdMapping(createMapping());
+            return params;
+        }
+
+        private static Map<Guid, Guid> createMapping() {
+            Map<Guid, Guid> mapping = new HashMap<>();
+            for (int i = 0; i < NUMBER_OF_DEVICES; i++) {
+                mapping.put(Guid.newGuid(), Guid.newGuid());
+            }
+            return mapping;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.ovirt.engine.core.vdsbroker.vdsbroker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VmDynamic;
+import org.ovirt.engine.core.compat.Guid;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p> Benchmarks building the entities of the VMs reported by a single {@code Host.getAllVmStats} poll, the way
+ * {@link VmStatsVdsBrokerCommand} builds them from the decomposed response.</p>
+ *
+ * <p> The response is recorded in {@code vmstats.json} for a single VM and is repeated with different ids for all the
+ * VMs of the host. It is decomposed once, with the same settings the JSON-RPC client uses, so the benchmark measures
+ * the conversion of the response maps only. Run it with {@code -prof gc} to see the allocation rate.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VdsBrokerObjectsBuilderBenchmark {
+
+    private static final int NUMBER_OF_VMS = 100;
+
+    @Benchmark
+    public void buildVms(BenchmarkState state, Blackhole blackhole) {
+        VdsBrokerObjectsBuilder builder = state.builder;
+        for (Map<String, Object> struct : state.vms) {
+            VmDynamic vmDynamic = builder.buildVMDynamicData(struct, state.host);
+            blackhole.consume(vmDynamic);
+            blackhole.consume(builder.getVmDevicesHash(struct));
+            blackhole.consume(builder.buildVMStatisticsData(struct));
+            blackhole.consume(builder.buildVmJobsData(struct));
+            blackhole.consume(builder.buildInterfaceStatisticsData(struct));
+            blackhole.consume(builder.buildVmBalloonInfo(struct));
+            blackhole.consume(builder.buildVmGuestAgentInterfacesData(vmDynamic.getId(), struct));
+            blackhole.consume(builder.buildVmLunDisksData(struct));
+            blackhole.consume(builder.buildVmDiskStatistics(struct));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        private VdsBrokerObjectsBuilder builder;
+        private VDS host;
+        private Map<String, Object>[] vms;
+
+        @Setup
+        @SuppressWarnings("unchecked")
+        public void setup() throws IOException {
+            ObjectMapper mapper = new ObjectMapper()
+                    .configure(DeserializationFeature.USE_JAVA_ARRAY_FOR_JSON_ARRAY, true);
+            vms = new Map[NUMBER_OF_VMS];
+            for (int i = 0; i < NUMBER_OF_VMS; i++) {
+                try (InputStream in = getClass().getClassLoader().getResourceAsStream("vmstats.json")) {
+                    Map<String, Object> vm = mapper.readValue(in, new TypeReference<HashMap<String, Object>>() { });
+                    vm.put(VdsProperties.vm_guid, Guid.newGuid().toString());
+                    vms[i] = vm;
+                }
+            }
+
+            builder = new VdsBrokerObjectsBuilder();
+            host = new VDS();
+            host.setHostName("host.example.com");
+        }
+    }
+}
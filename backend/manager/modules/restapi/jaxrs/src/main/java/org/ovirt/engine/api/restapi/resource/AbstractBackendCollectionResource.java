@@ -9,6 +9,7 @@ import java.util.Set;
 
 import javax.ws.rs.core.Response;
 
+import org.apache.commons.lang.StringUtils;
 import org.ovirt.engine.api.model.ActionableResource;
 import org.ovirt.engine.api.model.BaseResource;
 import org.ovirt.engine.api.model.CreationStatus;
@@ -33,6 +34,7 @@ public abstract class AbstractBackendCollectionResource<R extends BaseResource,
     private static final String BLOCKING_EXPECTATION = "201-created";
     private static final String CREATION_STATUS_REL = "creation_status";
     public static final String FROM_CONSTRAINT_PARAMETER = "from";
+    public static final String AFTER_CONSTRAINT_PARAMETER = "after";
     public static final String CASE_SENSITIVE_CONSTRAINT_PARAMETER = "case_sensitive";
     private static final Logger log = LoggerFactory.getLogger(AbstractBackendCollectionResource.class);
 
@@ -54,12 +56,16 @@ public abstract class AbstractBackendCollectionResource<R extends BaseResource,
         SearchParameters searchParams = new SearchParameters(constraint, searchType);
         boolean caseSensitive = ParametersHelper.getBooleanParameter(httpHeaders, uriInfo, CASE_SENSITIVE_CONSTRAINT_PARAMETER, true, false);
         int from = ParametersHelper.getIntegerParameter(httpHeaders, uriInfo, FROM_CONSTRAINT_PARAMETER, -1, -1);
+        String after = ParametersHelper.getParameter(httpHeaders, uriInfo, AFTER_CONSTRAINT_PARAMETER);
         int max = ParametersHelper.getIntegerParameter(httpHeaders, uriInfo, MAX, Integer.MAX_VALUE, Integer.MAX_VALUE);
 
         searchParams.setCaseSensitive(caseSensitive);
         if (from != -1) {
             searchParams.setSearchFrom(from);
         }
+        if (StringUtils.isNotEmpty(after)) {
+            searchParams.setSearchAfter(after);
+        }
         searchParams.setMaxCount(max);
         return searchParams;
     }
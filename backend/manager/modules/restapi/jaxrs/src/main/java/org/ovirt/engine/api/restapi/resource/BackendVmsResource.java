@@ -77,8 +77,10 @@ import org.ovirt.engine.core.common.businessentities.VmRngDevice;
 import org.ovirt.engine.core.common.businessentities.VmStatic;
 import org.ovirt.engine.core.common.businessentities.VmTemplate;
 import org.ovirt.engine.core.common.businessentities.VmWatchdog;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkInterface;
 import org.ovirt.engine.core.common.businessentities.storage.BaseDisk;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
+import org.ovirt.engine.core.common.businessentities.storage.DiskVmElement;
 import org.ovirt.engine.core.common.interfaces.SearchType;
 import org.ovirt.engine.core.common.osinfo.OsRepository;
 import org.ovirt.engine.core.common.queries.GetFilteredAndSortedParameters;
@@ -114,6 +116,8 @@ public class BackendVmsResource extends
     private static final String HOST_DEVICES = "host_devices";
     private static final String WATCHDOGS = "watchdogs";
     private static final String SNAPSHOTS = "snapshots";
+    private static final String NICS = "nics";
+    private static final String DISK_ATTACHMENTS = "disk_attachments";
 
     private Map<String, VM> vmIdToVm = Collections.emptyMap();
 
@@ -794,13 +798,54 @@ public class BackendVmsResource extends
             vms.getVms().forEach(this::setSnapshots);
             node.setFollowed(true);
         });
+        // the links below are fetched for all the VMs by a single query, the links of the fetched entities are
+        // followed one by one by the link follower
+        findNics(linksTree).ifPresent(node -> {
+            Vms vms = (Vms) entity;
+            Map<Guid, List<VmNetworkInterface>> nics = getNics(vms).stream()
+                    .collect(Collectors.groupingBy(VmNetworkInterface::getVmId));
+            vms.getVms().forEach(vm -> setNics(vm,
+                    nics.getOrDefault(asGuid(vm.getId()), Collections.emptyList())));
+            node.setFollowed(true);
+        });
+        findDiskAttachments(linksTree).ifPresent(node -> {
+            Vms vms = (Vms) entity;
+            Map<Guid, List<DiskVmElement>> diskVmElements = getDiskVmElements(vms).stream()
+                    .collect(Collectors.groupingBy(DiskVmElement::getVmId));
+            vms.getVms().forEach(vm -> setDiskAttachments(vm,
+                    diskVmElements.getOrDefault(asGuid(vm.getId()), Collections.emptyList())));
+            node.setFollowed(true);
+        });
+    }
+
+    private List<Guid> getVmIds(Vms vms) {
+        return vms.getVms().stream().map(Vm::getId).map(this::asGuid).collect(Collectors.toList());
+    }
+
+    private List<VmNetworkInterface> getNics(Vms vms) {
+        return getBackendCollection(VmNetworkInterface.class,
+                QueryType.GetVmInterfacesByVmIds,
+                new IdsQueryParameters(getVmIds(vms)));
+    }
+
+    private void setNics(Vm vm, List<VmNetworkInterface> nics) {
+        vm.setNics(inject(new BackendVmNicsResource(asGuid(vm.getId()), nics)).list());
+    }
+
+    private List<DiskVmElement> getDiskVmElements(Vms vms) {
+        return getBackendCollection(DiskVmElement.class,
+                QueryType.GetDiskVmElementsByVmIds,
+                new IdsQueryParameters(getVmIds(vms)));
+    }
+
+    private void setDiskAttachments(Vm vm, List<DiskVmElement> diskVmElements) {
+        vm.setDiskAttachments(inject(new BackendDiskAttachmentsResource(asGuid(vm.getId()), diskVmElements)).list());
     }
 
     private List<VmWatchdog> getWatchdogs(Vms vms) {
-        List<Guid> vmIds = vms.getVms().stream().map(Vm::getId).map(this::asGuid).collect(Collectors.toList());
         return getEntity(List.class,
                 QueryType.GetWatchdogs,
-                new IdsQueryParameters(vmIds),
+                new IdsQueryParameters(getVmIds(vms)),
                 "GetWatchdogs", true);
     }
 
@@ -856,6 +901,14 @@ public class BackendVmsResource extends
         return findNode(linksTree, SNAPSHOTS);
     }
 
+    private Optional<LinksTreeNode> findNics(LinksTreeNode linksTree) {
+        return findNode(linksTree, NICS);
+    }
+
+    private Optional<LinksTreeNode> findDiskAttachments(LinksTreeNode linksTree) {
+        return findNode(linksTree, DISK_ATTACHMENTS);
+    }
+
     protected InstanceType lookupInstance(Template template) {
         return getEntity(InstanceType.class,
                 QueryType.GetInstanceType,
@@ -40,7 +40,10 @@ import org.ovirt.engine.api.model.StorageDomain;
 import org.ovirt.engine.api.model.Template;
 import org.ovirt.engine.api.model.Vm;
 import org.ovirt.engine.api.model.VmPlacementPolicy;
+import org.ovirt.engine.api.model.Vms;
 import org.ovirt.engine.api.restapi.logging.Messages;
+import org.ovirt.engine.api.restapi.resource.utils.LinkFollower;
+import org.ovirt.engine.api.restapi.resource.utils.LinksTreeNode;
 import org.ovirt.engine.core.common.action.ActionType;
 import org.ovirt.engine.core.common.action.AddVmFromSnapshotParameters;
 import org.ovirt.engine.core.common.action.AddVmParameters;
@@ -61,7 +64,9 @@ import org.ovirt.engine.core.common.businessentities.VmInit;
 import org.ovirt.engine.core.common.businessentities.VmPayload;
 import org.ovirt.engine.core.common.businessentities.VmStatistics;
 import org.ovirt.engine.core.common.businessentities.VmType;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkInterface;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
+import org.ovirt.engine.core.common.businessentities.storage.DiskVmElement;
 import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.interfaces.SearchType;
 import org.ovirt.engine.core.common.queries.GetVmFromConfigurationQueryParameters;
@@ -1201,6 +1206,48 @@ public class BackendVmsResourceTest
         verifyCollection(getCollection());
     }
 
+    @Test
+    public void testFollowNicsAndDiskAttachmentsOfAllVms() {
+        collection.setUriInfo(setUpBasicUriExpectations());
+        Vms vms = new Vms();
+        List<VmNetworkInterface> nics = new ArrayList<>();
+        List<DiskVmElement> diskVmElements = new ArrayList<>();
+        for (int i = 0; i < NAMES.length; i++) {
+            Vm vm = new Vm();
+            vm.setId(GUIDS[i].toString());
+            vms.getVms().add(vm);
+            VmNetworkInterface nic = new VmNetworkInterface();
+            nic.setId(Guid.newGuid());
+            nic.setVmId(GUIDS[i]);
+            nic.setName(NAMES[i]);
+            nic.setType(0);
+            nics.add(nic);
+        }
+        diskVmElements.add(new DiskVmElement(GUIDS[0], GUIDS[1]));
+        setUpEntityQueryExpectations(QueryType.GetVmInterfacesByVmIds,
+                IdsQueryParameters.class,
+                new String[] { "Ids" },
+                new Object[] { Arrays.asList(GUIDS).subList(0, NAMES.length) },
+                nics);
+        setUpEntityQueryExpectations(QueryType.GetDiskVmElementsByVmIds,
+                IdsQueryParameters.class,
+                new String[] { "Ids" },
+                new Object[] { Arrays.asList(GUIDS).subList(0, NAMES.length) },
+                diskVmElements);
+
+        LinksTreeNode linksTree = new LinkFollower().createLinksTree(Vms.class, "nics,disk_attachments");
+        collection.follow(vms, linksTree);
+
+        assertTrue(linksTree.getChild("nics").get().isFollowed());
+        assertTrue(linksTree.getChild("disk_attachments").get().isFollowed());
+        for (int i = 0; i < NAMES.length; i++) {
+            Vm vm = vms.getVms().get(i);
+            assertEquals(1, vm.getNics().getNics().size());
+            assertEquals(NAMES[i], vm.getNics().getNics().get(0).getName());
+            assertEquals(i == 1 ? 1 : 0, vm.getDiskAttachments().getDiskAttachments().size());
+        }
+    }
+
     @Test
     public void testListAllContentHeader() throws Exception {
         UriInfo uriInfo = setUpUriExpectations(null);
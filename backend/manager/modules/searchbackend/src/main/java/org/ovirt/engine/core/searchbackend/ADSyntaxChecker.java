@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.searchbackend;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -266,6 +267,14 @@ public class ADSyntaxChecker implements ISyntaxChecker {
         return retval;
     }
 
+    /**
+     * Directory queries are passed to the directory as they are, so they have no bind parameters.
+     */
+    @Override
+    public ParameterizedQuery generateParameterizedQueryFromSyntaxContainer(SyntaxContainer syntax, boolean isSafe) {
+        return new ParameterizedQuery(generateQueryFromSyntaxContainer(syntax, isSafe), Collections.emptyList());
+    }
+
     private static String generateAdQueryFromSyntaxContainer(SyntaxContainer syntax) {
         StringBuilder retval = new StringBuilder();
         if (syntax.getvalid()) {
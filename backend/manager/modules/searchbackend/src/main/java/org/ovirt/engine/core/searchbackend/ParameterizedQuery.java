@@ -0,0 +1,96 @@
+package org.ovirt.engine.core.searchbackend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.ovirt.engine.core.common.errors.SqlInjectionException;
+
+/**
+ * A search query whose values are bind parameters: the SQL holds a {@code ?} placeholder for each value and the values
+ * are kept apart, in the order of their placeholders.
+ */
+public class ParameterizedQuery {
+    private static final char QUOTE = '\'';
+    private static final char DOUBLE_QUOTE = '"';
+    private static final char PLACEHOLDER = '?';
+
+    private final String sql;
+    private final List<String> parameters;
+
+    public ParameterizedQuery(String sql, List<String> parameters) {
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * Replaces each string literal of the given SQL by a placeholder and keeps the value of the literal as its
+     * parameter. The search text can't contain quotes, so every value of the search ends up in a literal of its own.
+     *
+     * @throws SqlInjectionException
+     *             if a literal isn't closed, or the SQL already contains a placeholder outside a literal
+     */
+    public static ParameterizedQuery fromSql(String sql) {
+        StringBuilder template = new StringBuilder(sql.length());
+        List<String> parameters = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == QUOTE) {
+                StringBuilder value = new StringBuilder();
+                i = readQuoted(sql, i, value);
+                template.append(PLACEHOLDER);
+                parameters.add(value.toString());
+            } else if (c == DOUBLE_QUOTE) {
+                // quoted identifiers are kept as they are
+                int end = readQuoted(sql, i, new StringBuilder());
+                template.append(sql, i, end);
+                i = end;
+            } else if (c == PLACEHOLDER) {
+                throw new SqlInjectionException();
+            } else {
+                template.append(c);
+                i++;
+            }
+        }
+        return new ParameterizedQuery(template.toString(), parameters);
+    }
+
+    /**
+     * Reads the quoted text starting at the given index, where a doubled quote stands for the quote itself.
+     *
+     * @return the index following the closing quote
+     */
+    private static int readQuoted(String sql, int start, StringBuilder value) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    value.append(quote);
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            value.append(c);
+            i++;
+        }
+        throw new SqlInjectionException();
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return sql + " " + parameters;
+    }
+}
@@ -577,6 +577,13 @@ public class SearchObjectAutoCompleter extends SearchObjectsBaseAutoCompleter {
                 }
             });
 
+    private static final List<String> nonUniquePrimeryKeyObjects = Arrays.asList(
+            SearchObjects.VDS_NETWORK_INTERFACE_OBJ_NAME,
+            SearchObjects.VM_NETWORK_INTERFACE_OBJ_NAME,
+            SearchObjects.NETWORK_CLUSTER_OBJ_NAME,
+            SearchObjects.NETWORK_HOST_OBJ_NAME,
+            SearchObjects.VDC_STORAGE_DOMAIN_IMAGE_OBJ_NAME);
+
     static EntitySearchInfo getEntitySearchInfo(String key) {
         return entitySearchInfo.get(singular(key));
     }
@@ -711,6 +718,15 @@ public class SearchObjectAutoCompleter extends SearchObjectsBaseAutoCompleter {
         return false;
     }
 
+    /**
+     * Tells whether a row of the search object is identified by its primary key. Some objects are keyed by the entity
+     * they belong to, like the network interfaces of a host, or list an entity once per related entity, like the
+     * images per storage domain, so a row can't be found by its key.
+     */
+    public boolean isPrimeryKeyUnique(String obj) {
+        return getEntitySearchInfo(obj) != null && !nonUniquePrimeryKeyObjects.contains(singular(obj));
+    }
+
     public IAutoCompleter getFieldRelationshipAutoCompleter(String obj, String fieldName) {
         IConditionFieldAutoCompleter curConditionFieldAC = getFieldAutoCompleter(obj);
         if (curConditionFieldAC != null) {
@@ -3,6 +3,7 @@ package org.ovirt.engine.core.searchbackend;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -691,10 +692,29 @@ public class SyntaxChecker implements ISyntaxChecker {
         String retval = "";
         if (syntax.getvalid()) {
             retval = generateSqlFromSyntaxContainer(syntax, isSafe);
+            // Check for sql injection if query is not safe
+            if (!isSafe && sqlInjectionChecker.hasSqlInjection(retval)) {
+                throw new SqlInjectionException();
+            }
         }
         return retval;
     }
 
+    /**
+     * Generates the query with its values as bind parameters. The values of an unsafe search are all quoted, so once
+     * they are parameters no part of the search text is left in the SQL and it doesn't have to be checked for sql
+     * injection.
+     */
+    @Override
+    public ParameterizedQuery generateParameterizedQueryFromSyntaxContainer(SyntaxContainer syntax, boolean isSafe) {
+        if (!syntax.getvalid()) {
+            return new ParameterizedQuery("", Collections.emptyList());
+        }
+        ParameterizedQuery query = ParameterizedQuery.fromSql(generateSqlFromSyntaxContainer(syntax, isSafe));
+        log.trace("Search parameters: {}", query.getParameters());
+        return query;
+    }
+
     private String generateFromStatement(SyntaxContainer syntax, boolean useTags) {
         LinkedList<String> innerJoins = new LinkedList<>();
         ArrayList<String> refObjList = syntax.getCrossRefObjList();
@@ -902,11 +922,16 @@ public class SyntaxChecker implements ISyntaxChecker {
             }
 
             // adding the sorting part if required
+            String defaultSort = searchObjectAC.getDefaultSort(searchObjStr);
+            List<SortKey> sortKeys = new ArrayList<>();
             if ("".equals(sortByPhrase)) {
-                sortByPhrase = " ORDER BY " + searchObjectAC.getDefaultSort(searchObjStr);
+                sortByPhrase = " ORDER BY " + defaultSort;
+            } else {
+                for (SortByElement sortByElement : sortByElements) {
+                    final boolean ascending = sortAscending == sortByElement.isAscending();
+                    sortKeys.add(new SortKey(sortByElement.getExpression(), ascending, ascending));
+                }
             }
-            // adding the paging phrase
-            String pagePhrase = getPagePhrase(syntax, pageNumber);
             String primeryKey = searchObjectAC.getPrimeryKeyName(searchObjStr);
             String tableName = searchObjectAC.getRelatedTableName(searchObjStr, useTags);
             boolean usingDistinct = searchObjectAC.isUsingDistinct(searchObjStr);
@@ -914,10 +939,32 @@ public class SyntaxChecker implements ISyntaxChecker {
             // adding a secondary default sort by entity name
             StringBuilder sortExpr = new StringBuilder();
             sortExpr.append(sortByPhrase);
-            if (!sortByPhrase.contains(searchObjectAC.getDefaultSort(searchObjStr))) {
+            if (!sortByPhrase.contains(defaultSort)) {
+                sortExpr.append(",");
+                sortExpr.append(defaultSort);
+            }
+            if (sortKeys.isEmpty() || !sortByPhrase.contains(defaultSort)) {
+                sortKeys.addAll(parseSortKeys(defaultSort));
+            }
+            // adding the primary key as the last sort, so the order of the rows and therefore the pages are stable
+            if (primeryKey != null
+                    && sortKeys.stream().noneMatch(sortKey -> sortKey.expression.equalsIgnoreCase(primeryKey))) {
                 sortExpr.append(",");
-                sortExpr.append(searchObjectAC.getDefaultSort(searchObjStr));
+                sortExpr.append(primeryKey).append(" ASC");
+                sortKeys.add(new SortKey(primeryKey, true, false));
+            }
+
+            // adding the paging phrase
+            if (syntax.getSearchAfter() != null && !searchObjectAC.isPrimeryKeyUnique(searchObjStr)) {
+                throw new IllegalArgumentException("Paging after a row is not supported for " + searchObjStr
+                        + ", since its rows are not identified by " + primeryKey);
             }
+            String pagePhrase = syntax.getSearchAfter() == null
+                    ? getPagePhrase(syntax, pageNumber)
+                    : getKeysetPagePhrase(syntax,
+                            sortKeys,
+                            searchObjectAC.getRelatedTableName(searchObjStr, false),
+                            primeryKey);
 
             // TODO: The database configuration PostgresSearchTemplate has an extra closing braces. Hence our
             // queries in this code have an extra opening one. Fix it in a future patch.
@@ -944,12 +991,6 @@ public class SyntaxChecker implements ISyntaxChecker {
                             sortExpr.toString(),
                             inQuery,
                             pagePhrase);
-            // Check for sql injection if query is not safe
-            if (!isSafe) {
-                if (sqlInjectionChecker.hasSqlInjection(retval)) {
-                    throw new SqlInjectionException();
-                }
-            }
             log.trace("Search: {}", retval);
         }
         return retval;
@@ -994,6 +1035,65 @@ public class SyntaxChecker implements ISyntaxChecker {
 
     }
 
+    /**
+     * Returns the page of the rows which come after the row whose primary key is {@link SyntaxContainer#getSearchAfter()}
+     * in the sort order, instead of skipping the rows of the previous pages. The values of the other sort keys of that
+     * row are taken from the row itself, so the cursor is just the primary key of the last row of the previous page,
+     * and the row is expected to still exist.
+     */
+    private String getKeysetPagePhrase(SyntaxContainer syntax, List<SortKey> sortKeys, String tableName, String primaryKey) {
+        String cursor = "'" + syntax.getSearchAfter().replace("'", "''") + "'";
+        String condition = null;
+        for (int i = sortKeys.size() - 1; i >= 0; i--) {
+            SortKey sortKey = sortKeys.get(i);
+            String cursorValue;
+            String after;
+            if (sortKey.expression.equalsIgnoreCase(primaryKey)) {
+                cursorValue = cursor;
+                after = sortKey.getComparison(cursorValue);
+            } else {
+                cursorValue = StringFormat.format("(SELECT %1$s FROM %2$s WHERE %3$s = %4$s)",
+                        sortKey.expression,
+                        tableName,
+                        primaryKey,
+                        cursor);
+                after = sortKey.getAfterCondition(cursorValue);
+            }
+            condition = condition == null
+                    ? after
+                    : StringFormat.format("(%1$s OR (%2$s IS NOT DISTINCT FROM %3$s AND %4$s))",
+                            after,
+                            sortKey.expression,
+                            cursorValue,
+                            condition);
+        }
+        return StringFormat.format("WHERE %1$s LIMIT %2$s", condition, syntax.getMaxCount());
+    }
+
+    /**
+     * Parses a sort expression like {@code "name ASC, id"} to its sort keys, where the nulls are sorted the way
+     * PostgreSQL sorts them by default.
+     */
+    private static List<SortKey> parseSortKeys(String sort) {
+        List<SortKey> sortKeys = new ArrayList<>();
+        for (String part : sort.split(",")) {
+            String element = part.trim();
+            if (element.isEmpty()) {
+                continue;
+            }
+            boolean ascending = true;
+            String upperElement = element.toUpperCase();
+            if (upperElement.endsWith(" " + SORTDIR_DESC)) {
+                ascending = false;
+                element = element.substring(0, element.length() - SORTDIR_DESC.length()).trim();
+            } else if (upperElement.endsWith(" " + SORTDIR_ASC)) {
+                element = element.substring(0, element.length() - SORTDIR_ASC.length()).trim();
+            }
+            sortKeys.add(new SortKey(element, ascending, !ascending));
+        }
+        return sortKeys;
+    }
+
     private PagingType getPagingType() {
         String val = Config.getValue(ConfigValues.DBPagingType);
         PagingType type = null;
@@ -1043,6 +1143,39 @@ public class SyntaxChecker implements ISyntaxChecker {
         }
     }
 
+    /**
+     * An element of the sort order of the rows, with the position of the nulls made explicit.
+     */
+    private static class SortKey {
+        private final String expression;
+        private final boolean ascending;
+        private final boolean nullsFirst;
+
+        SortKey(String expression, boolean ascending, boolean nullsFirst) {
+            this.expression = expression;
+            this.ascending = ascending;
+            this.nullsFirst = nullsFirst;
+        }
+
+        /**
+         * @return the condition of the rows whose value of the sort key comes after the given value, when neither is
+         *         null
+         */
+        String getComparison(String value) {
+            return StringFormat.format("%1$s %2$s %3$s", expression, ascending ? ">" : "<", value);
+        }
+
+        /**
+         * @return the condition of the rows whose value of the sort key comes after the given value
+         */
+        String getAfterCondition(String value) {
+            String after = getComparison(value);
+            return nullsFirst
+                    ? StringFormat.format("(%1$s OR (%2$s IS NULL AND %3$s IS NOT NULL))", after, value, expression)
+                    : StringFormat.format("(%1$s OR (%2$s IS NULL AND %3$s IS NOT NULL))", after, expression, value);
+        }
+    }
+
     private enum ConditionType {
         None,
         FreeText,
@@ -18,6 +18,7 @@ public class SyntaxContainer implements Iterable<SyntaxObject> {
     private final int[] errorPos = new int[2];
     private int privateMaxCount;
     private long searchFrom = 0;
+    private String searchAfter;
     private boolean caseSensitive = true;
 
     /**
@@ -56,6 +57,17 @@ public class SyntaxContainer implements Iterable<SyntaxObject> {
         searchFrom = value;
     }
 
+    /**
+     * @return the primary key of the last row of the previous page, the page starts after that row
+     */
+    public String getSearchAfter() {
+        return searchAfter;
+    }
+
+    public void setSearchAfter(String value) {
+        searchAfter = value;
+    }
+
     public boolean getvalid() {
         return valid;
     }
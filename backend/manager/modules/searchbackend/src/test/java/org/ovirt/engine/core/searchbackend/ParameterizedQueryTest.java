@@ -0,0 +1,50 @@
+package org.ovirt.engine.core.searchbackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.errors.SqlInjectionException;
+
+public class ParameterizedQueryTest {
+
+    @Test
+    public void testLiteralsAreParameters() {
+        ParameterizedQuery query = ParameterizedQuery.fromSql(
+                "SELECT * FROM vms WHERE vm_name ILIKE '%vm\\_1%' AND mem_size_mb > '1024' AND status IN ('1','2')");
+
+        assertEquals("SELECT * FROM vms WHERE vm_name ILIKE ? AND mem_size_mb > ? AND status IN (?,?)", query.getSql());
+        assertEquals(Arrays.asList("%vm\\_1%", "1024", "1", "2"), query.getParameters());
+    }
+
+    @Test
+    public void testDoubledQuotes() {
+        ParameterizedQuery query = ParameterizedQuery.fromSql("SELECT * FROM vds WHERE vds_id = 'a''b' AND vds_name = ''");
+
+        assertEquals("SELECT * FROM vds WHERE vds_id = ? AND vds_name = ?", query.getSql());
+        assertEquals(Arrays.asList("a'b", ""), query.getParameters());
+    }
+
+    @Test
+    public void testQuotedIdentifiersAreKept() {
+        ParameterizedQuery query = ParameterizedQuery.fromSql("SELECT \"it's\" FROM vms");
+
+        assertEquals("SELECT \"it's\" FROM vms", query.getSql());
+        assertEquals(Collections.emptyList(), query.getParameters());
+    }
+
+    @Test
+    public void testUnterminatedLiteral() {
+        assertThrows(SqlInjectionException.class,
+                () -> ParameterizedQuery.fromSql("SELECT * FROM vms WHERE vm_name = 'vm1"));
+    }
+
+    @Test
+    public void testPlaceholderOutsideLiteral() {
+        assertThrows(SqlInjectionException.class,
+                () -> ParameterizedQuery.fromSql("SELECT * FROM vms WHERE vm_name = ?"));
+    }
+}
@@ -0,0 +1,46 @@
+package org.ovirt.engine.core.services;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import javax.inject.Inject;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.ovirt.engine.core.bll.PermissionCache;
+import org.ovirt.engine.core.bll.storage.ovfstore.OvfUpdateMetrics;
+import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringMetrics;
+
+/**
+ * Reports the metrics of the engine in the Prometheus text exposition format, to be scraped from
+ * /ovirt-engine/services/metrics (as defined in web.xml). Currently these are the latencies of the monitoring of the
+ * hosts, see {@link MonitoringMetrics}, the hits and misses of the {@link PermissionCache} and the OVFs regenerated
+ * and skipped by the OVF updates, see {@link OvfUpdateMetrics}. Like /ansible, the servlet requires an
+ * authenticated user, as the metrics include the ids and names of the hosts.
+ */
+public class MetricsServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 2748160516541632541L;
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Inject
+    private MonitoringMetrics monitoringMetrics;
+
+    @Inject
+    private PermissionCache permissionCache;
+
+    @Inject
+    private OvfUpdateMetrics ovfUpdateMetrics;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        try (PrintWriter out = response.getWriter()) {
+            monitoringMetrics.writePrometheusText(out);
+            permissionCache.writePrometheusText(out);
+            ovfUpdateMetrics.writePrometheusText(out);
+        }
+    }
+}
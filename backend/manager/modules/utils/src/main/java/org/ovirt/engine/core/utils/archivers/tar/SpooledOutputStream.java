@@ -0,0 +1,108 @@
+package org.ovirt.engine.core.utils.archivers.tar;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An output stream which keeps the written data in memory as long as it is smaller than the given threshold, and
+ * moves it to a temporary file once the threshold is exceeded. The written data can be read any number of times once
+ * the stream is closed, and the temporary file is removed by {@link #delete()}.
+ */
+public class SpooledOutputStream extends OutputStream {
+
+    private final int threshold;
+    private final String prefix;
+    private Buffer buffer = new Buffer();
+    private OutputStream out = buffer;
+    private Path file;
+    private long size;
+
+    /**
+     * @param threshold
+     *            the maximal number of bytes kept in memory
+     * @param prefix
+     *            the prefix of the name of the temporary file
+     */
+    public SpooledOutputStream(int threshold, String prefix) {
+        this.threshold = threshold;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        spoolIfNeeded(1);
+        out.write(b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        spoolIfNeeded(len);
+        out.write(b, off, len);
+        size += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * @return the number of bytes written to the stream
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the written data is kept in memory, {@code false} if it was moved to a temporary file
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * Opens a stream reading the data written to this stream, which should be closed already.
+     */
+    public InputStream openInputStream() throws IOException {
+        return isInMemory() ? buffer.toInputStream() : new BufferedInputStream(Files.newInputStream(file));
+    }
+
+    /**
+     * Removes the temporary file of the written data, if there is one.
+     */
+    public void delete() throws IOException {
+        out.close();
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void spoolIfNeeded(int len) throws IOException {
+        if (file == null && size + len > threshold) {
+            file = Files.createTempFile(prefix, ".tmp");
+            OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(file));
+            buffer.writeTo(fileOut);
+            buffer = null;
+            out = fileOut;
+        }
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.ovirt.engine.core.utils.collections;
+
+/**
+ * The following interface is used as interface for JMX bean exposing the statistics of a cache
+ */
+public interface CacheStatisticsMXBean {
+
+    /**
+     * The following method will return the number of entries currently kept in the cache
+     */
+    int getSize();
+
+    /**
+     * The following method will return the maximal number of entries kept in the cache
+     */
+    int getMaxSize();
+
+    /**
+     * The following method will return the number of lookups which found an entry in the cache
+     */
+    long getHits();
+
+    /**
+     * The following method will return the number of lookups which did not find an entry in the cache
+     */
+    long getMisses();
+
+    /**
+     * The following method will return the number of entries evicted from the cache due to its size limit
+     */
+    long getEvictions();
+
+    /**
+     * The following method will return the ratio of the lookups which found an entry in the cache
+     */
+    double getHitRatio();
+
+    /**
+     * The following method will reset the statistics via JMX console
+     */
+    void resetStatistics();
+
+    /**
+     * The following method will allow to clear the cache via JMX console
+     */
+    void clear();
+}
@@ -0,0 +1,116 @@
+package org.ovirt.engine.core.utils.collections;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe, size bounded cache which evicts the least recently used entry once the maximal number of entries is
+ * reached. The cache keeps hit, miss and eviction statistics, which can be exposed via JMX. {@code null} values are
+ * allowed and are counted as hits, so the cache may also be used to remember keys that have no value.
+ */
+public class LruCache<K, V> implements CacheStatisticsMXBean {
+
+    private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Returns the value cached for the given key and marks it as recently used, or {@code null} if there is no such
+     * value. Use {@link #containsKey(Object)} in order to distinguish a missing key from a cached {@code null}.
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null || entries.containsKey(key)) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    public synchronized boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+        evictExcessEntries();
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximal number of entries, evicting the least recently used entries if needed.
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("max size must be positive");
+        }
+        this.maxSize = maxSize;
+        evictExcessEntries();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private void evictExcessEntries() {
+        Iterator<K> iterator = entries.keySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+}
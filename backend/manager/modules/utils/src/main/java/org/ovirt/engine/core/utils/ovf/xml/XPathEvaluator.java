@@ -0,0 +1,106 @@
+package org.ovirt.engine.core.utils.ovf.xml;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * Evaluates the XPath expressions of the OVF documents. Looking up the {@link XPathFactory} and compiling an expression
+ * are by far the most expensive parts of an evaluation, and the readers evaluate the same few expressions over and
+ * over, for each disk and nic of each read OVF. Since neither the XPath objects nor the compiled expressions are thread
+ * safe, each thread keeps its own {@link XPath} and its own cache of the compiled expressions.
+ */
+final class XPathEvaluator {
+
+    private static final int MAX_CACHED_EXPRESSIONS = 512;
+
+    private static final ThreadLocal<XPathEvaluator> evaluators = ThreadLocal.withInitial(XPathEvaluator::new);
+
+    private final XPath xPath = XPathFactory.newInstance().newXPath();
+
+    private final Map<ExpressionKey, XPathExpression> expressions =
+            new LinkedHashMap<ExpressionKey, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ExpressionKey, XPathExpression> eldest) {
+                    return size() > MAX_CACHED_EXPRESSIONS;
+                }
+            };
+
+    private XPathEvaluator() {
+    }
+
+    /**
+     * Evaluates the given expression in the context of the given item.
+     *
+     * @param expression
+     *            the XPath expression
+     * @param namespaces
+     *            the namespaces of the prefixes used by the expression, or {@code null} if it uses none
+     * @param item
+     *            the node (or document) the expression is evaluated in the context of
+     * @param returnType
+     *            the expected type of the result, one of the {@link javax.xml.xpath.XPathConstants}
+     */
+    static Object evaluate(String expression, XmlNamespaceManager namespaces, Object item, QName returnType)
+            throws XPathExpressionException {
+        return evaluators.get().getExpression(expression, namespaces).evaluate(item, returnType);
+    }
+
+    private XPathExpression getExpression(String expression, XmlNamespaceManager namespaces)
+            throws XPathExpressionException {
+        ExpressionKey key = new ExpressionKey(expression,
+                namespaces == null ? Collections.emptyMap() : namespaces.getNamespaces());
+        XPathExpression compiled = expressions.get(key);
+        if (compiled == null) {
+            compiled = compile(expression, namespaces);
+            expressions.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    private XPathExpression compile(String expression, XmlNamespaceManager namespaces)
+            throws XPathExpressionException {
+        xPath.reset();
+        if (namespaces != null) {
+            // the namespace manager may be changed later, the cached expression uses a copy of its namespaces
+            XmlNamespaceManager snapshot = new XmlNamespaceManager();
+            namespaces.getNamespaces().forEach(snapshot::addNamespace);
+            xPath.setNamespaceContext(snapshot);
+        }
+        return xPath.compile(expression);
+    }
+
+    private static final class ExpressionKey {
+        private final String expression;
+        private final Map<String, String> namespaces;
+
+        ExpressionKey(String expression, Map<String, String> namespaces) {
+            this.expression = expression;
+            this.namespaces = namespaces;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expression, namespaces);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ExpressionKey)) {
+                return false;
+            }
+            ExpressionKey other = (ExpressionKey) obj;
+            return expression.equals(other.expression) && namespaces.equals(other.namespaces);
+        }
+    }
+}
@@ -5,14 +5,13 @@ import java.io.StringWriter;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
 
 import org.ovirt.engine.core.uutils.xml.SecureDocumentBuilderFactory;
 import org.w3c.dom.Document;
@@ -23,6 +22,20 @@ import org.xml.sax.InputSource;
 
 public class XmlDocument {
 
+    /**
+     * Looking up the factory of the document builders is expensive, and the builders are not thread safe, so each
+     * thread keeps its own builder, which is reset after each parsed document.
+     */
+    private static final ThreadLocal<DocumentBuilder> documentBuilders = ThreadLocal.withInitial(() -> {
+        try {
+            DocumentBuilderFactory fact = SecureDocumentBuilderFactory.newDocumentBuilderFactory();
+            fact.setNamespaceAware(true);
+            return fact.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     private String outerXml;
     public XmlNode[] childNodes;
 
@@ -37,10 +50,12 @@ public class XmlDocument {
 
     private void loadXml(String ovfstring) throws Exception {
         // load doc
-        DocumentBuilderFactory fact = SecureDocumentBuilderFactory.newDocumentBuilderFactory();
-        fact.setNamespaceAware(true);
-        DocumentBuilder builder = fact.newDocumentBuilder();
-        doc = builder.parse(new InputSource(new StringReader(ovfstring)));
+        DocumentBuilder builder = documentBuilders.get();
+        try {
+            doc = builder.parse(new InputSource(new StringReader(ovfstring)));
+        } finally {
+            builder.reset();
+        }
 
         // initialize all the child nodes
         NodeList list = doc.getElementsByTagName("*");
@@ -54,9 +69,7 @@ public class XmlDocument {
 
     public XmlNode selectSingleNode(String string) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODE);
+            Object o = XPathEvaluator.evaluate(string, null, doc, XPathConstants.NODE);
             return o != null ? new XmlNode((Node) o) : null;
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -65,10 +78,7 @@ public class XmlDocument {
 
     public XmlNode selectSingleNode(String string, XmlNamespaceManager _xmlns) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(_xmlns);
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODE);
+            Object o = XPathEvaluator.evaluate(string, _xmlns, doc, XPathConstants.NODE);
             return o != null ? new XmlNode((Node) o) : null;
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -77,9 +87,7 @@ public class XmlDocument {
 
     public XmlNodeList selectNodes(String string) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODESET);
+            Object o = XPathEvaluator.evaluate(string, null, doc, XPathConstants.NODESET);
             return new XmlNodeList((NodeList) o);
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -88,10 +96,7 @@ public class XmlDocument {
 
     public XmlNodeList selectNodes(String string, XmlNamespaceManager _xmlns) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(_xmlns);
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODESET);
+            Object o = XPathEvaluator.evaluate(string, _xmlns, doc, XPathConstants.NODESET);
             return new XmlNodeList((NodeList) o);
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.utils.ovf.xml;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -11,6 +12,7 @@ import javax.xml.namespace.NamespaceContext;
 public class XmlNamespaceManager implements NamespaceContext {
 
     private Map<String, String> prefixToUri;
+    private Map<String, String> namespaces;
 
     public XmlNamespaceManager() {
         prefixToUri = new HashMap<>();
@@ -18,6 +20,17 @@ public class XmlNamespaceManager implements NamespaceContext {
 
     public void addNamespace(String prefix, String uri) {
         prefixToUri.put(prefix, uri);
+        namespaces = null;
+    }
+
+    /**
+     * @return an unmodifiable copy of the namespaces added to the manager, by their prefixes
+     */
+    public Map<String, String> getNamespaces() {
+        if (namespaces == null) {
+            namespaces = Collections.unmodifiableMap(new HashMap<>(prefixToUri));
+        }
+        return namespaces;
     }
 
     @Override
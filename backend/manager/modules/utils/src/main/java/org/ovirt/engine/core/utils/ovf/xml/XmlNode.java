@@ -1,8 +1,6 @@
 package org.ovirt.engine.core.utils.ovf.xml;
 
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -22,10 +20,7 @@ public class XmlNode {
 
     public XmlNode selectSingleNode(String string, XmlNamespaceManager _xmlns) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(_xmlns);
-            Object o = xPath.evaluate(string, node, XPathConstants.NODE);
+            Object o = XPathEvaluator.evaluate(string, _xmlns, node, XPathConstants.NODE);
             return o != null ? new XmlNode((Node) o) : null;
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -34,9 +29,7 @@ public class XmlNode {
 
     public XmlNode selectSingleNode(String string) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, node, XPathConstants.NODE);
+            Object o = XPathEvaluator.evaluate(string, null, node, XPathConstants.NODE);
             return o != null ? new XmlNode((Node) o) : null;
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -45,9 +38,7 @@ public class XmlNode {
 
     public XmlNodeList selectNodes(String string) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, node, XPathConstants.NODESET);
+            Object o = XPathEvaluator.evaluate(string, null, node, XPathConstants.NODESET);
             return new XmlNodeList((NodeList) o);
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -56,10 +47,7 @@ public class XmlNode {
 
     public XmlNodeList selectNodes(String string, XmlNamespaceManager xmlns) {
         try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(xmlns);
-            Object o = xPath.evaluate(string, node, XPathConstants.NODESET);
+            Object o = XPathEvaluator.evaluate(string, xmlns, node, XPathConstants.NODESET);
             return new XmlNodeList((NodeList) o);
         } catch (Exception e) {
             throw new RuntimeException("Failed to evaluate xpath: " + string, e);
@@ -42,6 +42,7 @@ public class JsonObjectSerializer implements Serializer {
     private static final Logger log = LoggerFactory.getLogger(JsonObjectSerializer.class);
     private static final ObjectMapper unformattedMapper = new ObjectMapper();
     private static final ObjectMapper formattedMapper;
+    private static final ObjectMapper compactMapper;
     static {
         formattedMapper = new ObjectMapper();
         formattedMapper.addMixIn(Guid.class, JsonGuidMixIn.class);
@@ -64,6 +65,7 @@ public class JsonObjectSerializer implements Serializer {
         formattedMapper.addMixIn(VdsDynamic.class, JsonVdsDynamicMixIn.class);
         formattedMapper.addMixIn(DestroyImageParameters.class, JsonDestroyImageParametersMixIn.class);
         formattedMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance);
+        compactMapper = formattedMapper.copy();
         formattedMapper.configure(INDENT_OUTPUT, true);
     }
 
@@ -76,6 +78,23 @@ public class JsonObjectSerializer implements Serializer {
         }
     }
 
+    /**
+     * Serialize the given payload the same way {@link #serialize(Object)} does, but without indentation. The result is
+     * read back by {@link JsonObjectDeserializer} like the formatted one, and is considerably smaller and cheaper to
+     * parse for big payloads such as persisted command parameters.
+     *
+     * @param payload
+     *            - The payload to serialize.
+     * @return The compact JSON form of the payload, or {@code null} if the payload is {@code null}.
+     */
+    public String serializeCompact(Object payload) throws SerializationException {
+        if (payload == null) {
+            return null;
+        } else {
+            return writeJsonAsString(payload, compactMapper);
+        }
+    }
+
     /**
      * Use the ObjectMapper to parse the payload to String.
      *
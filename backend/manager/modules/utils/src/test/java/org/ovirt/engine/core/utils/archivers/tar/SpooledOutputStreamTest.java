@@ -0,0 +1,69 @@
+package org.ovirt.engine.core.utils.archivers.tar;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+
+import org.junit.jupiter.api.Test;
+
+public class SpooledOutputStreamTest {
+
+    private static final int THRESHOLD = 16;
+
+    @Test
+    public void testSmallDataIsKeptInMemory() throws IOException {
+        byte[] data = data(THRESHOLD);
+        SpooledOutputStream out = write(data);
+
+        assertTrue(out.isInMemory());
+        assertEquals(THRESHOLD, out.getSize());
+        assertArrayEquals(data, read(out));
+        assertArrayEquals(data, read(out));
+        out.delete();
+    }
+
+    @Test
+    public void testBigDataIsSpooledToFile() throws IOException {
+        byte[] data = data(THRESHOLD * 3 + 1);
+        SpooledOutputStream out = write(data);
+
+        assertFalse(out.isInMemory());
+        assertEquals(data.length, out.getSize());
+        assertArrayEquals(data, read(out));
+        assertArrayEquals(data, read(out));
+
+        out.delete();
+        assertThrows(NoSuchFileException.class, out::openInputStream);
+    }
+
+    private static SpooledOutputStream write(byte[] data) throws IOException {
+        SpooledOutputStream out = new SpooledOutputStream(THRESHOLD, "spooled-output-stream-test");
+        // a single byte followed by chunks, so the threshold is crossed in the middle of a chunk
+        out.write(data[0]);
+        for (int i = 1; i < data.length; i += 5) {
+            out.write(data, i, Math.min(5, data.length - i));
+        }
+        out.close();
+        return out;
+    }
+
+    private static byte[] read(SpooledOutputStream out) throws IOException {
+        try (InputStream in = out.openInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+}
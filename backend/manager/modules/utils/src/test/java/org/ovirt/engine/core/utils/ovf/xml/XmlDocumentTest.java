@@ -0,0 +1,69 @@
+package org.ovirt.engine.core.utils.ovf.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class XmlDocumentTest {
+
+    private static final String FIRST_URI = "http://example.com/first";
+    private static final String SECOND_URI = "http://example.com/second";
+    private static final String XML = "<Envelope xmlns:a=\"" + FIRST_URI + "\" xmlns:b=\"" + SECOND_URI + "\">"
+            + "<Item><a:Name>first</a:Name><b:Name>second</b:Name></Item>"
+            + "<Item><a:Name>third</a:Name></Item>"
+            + "</Envelope>";
+
+    @Test
+    public void testSelectNodes() throws Exception {
+        XmlDocument document = new XmlDocument(XML);
+
+        assertEquals(2, count(document.selectNodes("//Item")));
+        assertEquals("first", document.selectSingleNode("//Item").selectSingleNode("*").innerText);
+        assertNull(document.selectSingleNode("//Missing"));
+    }
+
+    @Test
+    public void testPrefixesAreResolvedByTheGivenNamespaces() throws Exception {
+        XmlDocument document = new XmlDocument(XML);
+        XmlNode item = document.selectSingleNode("//Item");
+
+        assertEquals("first", item.selectSingleNode("p:Name", namespaces(FIRST_URI)).innerText);
+        assertEquals("second", item.selectSingleNode("p:Name", namespaces(SECOND_URI)).innerText);
+        assertEquals(2, count(document.selectNodes("//p:Name", namespaces(FIRST_URI))));
+        assertEquals(1, count(document.selectNodes("//p:Name", namespaces(SECOND_URI))));
+    }
+
+    @Test
+    public void testNamespacesAddedLater() throws Exception {
+        XmlDocument document = new XmlDocument(XML);
+        XmlNamespaceManager namespaces = namespaces(FIRST_URI);
+        assertEquals(2, count(document.selectNodes("//p:Name", namespaces)));
+
+        namespaces.addNamespace("p", SECOND_URI);
+
+        assertEquals(1, count(document.selectNodes("//p:Name", namespaces)));
+    }
+
+    @Test
+    public void testInvalidExpression() throws Exception {
+        XmlDocument document = new XmlDocument(XML);
+
+        assertThrows(RuntimeException.class, () -> document.selectNodes("//Item["));
+    }
+
+    private static int count(XmlNodeList nodes) {
+        int count = 0;
+        for (XmlNode node : nodes) {
+            count++;
+        }
+        return count;
+    }
+
+    private static XmlNamespaceManager namespaces(String uri) {
+        XmlNamespaceManager namespaces = new XmlNamespaceManager();
+        namespaces.addNamespace("p", uri);
+        return namespaces;
+    }
+}
@@ -1,6 +1,8 @@
 package org.ovirt.engine.core.utils.serialization.json;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -22,6 +24,7 @@ import org.ovirt.engine.core.common.action.CreateSnapshotForVmParameters;
 import org.ovirt.engine.core.common.action.DestroyImageParameters;
 import org.ovirt.engine.core.common.action.LockProperties;
 import org.ovirt.engine.core.common.action.LockProperties.Scope;
+import org.ovirt.engine.core.common.action.RunVmParams;
 import org.ovirt.engine.core.common.businessentities.network.Network;
 import org.ovirt.engine.core.common.businessentities.network.VdsNetworkInterface;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
@@ -168,6 +171,33 @@ public class JsonObjectSerializerTest {
         assertTrue(json.length() > 0);
     }
 
+    @Test
+    @MockedConfig("mockConfiguration")
+    public void serializeCompactRunVmParams() {
+        RunVmParams params = new RunVmParams(Guid.newGuid());
+        params.setRunAsStateless(true);
+        params.setDiskPath("/iso/boot disk.iso");
+        JsonObjectSerializer serializer = new JsonObjectSerializer();
+        String formatted = serializer.serialize(params);
+        String compact = serializer.serializeCompact(params);
+        assertFalse(compact.contains("\n"));
+        assertTrue(compact.length() < formatted.length());
+
+        JsonObjectDeserializer deserializer = new JsonObjectDeserializer();
+        RunVmParams fromCompact = deserializer.deserialize(compact, RunVmParams.class);
+        RunVmParams fromFormatted = deserializer.deserialize(formatted, RunVmParams.class);
+        assertEquals(params.getVmId(), fromCompact.getVmId());
+        assertEquals(params.getDiskPath(), fromCompact.getDiskPath());
+        assertTrue(fromCompact.getRunAsStateless());
+        assertEquals(fromFormatted.getVmId(), fromCompact.getVmId());
+        assertEquals(serializer.serialize(fromFormatted), serializer.serialize(fromCompact));
+    }
+
+    @Test
+    public void serializeCompactNull() {
+        assertNull(new JsonObjectSerializer().serializeCompact(null));
+    }
+
     private String serialize(Object obj) throws IOException {
         ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator())
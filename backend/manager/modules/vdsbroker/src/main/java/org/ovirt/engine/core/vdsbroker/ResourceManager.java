@@ -49,7 +49,6 @@ import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogable;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogableImpl;
 import org.ovirt.engine.core.dao.VdsDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
-import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
 import org.ovirt.engine.core.di.Injector;
 import org.ovirt.engine.core.utils.ReflectionUtils;
 import org.ovirt.engine.core.utils.threadpool.ThreadPools;
@@ -91,9 +90,6 @@ public class ResourceManager implements BackendService {
     @Inject
     private VmDynamicDao vmDynamicDao;
 
-    @Inject
-    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
-
     @Inject
     Instance<VdsCommandExecutor> commandExecutor;
 
@@ -259,7 +255,7 @@ public class ResourceManager implements BackendService {
         if (interfaces != null) {
             for (VmNetworkInterface ifc : interfaces) {
                 VmNetworkStatistics stats = ifc.getStatistics();
-                vmNetworkStatisticsDao.update(stats);
+                getVmManager(vm.getId()).update(stats);
             }
         }
     }
@@ -39,6 +39,7 @@ import org.ovirt.engine.core.common.businessentities.VdsNumaNode;
 import org.ovirt.engine.core.common.businessentities.VdsSpmStatus;
 import org.ovirt.engine.core.common.businessentities.VdsStatistics;
 import org.ovirt.engine.core.common.businessentities.VmDynamic;
+import org.ovirt.engine.core.common.businessentities.network.VdsNetworkStatistics;
 import org.ovirt.engine.core.common.config.Config;
 import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.locks.LockingGroup;
@@ -59,7 +60,6 @@ import org.ovirt.engine.core.dao.SupportedHostFeatureDao;
 import org.ovirt.engine.core.dao.VdsDao;
 import org.ovirt.engine.core.dao.VdsDynamicDao;
 import org.ovirt.engine.core.dao.VdsNumaNodeDao;
-import org.ovirt.engine.core.dao.VdsStatisticsDao;
 import org.ovirt.engine.core.dao.VmDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.network.InterfaceDao;
@@ -77,9 +77,12 @@ import org.ovirt.engine.core.vdsbroker.kubevirt.PrometheusUrlResolver;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostConnectionRefresherInterface;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoring;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoringInterface;
+import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringMetrics;
+import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringStage;
 import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringStrategy;
 import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringStrategyFactory;
 import org.ovirt.engine.core.vdsbroker.monitoring.RefresherFactory;
+import org.ovirt.engine.core.vdsbroker.monitoring.StatisticsStore;
 import org.ovirt.engine.core.vdsbroker.monitoring.VmStatsRefresher;
 import org.ovirt.engine.core.vdsbroker.monitoring.kubevirt.KubevirtNodesMonitoring;
 import org.ovirt.engine.core.vdsbroker.vdsbroker.HostNetworkTopologyPersister;
@@ -131,7 +134,7 @@ public class VdsManager {
     private VmDao vmDao;
 
     @Inject
-    private VdsStatisticsDao vdsStatisticsDao;
+    private StatisticsStore statisticsStore;
 
     @Inject
     private VdsNumaNodeDao vdsNumaNodeDao;
@@ -154,6 +157,9 @@ public class VdsManager {
     @Inject
     private PrometheusUrlResolver prometheusUrlResolver;
 
+    @Inject
+    private MonitoringMetrics monitoringMetrics;
+
     private final AtomicInteger unrespondedAttempts;
     private final Guid vdsId;
     private final VdsMonitor vdsMonitor = new VdsMonitor();
@@ -208,6 +214,7 @@ public class VdsManager {
         handleSecureSetup();
         initVdsBroker();
         updateCpuTopology();
+        monitoringMetrics.addHost(vdsId, cachedVds.getName());
     }
 
     public void handleSecureSetup() {
@@ -289,7 +296,10 @@ public class VdsManager {
     public void refreshImpl() {
         boolean releaseLock = true;
         log.debug("Before acquiring monitor lock for scheduled host refresh");
-        if (lockManager.acquireLock(monitoringLock).isAcquired()) {
+        long lockStart = System.nanoTime();
+        boolean acquired = lockManager.acquireLock(monitoringLock).isAcquired();
+        recordMonitoringLatency(MonitoringStage.LOCK_WAIT, System.nanoTime() - lockStart);
+        if (acquired) {
             try {
                 setIsSetNonOperationalExecuted(false);
                 synchronized (this) {
@@ -545,7 +555,7 @@ public class VdsManager {
      * Save statistics data to cache and DB.
      */
     public void updateStatisticsData(VdsStatistics statisticsData) {
-        vdsStatisticsDao.update(statisticsData);
+        statisticsStore.saveVdsStatistics(statisticsData);
         cachedVds.setStatisticsData(statisticsData);
 
         statisticsData.getCpuCoreStatistics().stream().forEach(statistics -> {
@@ -555,6 +565,13 @@ public class VdsManager {
         });
     }
 
+    /**
+     * Save the statistics of the host interfaces to DB.
+     */
+    public void updateInterfaceStatistics(List<VdsNetworkStatistics> statistics) {
+        statisticsStore.saveVdsNetworkStatistics(statistics);
+    }
+
     /**
      * Publish the current pending resource summary. This method also refreshes the committed
      * memory for the host to make the operation atomic.
@@ -1039,6 +1056,15 @@ public class VdsManager {
         }
 
         vdsProxy.close();
+        monitoringMetrics.removeHost(getVdsId());
+    }
+
+    /**
+     * Records the latency of a stage of the monitoring of the host.
+     */
+    public void recordMonitoringLatency(MonitoringStage stage, long durationNanos) {
+        VDS vds = cachedVds;
+        monitoringMetrics.record(getVdsId(), vds != null ? vds.getName() : null, stage, durationNanos);
     }
 
     /**
@@ -1,8 +1,10 @@
 package org.ovirt.engine.core.vdsbroker;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
@@ -31,8 +33,8 @@ import org.ovirt.engine.core.dao.ClusterDao;
 import org.ovirt.engine.core.dao.VmDeviceDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.VmStaticDao;
-import org.ovirt.engine.core.dao.VmStatisticsDao;
-import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
+import org.ovirt.engine.core.vdsbroker.monitoring.StatisticsFingerprint;
+import org.ovirt.engine.core.vdsbroker.monitoring.StatisticsStore;
 import org.ovirt.engine.core.vdsbroker.monitoring.VdsmVm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +74,10 @@ public class VmManager {
     private Double lastStatusEventTimestamp;
     private Guid lastStatusEventReporterId;
     private VmStatistics statistics;
+    /** Fingerprints of the VM and interface statistics as they were last written to the database, by their ID */
+    private final Map<Guid, StatisticsFingerprint> flushedStatistics;
+    /** The last time all the statistics of the VM were written to the database */
+    private volatile long statisticsFlushTime;
 
     private boolean coldReboot;
 
@@ -93,9 +99,7 @@ public class VmManager {
     @Inject
     private VmDynamicDao vmDynamicDao;
     @Inject
-    private VmStatisticsDao vmStatisticsDao;
-    @Inject
-    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
+    private StatisticsStore statisticsStore;
     @Inject
     private VmStaticDao vmStaticDao;
     @Inject
@@ -109,6 +113,7 @@ public class VmManager {
         vmDevicesLock = new VmDevicesLock();
         convertOperationProgress = -1;
         statistics = new VmStatistics(vmId);
+        flushedStatistics = new ConcurrentHashMap<>();
         vmMemoryWithOverheadInMB = 0;
         externalDataStatus = new ExternalDataStatus();
         devicesBeingHotUnplugged = new HashSet<>();
@@ -189,12 +194,14 @@ public class VmManager {
     }
 
     public void update(VmStatistics statistics) {
-        vmStatisticsDao.update(statistics);
+        statisticsStore.saveVmStatistics(Collections.singletonList(statistics));
         setStatistics(statistics);
+        setFlushedStatistics(statistics.getId(), StatisticsFingerprint.of(statistics));
     }
 
     public void update(VmNetworkStatistics networkStatistics) {
-        vmNetworkStatisticsDao.update(networkStatistics);
+        statisticsStore.saveVmNetworkStatistics(Collections.singletonList(networkStatistics));
+        setFlushedStatistics(networkStatistics.getId(), StatisticsFingerprint.of(networkStatistics));
     }
 
     public void update(VmStatic vmStatic) {
@@ -289,6 +296,22 @@ public class VmManager {
         this.statistics = statistics;
     }
 
+    public StatisticsFingerprint getFlushedStatistics(Guid statisticsId) {
+        return flushedStatistics.get(statisticsId);
+    }
+
+    public void setFlushedStatistics(Guid statisticsId, StatisticsFingerprint fingerprint) {
+        flushedStatistics.put(statisticsId, fingerprint);
+    }
+
+    public long getStatisticsFlushTime() {
+        return statisticsFlushTime;
+    }
+
+    public void setStatisticsFlushTime(long statisticsFlushTime) {
+        this.statisticsFlushTime = statisticsFlushTime;
+    }
+
     public String getName() {
         return name;
     }
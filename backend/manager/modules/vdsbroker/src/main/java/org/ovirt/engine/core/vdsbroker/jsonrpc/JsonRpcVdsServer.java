@@ -11,11 +11,13 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.ovirt.engine.core.common.action.VmExternalDataKind;
 import org.ovirt.engine.core.common.businessentities.storage.ImageTicket;
+import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
 import org.ovirt.engine.core.vdsbroker.HttpUtils;
@@ -405,16 +407,31 @@ public class JsonRpcVdsServer implements IVdsServer {
 
     @Override
     public VmExternalDataReturn getVmExternalData(String vmId, VmExternalDataKind kind, boolean forceUpdate) {
-        JsonRpcRequest request =
-                new RequestBuilder("VM.getExternalData").withParameter("vmID", vmId)
-                        .withParameter("kind", kind.getExternal())
-                        .withParameter("forceUpdate", forceUpdate)
-                        .build();
         Map<String, Object> response =
-                new FutureMap(this.client, request).withResponseKey("info");
+                new FutureMap(this.client, buildVmExternalDataRequest(vmId, kind, forceUpdate))
+                        .withResponseKey("info");
         return new VmExternalDataReturn(response);
     }
 
+    @Override
+    public List<VmExternalDataReturn> getVmsExternalData(List<Pair<String, VmExternalDataKind>> vmsAndKinds) {
+        // All the requests are sent before waiting for any response, so they share the round trip to the host
+        List<FutureMap> responses = vmsAndKinds.stream()
+                .map(vmAndKind -> new FutureMap(this.client,
+                        buildVmExternalDataRequest(vmAndKind.getFirst(), vmAndKind.getSecond(), false))
+                                .withResponseKey("info"))
+                .collect(Collectors.toList());
+        return responses.stream().map(VmExternalDataReturn::new).collect(Collectors.toList());
+    }
+
+    private static JsonRpcRequest buildVmExternalDataRequest(String vmId, VmExternalDataKind kind,
+            boolean forceUpdate) {
+        return new RequestBuilder("VM.getExternalData").withParameter("vmID", vmId)
+                .withParameter("kind", kind.getExternal())
+                .withParameter("forceUpdate", forceUpdate)
+                .build();
+    }
+
     @Override
     public HostDevListReturn hostDevListByCaps() {
         JsonRpcRequest request = new RequestBuilder("Host.hostdevListByCaps").build();
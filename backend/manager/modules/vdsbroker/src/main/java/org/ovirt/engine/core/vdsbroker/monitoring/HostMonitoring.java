@@ -38,7 +38,6 @@ import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
 import org.ovirt.engine.core.common.vdscommands.VDSReturnValue;
 import org.ovirt.engine.core.common.vdscommands.VdsIdAndVdsVDSCommandParametersBase;
 import org.ovirt.engine.core.compat.Guid;
-import org.ovirt.engine.core.compat.TransactionScopeOption;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogDirector;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogable;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogableImpl;
@@ -48,7 +47,6 @@ import org.ovirt.engine.core.dao.VdsNumaNodeDao;
 import org.ovirt.engine.core.dao.network.InterfaceDao;
 import org.ovirt.engine.core.dao.network.NetworkDao;
 import org.ovirt.engine.core.utils.NetworkUtils;
-import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.ovirt.engine.core.vdsbroker.VdsManager;
 import org.ovirt.engine.core.vdsbroker.VmManager;
@@ -276,13 +274,7 @@ public class HostMonitoring implements HostMonitoringInterface {
             for (VdsNetworkInterface iface : vds.getInterfaces()) {
                 statistics.add(iface.getStatistics());
             }
-            if (!statistics.isEmpty()) {
-                TransactionSupport.executeInScope(TransactionScopeOption.Required,
-                        () -> {
-                            interfaceDao.massUpdateStatisticsForVds(statistics);
-                            return null;
-                        });
-            }
+            vdsManager.updateInterfaceStatistics(statistics);
             saveNumaStatisticsDataToDb();
         }
     }
@@ -531,6 +523,7 @@ public class HostMonitoring implements HostMonitoringInterface {
     class GetStatsAsyncCallback implements BrokerCommandCallback {
 
         private final boolean vdsUpOrGoingToMaintenance;
+        private final long start = System.nanoTime();
 
         GetStatsAsyncCallback(boolean vdsUpOrGoingToMaintenance) {
             this.vdsUpOrGoingToMaintenance = vdsUpOrGoingToMaintenance;
@@ -538,6 +531,7 @@ public class HostMonitoring implements HostMonitoringInterface {
 
         @Override
         public void onResponse(Map<String, Object> response) {
+            vdsManager.recordMonitoringLatency(MonitoringStage.VDSM_CALL, System.nanoTime() - start);
             try {
                 processRefreshVdsStatsResponse((VDSReturnValue) response.get("result"));
                 if (!vdsUpOrGoingToMaintenance) {
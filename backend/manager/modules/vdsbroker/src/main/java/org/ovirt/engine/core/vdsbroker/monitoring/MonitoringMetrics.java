@@ -0,0 +1,185 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.compat.Guid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the latencies of the {@link MonitoringStage}s of each monitored host, and of all the hosts together, so
+ * the hosts which make the monitoring slow can be told. The latencies are exposed in JMX and in the Prometheus text
+ * format.
+ */
+@Singleton
+public class MonitoringMetrics implements MonitoringMetricsMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitoringMetrics.class);
+
+    private static final String METRIC_PREFIX = "ovirt_engine_";
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    private final Map<MonitoringStage, LatencyHistogram> latencies = createHistograms();
+    private final Map<Guid, HostLatencies> hostsLatencies = new ConcurrentHashMap<>();
+    private ObjectName objectName;
+
+    @PostConstruct
+    public void registerInJMX() {
+        try {
+            objectName = new ObjectName("VmsMonitoring:type=" + getClass().getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            log.warn("Failed to register the monitoring metrics in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+            objectName = null;
+        }
+    }
+
+    @PreDestroy
+    public void unregisterInJMX() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to unregister the monitoring metrics from JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    /**
+     * Starts recording the latencies of a host; latencies of hosts which were not added, or were already removed, are
+     * ignored so a monitoring cycle that ends after the host was removed doesn't bring its series back.
+     */
+    public void addHost(Guid hostId, String hostName) {
+        hostsLatencies.computeIfAbsent(hostId, id -> new HostLatencies()).hostName = hostName;
+    }
+
+    public void record(Guid hostId, String hostName, MonitoringStage stage, long durationNanos) {
+        HostLatencies hostLatencies = hostsLatencies.get(hostId);
+        if (hostLatencies == null) {
+            return;
+        }
+        hostLatencies.hostName = hostName;
+        hostLatencies.histograms.get(stage).record(durationNanos, TimeUnit.NANOSECONDS);
+        latencies.get(stage).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void removeHost(Guid hostId) {
+        hostsLatencies.remove(hostId);
+    }
+
+    @Override
+    public Map<String, Double> getLatencies() {
+        return toStatistics(latencies);
+    }
+
+    @Override
+    public List<String> getHostIds() {
+        List<String> hostIds = new ArrayList<>(hostsLatencies.size());
+        hostsLatencies.keySet().forEach(hostId -> hostIds.add(hostId.toString()));
+        return hostIds;
+    }
+
+    @Override
+    public Map<String, Double> getHostLatencies(String hostId) {
+        HostLatencies hostLatencies = hostsLatencies.get(Guid.createGuidFromString(hostId));
+        return hostLatencies == null ? null : toStatistics(hostLatencies.histograms);
+    }
+
+    @Override
+    public void resetLatencies() {
+        latencies.values().forEach(LatencyHistogram::reset);
+        hostsLatencies.values().forEach(hostLatencies ->
+                hostLatencies.histograms.values().forEach(LatencyHistogram::reset));
+    }
+
+    /**
+     * Writes the latencies in the Prometheus text exposition format, as summaries in seconds. The latencies of all
+     * the hosts are written as {@code ovirt_engine_monitoring_<stage>_seconds} and the latencies of each host as
+     * {@code ovirt_engine_host_monitoring_<stage>_seconds}, labeled by the id and the name of the host.
+     */
+    public void writePrometheusText(PrintWriter out) {
+        for (MonitoringStage stage : MonitoringStage.values()) {
+            String name = METRIC_PREFIX + "monitoring_" + stage.getMetricName() + "_seconds";
+            writeHeader(out, name, stage.getDescription() + ", of all the hosts");
+            writeSummary(out, name, "", latencies.get(stage));
+
+            String hostName = METRIC_PREFIX + "host_monitoring_" + stage.getMetricName() + "_seconds";
+            writeHeader(out, hostName, stage.getDescription() + ", per host");
+            hostsLatencies.forEach((hostId, hostLatencies) -> writeSummary(out,
+                    hostName,
+                    "host_id=\"" + hostId + "\",host_name=\"" + escapeLabelValue(hostLatencies.hostName) + "\"",
+                    hostLatencies.histograms.get(stage)));
+        }
+        out.flush();
+    }
+
+    private static void writeHeader(PrintWriter out, String name, String help) {
+        out.print("# HELP " + name + " " + help + "\n");
+        out.print("# TYPE " + name + " summary\n");
+    }
+
+    private static void writeSummary(PrintWriter out, String name, String labels, LatencyHistogram histogram) {
+        String separator = labels.isEmpty() ? "" : ",";
+        for (double quantile : QUANTILES) {
+            out.print(name + "{" + labels + separator + "quantile=\"" + quantile + "\"} "
+                    + toSeconds(histogram.getValueAtPercentile(quantile * 100)) + "\n");
+        }
+        String suffixLabels = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.print(name + "_sum" + suffixLabels + " " + toSeconds(histogram.getSum()) + "\n");
+        out.print(name + "_count" + suffixLabels + " " + histogram.getCount() + "\n");
+    }
+
+    private static double toSeconds(long micros) {
+        return micros / 1_000_000.0;
+    }
+
+    static String escapeLabelValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static Map<String, Double> toStatistics(Map<MonitoringStage, LatencyHistogram> histograms) {
+        Map<String, Double> statistics = new LinkedHashMap<>();
+        histograms.forEach((stage, histogram) -> {
+            String prefix = stage.getMetricName() + ".";
+            statistics.put(prefix + "count", (double) histogram.getCount());
+            statistics.put(prefix + "mean", histogram.getMean() / 1000);
+            statistics.put(prefix + "p50", histogram.getValueAtPercentile(50) / 1000.0);
+            statistics.put(prefix + "p90", histogram.getValueAtPercentile(90) / 1000.0);
+            statistics.put(prefix + "p99", histogram.getValueAtPercentile(99) / 1000.0);
+            statistics.put(prefix + "max", histogram.getMax() / 1000.0);
+        });
+        return statistics;
+    }
+
+    private static Map<MonitoringStage, LatencyHistogram> createHistograms() {
+        Map<MonitoringStage, LatencyHistogram> histograms = new EnumMap<>(MonitoringStage.class);
+        for (MonitoringStage stage : MonitoringStage.values()) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+        return histograms;
+    }
+
+    private static class HostLatencies {
+        private final Map<MonitoringStage, LatencyHistogram> histograms = createHistograms();
+        private volatile String hostName;
+    }
+}
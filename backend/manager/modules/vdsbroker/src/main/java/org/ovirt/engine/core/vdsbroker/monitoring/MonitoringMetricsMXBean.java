@@ -0,0 +1,27 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.List;
+import java.util.Map;
+
+public interface MonitoringMetricsMXBean {
+
+    /**
+     * @return the latencies of the monitoring stages of all the hosts, keyed by {@code <stage>.<statistic>}, where
+     *         the statistics are the count of the recorded latencies and their mean, 50th, 90th and 99th percentiles
+     *         and maximum in milliseconds
+     */
+    Map<String, Double> getLatencies();
+
+    /**
+     * @return the ids of the hosts which have recorded latencies
+     */
+    List<String> getHostIds();
+
+    /**
+     * @param hostId the id of the host
+     * @return the latencies of the monitoring stages of the host, keyed the same way as {@link #getLatencies()}
+     */
+    Map<String, Double> getHostLatencies(String hostId);
+
+    void resetLatencies();
+}
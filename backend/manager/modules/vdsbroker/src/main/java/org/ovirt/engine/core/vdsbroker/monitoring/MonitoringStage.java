@@ -0,0 +1,27 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+/**
+ * The stages of the monitoring of a host whose latencies are recorded by {@link MonitoringMetrics}.
+ */
+public enum MonitoringStage {
+    VDSM_CALL("vdsm_call", "Time of the statistics calls to VDSM"),
+    ANALYSIS("analysis", "Time of analyzing the VMs reported by VDSM"),
+    FLUSH("flush", "Time of saving the analyzed VMs to the database"),
+    LOCK_WAIT("lock_wait", "Time of acquiring the monitoring lock of the host");
+
+    private final String metricName;
+    private final String description;
+
+    MonitoringStage(String metricName, String description) {
+        this.metricName = metricName;
+        this.description = description;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -177,14 +177,17 @@ public class PollVmStatsRefresher extends VmStatsRefresher {
     }
 
     protected VDSReturnValue getAllVmStats() {
-        return resourceManager.runVdsCommand(
-                VDSCommandType.GetAllVmStats,
-                new VdsIdVDSCommandParametersBase(vdsManager.getVdsId()));
+        long start = System.nanoTime();
+        try {
+            return resourceManager.runVdsCommand(
+                    VDSCommandType.GetAllVmStats,
+                    new VdsIdVDSCommandParametersBase(vdsManager.getVdsId()));
+        } finally {
+            vdsManager.recordMonitoringLatency(MonitoringStage.VDSM_CALL, System.nanoTime() - start);
+        }
     }
 
     private void processExternalData(Stream<VdsmVm> vms) {
-        VmExternalDataMonitoring dataMonitoring = getVmExternalDataMonitoring();
-        vms.forEach(vm -> dataMonitoring.updateVm(vm.getId(), vdsManager.getVdsId(), vm.getTpmDataHash(),
-                vm.getNvramDataHash()));
+        getVmExternalDataMonitoring().updateVms(vdsManager.getVdsId(), vms);
     }
 }
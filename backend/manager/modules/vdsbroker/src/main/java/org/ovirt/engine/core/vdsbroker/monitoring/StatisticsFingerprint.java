@@ -0,0 +1,91 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.Arrays;
+
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkStatistics;
+
+/**
+ * The values of statistics which are compared in order to decide whether the statistics have to be written to the
+ * database again. The measured values are compared with a threshold while the states, like the status of an
+ * interface, have to be equal. The values which change with every sample regardless of the load, like the sample
+ * time, the elapsed time or the usage history, are not part of the fingerprint.
+ */
+public final class StatisticsFingerprint {
+
+    private final double[] values;
+    private final Object[] states;
+
+    private StatisticsFingerprint(double[] values, Object... states) {
+        this.values = values;
+        this.states = states;
+    }
+
+    public static StatisticsFingerprint of(VmStatistics statistics) {
+        return new StatisticsFingerprint(
+                new double[] {
+                        valueOf(statistics.getCpuSys()),
+                        valueOf(statistics.getCpuUser()),
+                        valueOf(statistics.getUsageCpuPercent()),
+                        valueOf(statistics.getUsageMemPercent()),
+                        valueOf(statistics.getUsageNetworkPercent()),
+                        valueOf(statistics.getGuestMemoryCached()),
+                        valueOf(statistics.getGuestMemoryBuffered()),
+                        valueOf(statistics.getGuestMemoryFree()),
+                        valueOf(statistics.getGuestMemoryUnused())
+                },
+                statistics.getMigrationProgressPercent(),
+                statistics.getDisksUsage());
+    }
+
+    public static StatisticsFingerprint of(VmNetworkStatistics statistics) {
+        return new StatisticsFingerprint(
+                new double[] {
+                        valueOf(statistics.getReceiveRate()),
+                        valueOf(statistics.getTransmitRate()),
+                        valueOf(statistics.getReceiveDrops()),
+                        valueOf(statistics.getTransmitDrops()),
+                        valueOf(statistics.getReceivedBytes()),
+                        valueOf(statistics.getTransmittedBytes())
+                },
+                statistics.getStatus(),
+                statistics.getReceivedBytesOffset(),
+                statistics.getTransmittedBytesOffset());
+    }
+
+    /**
+     * Checks whether the statistics changed significantly since the given fingerprint was taken.
+     *
+     * @param previous fingerprint of the same statistics, may be {@code null}
+     * @param thresholdPercent the change of a value, relative to the larger of its previous and current values,
+     *        which is considered significant
+     * @return {@code true} if there is no previous fingerprint, a state changed, a value appeared or disappeared or
+     *         a value changed by more than the threshold
+     */
+    public boolean isChangedSince(StatisticsFingerprint previous, int thresholdPercent) {
+        if (previous == null || !Arrays.equals(states, previous.states)) {
+            return true;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            double current = values[i];
+            double last = previous.values[i];
+            if (Double.isNaN(current) || Double.isNaN(last)) {
+                if (Double.isNaN(current) != Double.isNaN(last)) {
+                    return true;
+                }
+                continue;
+            }
+
+            double scale = Math.max(Math.abs(current), Math.abs(last));
+            if (Math.abs(current - last) > scale * thresholdPercent / 100) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double valueOf(Number number) {
+        return number == null ? Double.NaN : number.doubleValue();
+    }
+}
@@ -0,0 +1,185 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.ovirt.engine.core.common.businessentities.BusinessEntity;
+import org.ovirt.engine.core.common.businessentities.VdsStatistics;
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.network.VdsNetworkStatistics;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkStatistics;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.compat.TransactionScopeOption;
+import org.ovirt.engine.core.dao.VdsStatisticsDao;
+import org.ovirt.engine.core.dao.VmStatisticsDao;
+import org.ovirt.engine.core.dao.network.InterfaceDao;
+import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the statistics of hosts, VMs and their interfaces.
+ * <p>
+ * By default the statistics are written to the database by the calling monitoring thread. When
+ * {@link ConfigValues#StatisticsWriteBehindIntervalInSeconds} is positive, the statistics are kept in memory instead,
+ * only the latest statistics of each entity are kept, and they are written in batches by a single flusher at the
+ * configured interval. Statistics which fail to be written are retried in the next flush unless newer ones were
+ * published in the meantime.
+ */
+@Singleton
+public class StatisticsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsStore.class);
+
+    @Inject
+    private VmStatisticsDao vmStatisticsDao;
+
+    @Inject
+    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
+
+    @Inject
+    private VdsStatisticsDao vdsStatisticsDao;
+
+    @Inject
+    private InterfaceDao interfaceDao;
+
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private final Map<Guid, VmStatistics> pendingVmStatistics = new ConcurrentHashMap<>();
+    private final Map<Guid, VmNetworkStatistics> pendingVmNetworkStatistics = new ConcurrentHashMap<>();
+    private final Map<Guid, VdsStatistics> pendingVdsStatistics = new ConcurrentHashMap<>();
+    private final Map<Guid, VdsNetworkStatistics> pendingVdsNetworkStatistics = new ConcurrentHashMap<>();
+
+    private volatile ScheduledFuture<?> flushJob;
+
+    @PostConstruct
+    void init() {
+        int interval = Config.<Integer> getValue(ConfigValues.StatisticsWriteBehindIntervalInSeconds);
+        if (interval > 0) {
+            log.info("Writing statistics to the database every {}s", interval);
+            flushJob = executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+            flush();
+        }
+    }
+
+    public void saveVmStatistics(Collection<VmStatistics> statistics) {
+        if (isWriteBehind()) {
+            publish(pendingVmStatistics, statistics);
+        } else {
+            vmStatisticsDao.updateAllInBatch(statistics);
+        }
+    }
+
+    public void saveVmNetworkStatistics(Collection<VmNetworkStatistics> statistics) {
+        if (isWriteBehind()) {
+            publish(pendingVmNetworkStatistics, statistics);
+        } else {
+            vmNetworkStatisticsDao.updateAllInBatch(statistics);
+        }
+    }
+
+    public void saveVdsStatistics(VdsStatistics statistics) {
+        if (isWriteBehind()) {
+            pendingVdsStatistics.put(statistics.getId(), statistics);
+        } else {
+            vdsStatisticsDao.update(statistics);
+        }
+    }
+
+    public void saveVdsNetworkStatistics(Collection<VdsNetworkStatistics> statistics) {
+        if (isWriteBehind()) {
+            publish(pendingVdsNetworkStatistics, statistics);
+        } else if (!statistics.isEmpty()) {
+            updateVdsNetworkStatistics(statistics);
+        }
+    }
+
+    /**
+     * @return the statistics of the given VM interface which are not written to the database yet, or {@code null}
+     */
+    public VmNetworkStatistics getPendingVmNetworkStatistics(Guid interfaceId) {
+        return pendingVmNetworkStatistics.get(interfaceId);
+    }
+
+    /**
+     * @return the statistics of the given host which are not written to the database yet, or {@code null}
+     */
+    public VdsStatistics getPendingVdsStatistics(Guid vdsId) {
+        return pendingVdsStatistics.get(vdsId);
+    }
+
+    // visible for testing
+    synchronized void flush() {
+        flush(pendingVmStatistics, vmStatisticsDao::updateAllInBatch);
+        flush(pendingVmNetworkStatistics, vmNetworkStatisticsDao::updateAllInBatch);
+        flush(pendingVdsStatistics, vdsStatisticsDao::updateAllInBatch);
+        flush(pendingVdsNetworkStatistics, this::updateVdsNetworkStatistics);
+    }
+
+    private boolean isWriteBehind() {
+        return flushJob != null;
+    }
+
+    private void updateVdsNetworkStatistics(Collection<VdsNetworkStatistics> statistics) {
+        TransactionSupport.executeInScope(TransactionScopeOption.Required,
+                () -> {
+                    interfaceDao.massUpdateStatisticsForVds(statistics);
+                    return null;
+                });
+    }
+
+    private static <T extends BusinessEntity<Guid>> void publish(Map<Guid, T> pending, Collection<T> statistics) {
+        statistics.forEach(stats -> pending.put(stats.getId(), stats));
+    }
+
+    private static <T extends BusinessEntity<Guid>> void flush(Map<Guid, T> pending, Consumer<List<T>> writer) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<T> batch = new ArrayList<>(pending.size());
+        for (Guid id : new ArrayList<>(pending.keySet())) {
+            T statistics = pending.remove(id);
+            if (statistics != null) {
+                batch.add(statistics);
+            }
+        }
+
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} statistics to the database: {}",
+                    batch.size(),
+                    ExceptionUtils.getRootCauseMessage(e));
+            log.debug("Exception", e);
+            batch.forEach(statistics -> pending.putIfAbsent(statistics.getId(), statistics));
+        }
+    }
+}
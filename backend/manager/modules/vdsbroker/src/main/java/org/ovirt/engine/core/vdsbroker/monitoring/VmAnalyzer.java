@@ -90,6 +90,9 @@ public class VmAnalyzer {
     private List<VmJob> vmJobs;
     private VmStatistics statistics;
     private List<VmNetworkInterface> ifaces;
+    private boolean skipVmStatistics;
+    private List<VmNetworkStatistics> vmNetworkStatisticsToFlush;
+    private int skippedStatistics;
 
     private static final int TO_MEGA_BYTES = 1024;
     /** names of fields in {@link org.ovirt.engine.core.common.businessentities.VmDynamic} that may change by VDSM */
@@ -465,6 +468,59 @@ public class VmAnalyzer {
                 : Collections.emptyList();
     }
 
+    /**
+     * Skips the statistics which did not change beyond the threshold since they were last written to the database.
+     * Nothing is skipped if not all the statistics of the VM were written within the maximal age, so the values
+     * which are not part of the fingerprint, like the elapsed time or the usage history, are eventually written.
+     *
+     * @return the number of skipped statistics
+     */
+    public int skipUnchangedStatistics(int thresholdPercent, long maxAgeMillis) {
+        VmManager vmManager = resourceManager.getVmManager(getVmId(), false);
+        if (vmManager == null || System.currentTimeMillis() - vmManager.getStatisticsFlushTime() > maxAgeMillis) {
+            return 0;
+        }
+
+        skipVmStatistics = statistics != null && !StatisticsFingerprint.of(statistics)
+                .isChangedSince(vmManager.getFlushedStatistics(statistics.getId()), thresholdPercent);
+        List<VmNetworkStatistics> networkStatistics = getVmNetworkStatistics();
+        vmNetworkStatisticsToFlush = networkStatistics.stream()
+                .filter(stats -> StatisticsFingerprint.of(stats)
+                        .isChangedSince(vmManager.getFlushedStatistics(stats.getId()), thresholdPercent))
+                .collect(Collectors.toList());
+        skippedStatistics = (skipVmStatistics ? 1 : 0) + networkStatistics.size() - vmNetworkStatisticsToFlush.size();
+        return skippedStatistics;
+    }
+
+    /**
+     * Records the fingerprints of the statistics which were written to the database, to compare the following
+     * samples with them.
+     */
+    public void statisticsFlushed() {
+        VmManager vmManager = resourceManager.getVmManager(getVmId(), false);
+        if (vmManager == null) {
+            return;
+        }
+
+        VmStatistics vmStatistics = getVmStatisticsToFlush();
+        if (vmStatistics != null) {
+            vmManager.setFlushedStatistics(vmStatistics.getId(), StatisticsFingerprint.of(vmStatistics));
+        }
+        getVmNetworkStatisticsToFlush().forEach(stats ->
+                vmManager.setFlushedStatistics(stats.getId(), StatisticsFingerprint.of(stats)));
+        if (statistics != null && skippedStatistics == 0) {
+            vmManager.setStatisticsFlushTime(System.currentTimeMillis());
+        }
+    }
+
+    public VmStatistics getVmStatisticsToFlush() {
+        return skipVmStatistics ? null : statistics;
+    }
+
+    public List<VmNetworkStatistics> getVmNetworkStatisticsToFlush() {
+        return vmNetworkStatisticsToFlush != null ? vmNetworkStatisticsToFlush : getVmNetworkStatistics();
+    }
+
     // TODO Method with Side-Effect - move to VmsMonitoring
     // switch command execution with state change and let a final execution point at #VmsMonitoring crate tasks out of the new state. this can be delegated to some task Q instead of running in-thread
     private void abortVmMigration(VmExitStatus exitStatus, String exitMessage, VmExitReason exitReason) {
@@ -1,10 +1,14 @@
 package org.ovirt.engine.core.vdsbroker.monitoring;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -12,13 +16,14 @@ import javax.inject.Singleton;
 
 import org.ovirt.engine.core.common.action.VmExternalDataKind;
 import org.ovirt.engine.core.common.qualifiers.VmDeleted;
+import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.common.utils.SecretValue;
 import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
 import org.ovirt.engine.core.common.vdscommands.VDSReturnValue;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.VmDao;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
-import org.ovirt.engine.core.vdsbroker.vdsbroker.GetVmExternalDataVDSCommand;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.GetVmsExternalDataVDSCommand;
 import org.ovirt.engine.core.vdsbroker.vdsbroker.VmExternalDataReturn;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,35 +60,81 @@ public class VmExternalDataMonitoring {
         }
     }
 
+    private static class ExternalDataUpdate {
+
+        private final Guid vmId;
+        private final VmExternalDataKind dataKind;
+        private final ExternalDataHashes externalDataHashes;
+        private final BiConsumer<SecretValue<String>, String> storeFunction;
+
+        public ExternalDataUpdate(Guid vmId, VmExternalDataKind dataKind, ExternalDataHashes externalDataHashes,
+                BiConsumer<SecretValue<String>, String> storeFunction) {
+            this.vmId = vmId;
+            this.dataKind = dataKind;
+            this.externalDataHashes = externalDataHashes;
+            this.storeFunction = storeFunction;
+        }
+    }
+
     private ConcurrentMap<Guid, ExternalDataHashes> vmHashes = new ConcurrentHashMap<>();
 
     /**
-     * Update VM external data if needed. The data is updated only if the new hash
+     * Update external data of the given VMs if needed. The data is updated only if the new hash
      * is different from the hash of the currently stored data or if the data hash
      * is not known (e.g. when there is no hash for a new VM). If the data update
      * fails then an error is logged and the update will be attempted once this
      * method is called again (and there is still hash mismatch). Different kinds of
      * external data (such as TPM or NVRAM) are handled independently within the
-     * method.
+     * method. The data of all the VMs which need an update is retrieved from the host
+     * by a single command.
      *
-     * @param vmId          Id of the VM
-     * @param vdsId         Id of the VDS the VM currently runs on
-     * @param tpmDataHash   Hash of the possibly updated TPM data
-     * @param nvramDataHash Hash of the possibly updated NVRAM data
+     * @param vdsId Id of the VDS the VMs currently run on
+     * @param vms   The VMs as reported by the VDS, with the hashes of their possibly updated data
      */
-    public void updateVm(Guid vmId, Guid vdsId, String tpmDataHash, String nvramDataHash) {
+    public void updateVms(Guid vdsId, Stream<VdsmVm> vms) {
+        List<ExternalDataUpdate> updates = new ArrayList<>();
+        vms.forEach(vm -> addUpdates(vm.getId(), vm.getTpmDataHash(), vm.getNvramDataHash(), updates));
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        List<Pair<Guid, VmExternalDataKind>> vmsAndKinds = updates.stream()
+                .map(update -> new Pair<>(update.vmId, update.dataKind))
+                .collect(Collectors.toList());
+        VDSReturnValue retVal;
+        try {
+            retVal = resourceManager.runVdsCommand(VDSCommandType.GetVmsExternalData,
+                    new GetVmsExternalDataVDSCommand.Parameters(vdsId, vmsAndKinds));
+        } catch (Throwable e) {
+            log.error("Exception when retrieving external data of {} VMs: {}", vmsAndKinds.size(), e.getMessage());
+            return;
+        }
+        if (!retVal.getSucceeded()) {
+            log.error("Failed to retrieve external data of {} VMs: {}", vmsAndKinds.size(), retVal.getVdsError());
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<VmExternalDataReturn> externalDataReturns = (List<VmExternalDataReturn>) retVal.getReturnValue();
+        for (int i = 0; i < updates.size(); i++) {
+            saveExternalData(updates.get(i), externalDataReturns.get(i));
+        }
+    }
+
+    private void addUpdates(Guid vmId, String tpmDataHash, String nvramDataHash, List<ExternalDataUpdate> updates) {
         if (tpmDataHash != null || nvramDataHash != null) {
             ExternalDataHashes externalDataHashes = vmHashes.computeIfAbsent(vmId,
                     k -> new ExternalDataHashes(vmDao.getTpmData(k).getSecond(), vmDao.getNvramData(k).getSecond()));
-            saveExternalData(vmId, vdsId, externalDataHashes, VmExternalDataKind.TPM, tpmDataHash,
-                    (data, hash) -> vmDao.updateTpmData(vmId, data, hash));
-            saveExternalData(vmId, vdsId, externalDataHashes, VmExternalDataKind.NVRAM, nvramDataHash,
-                    (data, hash) -> vmDao.updateNvramData(vmId, data, hash));
+            addUpdate(vmId, externalDataHashes, VmExternalDataKind.TPM, tpmDataHash,
+                    (data, hash) -> vmDao.updateTpmData(vmId, data, hash), updates);
+            addUpdate(vmId, externalDataHashes, VmExternalDataKind.NVRAM, nvramDataHash,
+                    (data, hash) -> vmDao.updateNvramData(vmId, data, hash), updates);
         }
     }
 
-    private void saveExternalData(Guid vmId, Guid vdsId, ExternalDataHashes externalDataHashes,
-            VmExternalDataKind dataKind, String newDataHash, BiConsumer<SecretValue<String>, String> storeFunction) {
+    private void addUpdate(Guid vmId, ExternalDataHashes externalDataHashes, VmExternalDataKind dataKind,
+            String newDataHash, BiConsumer<SecretValue<String>, String> storeFunction,
+            List<ExternalDataUpdate> updates) {
         if (newDataHash != null) {
             synchronized (externalDataHashes) {
                 if (newDataHash.equals(externalDataHashes.getDataHash(dataKind))) {
@@ -91,34 +142,32 @@ public class VmExternalDataMonitoring {
                 }
             }
             log.debug("Updating {} data due to hash change to {}", dataKind, newDataHash);
-            VDSReturnValue retVal;
-            try {
-                retVal = resourceManager.runVdsCommand(VDSCommandType.GetVmExternalData,
-                        new GetVmExternalDataVDSCommand.Parameters(vdsId, vmId, dataKind, false));
-            } catch (Throwable e) {
-                log.error("Exception when retrieving {} data for {}: {}", dataKind, vmId, e.getMessage());
-                return;
-            }
-            if (retVal.getSucceeded()) {
-                VmExternalDataReturn externalDataReturn = (VmExternalDataReturn) retVal.getReturnValue();
-                SecretValue<String> data = externalDataReturn.data;
-                if (!SecretValue.isNull(data) && !data.getValue().equals("")) {
-                    synchronized (externalDataHashes) {
-                        try {
-                            storeFunction.accept(data, externalDataReturn.hash);
-                        } catch (Throwable e) {
-                            log.error("Failed to store {} data for {}: {}", dataKind, vmId, e.getMessage());
-                            return;
-                        }
-                        externalDataHashes.setDataHash(dataKind, externalDataReturn.hash);
-                    }
-                    log.debug("{} data with hash {} updated for {}", dataKind, externalDataReturn.hash, vmId);
-                } else {
-                    log.debug("{} data not provided for {}", dataKind, vmId);
+            updates.add(new ExternalDataUpdate(vmId, dataKind, externalDataHashes, storeFunction));
+        }
+    }
+
+    private void saveExternalData(ExternalDataUpdate update, VmExternalDataReturn externalDataReturn) {
+        Guid vmId = update.vmId;
+        VmExternalDataKind dataKind = update.dataKind;
+        if (externalDataReturn.status.code != 0) {
+            log.error("Failed to retrieve {} data for {}: {}", dataKind, vmId, externalDataReturn.status.message);
+            return;
+        }
+
+        SecretValue<String> data = externalDataReturn.data;
+        if (!SecretValue.isNull(data) && !data.getValue().equals("")) {
+            synchronized (update.externalDataHashes) {
+                try {
+                    update.storeFunction.accept(data, externalDataReturn.hash);
+                } catch (Throwable e) {
+                    log.error("Failed to store {} data for {}: {}", dataKind, vmId, e.getMessage());
+                    return;
                 }
-            } else {
-                log.error("Failed to retrieve {} data for {}: {}", dataKind, vmId, retVal.getVdsError());
+                update.externalDataHashes.setDataHash(dataKind, externalDataReturn.hash);
             }
+            log.debug("{} data with hash {} updated for {}", dataKind, externalDataReturn.hash, vmId);
+        } else {
+            log.debug("{} data not provided for {}", dataKind, vmId);
         }
     }
 
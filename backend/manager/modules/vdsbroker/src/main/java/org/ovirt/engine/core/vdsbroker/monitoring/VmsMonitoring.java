@@ -1,19 +1,28 @@
 package org.ovirt.engine.core.vdsbroker.monitoring;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.management.ObjectName;
 
 import org.ovirt.engine.core.common.businessentities.IVdsEventListener;
 import org.ovirt.engine.core.common.businessentities.VmDynamic;
 import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkStatistics;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.compat.TransactionScopeOption;
@@ -23,9 +32,7 @@ import org.ovirt.engine.core.dao.VdsDynamicDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.VmGuestAgentInterfaceDao;
 import org.ovirt.engine.core.dao.VmNumaNodeDao;
-import org.ovirt.engine.core.dao.VmStatisticsDao;
 import org.ovirt.engine.core.dao.network.VmNetworkInterfaceDao;
-import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.ovirt.engine.core.vdsbroker.VdsManager;
@@ -39,7 +46,7 @@ import org.slf4j.LoggerFactory;
  * hand-over migration and save-to-db
  */
 @Singleton
-public class VmsMonitoring {
+public class VmsMonitoring implements VmsMonitoringMXBean {
 
     @Inject
     private AuditLogDirector auditLogDirector;
@@ -57,9 +64,7 @@ public class VmsMonitoring {
     @Inject
     private VmDynamicDao vmDynamicDao;
     @Inject
-    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
-    @Inject
-    private VmStatisticsDao vmStatisticsDao;
+    private StatisticsStore statisticsStore;
     @Inject
     private VmGuestAgentInterfaceDao vmGuestAgentInterfaceDao;
     @Inject
@@ -71,6 +76,35 @@ public class VmsMonitoring {
 
     private static final Logger log = LoggerFactory.getLogger(VmsMonitoring.class);
 
+    private final LongAdder flushedStatistics = new LongAdder();
+    private final LongAdder skippedStatistics = new LongAdder();
+    private ObjectName objectName;
+
+    @PostConstruct
+    public void registerInJMX() {
+        try {
+            objectName = new ObjectName("VmsMonitoring:type=" + getClass().getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            log.warn("Failed to register the VMs monitoring in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+            objectName = null;
+        }
+    }
+
+    @PreDestroy
+    public void unregisterInJMX() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to unregister the VMs monitoring from JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
     /**
      * analyze and react upon changes on the monitoredVms. relevant changes would
      * be persisted and state transitions and internal commands would
@@ -94,10 +128,14 @@ public class VmsMonitoring {
 
         List<VmAnalyzer> vmAnalyzers = Collections.emptyList();
         try {
+            long analysisStart = System.nanoTime();
             vmAnalyzers = analyzeVms(monitoredVms, fetchTime, vdsManager, updateStatistics);
+            vdsManager.recordMonitoringLatency(MonitoringStage.ANALYSIS, System.nanoTime() - analysisStart);
             // It is important to add the unmanaged VMs before flushing the dynamic data into the database
             addUnmanagedVms(vmAnalyzers, vdsManager.getVdsId());
+            long flushStart = System.nanoTime();
             flush(vmAnalyzers);
+            vdsManager.recordMonitoringLatency(MonitoringStage.FLUSH, System.nanoTime() - flushStart);
             postFlush(vmAnalyzers, vdsManager, fetchTime);
             vdsManager.vmsMonitoringInitFinished();
         } catch (RuntimeException ex) {
@@ -287,12 +325,31 @@ public class VmsMonitoring {
     }
 
     private void flush(List<VmAnalyzer> vmAnalyzers) {
+        boolean deltaFlush = Config.<Boolean> getValue(ConfigValues.VmStatisticsDeltaFlush);
+        if (deltaFlush) {
+            skipUnchangedStatistics(vmAnalyzers);
+        }
+
         saveVmGuestAgentNetworkDevices(vmAnalyzers);
         saveVmDynamic(vmAnalyzers);
         saveVmStatistics(vmAnalyzers);
         saveVmInterfaceStatistics(vmAnalyzers);
         saveVmDiskImageStatistics(vmAnalyzers);
         clearVmNuma(vmAnalyzers);
+
+        if (deltaFlush) {
+            vmAnalyzers.forEach(VmAnalyzer::statisticsFlushed);
+        }
+    }
+
+    private void skipUnchangedStatistics(List<VmAnalyzer> vmAnalyzers) {
+        int thresholdPercent = Config.<Integer> getValue(ConfigValues.VmStatisticsDeltaFlushThreshold);
+        long maxAgeMillis = TimeUnit.SECONDS.toMillis(
+                Config.<Integer> getValue(ConfigValues.VmStatisticsDeltaFlushMaxAge));
+        int skipped = vmAnalyzers.stream()
+                .mapToInt(vmAnalyzer -> vmAnalyzer.skipUnchangedStatistics(thresholdPercent, maxAgeMillis))
+                .sum();
+        skippedStatistics.add(skipped);
     }
 
     private void saveVmDiskImageStatistics(List<VmAnalyzer> vmAnalyzers) {
@@ -310,18 +367,26 @@ public class VmsMonitoring {
     }
 
     private void saveVmInterfaceStatistics(List<VmAnalyzer> vmAnalyzers) {
-        vmNetworkStatisticsDao.updateAllInBatch(vmAnalyzers.stream()
-                .map(VmAnalyzer::getVmNetworkStatistics)
+        List<VmNetworkStatistics> statistics = vmAnalyzers.stream()
+                .map(VmAnalyzer::getVmNetworkStatisticsToFlush)
                 .flatMap(List::stream)
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList());
+        statisticsStore.saveVmNetworkStatistics(statistics);
+        flushedStatistics.add(statistics.size());
     }
 
     private void saveVmStatistics(List<VmAnalyzer> vmAnalyzers) {
+        List<VmStatistics> statisticsToFlush = vmAnalyzers.stream()
+                .map(VmAnalyzer::getVmStatisticsToFlush)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        statisticsStore.saveVmStatistics(statisticsToFlush);
+        flushedStatistics.add(statisticsToFlush.size());
+
         List<VmStatistics> statistics = vmAnalyzers.stream()
                 .map(VmAnalyzer::getVmStatisticsToSave)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        vmStatisticsDao.updateAllInBatch(statistics);
         statistics.forEach(stats -> {
             VmManager vmManager = getVmManager(stats.getId(), false);
             if (vmManager != null) {
@@ -371,6 +436,24 @@ public class VmsMonitoring {
         });
     }
 
+    // ***** Statistics *****
+
+    @Override
+    public long getFlushedStatisticsCount() {
+        return flushedStatistics.sum();
+    }
+
+    @Override
+    public long getSkippedStatisticsCount() {
+        return skippedStatistics.sum();
+    }
+
+    @Override
+    public void resetStatistics() {
+        flushedStatistics.reset();
+        skippedStatistics.reset();
+    }
+
     // ***** Helpers and sub-methods *****
 
     static Guid getVmId(VmDynamic dbVm, VdsmVm vdsmVm) {
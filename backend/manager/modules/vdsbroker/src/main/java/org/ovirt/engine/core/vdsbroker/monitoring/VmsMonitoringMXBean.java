@@ -0,0 +1,17 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+public interface VmsMonitoringMXBean {
+
+    /**
+     * @return the number of VM and VM interface statistics rows written to the database
+     */
+    long getFlushedStatisticsCount();
+
+    /**
+     * @return the number of VM and VM interface statistics rows which were not written to the database because they
+     *         did not change significantly since they were last written
+     */
+    long getSkippedStatisticsCount();
+
+    void resetStatistics();
+}
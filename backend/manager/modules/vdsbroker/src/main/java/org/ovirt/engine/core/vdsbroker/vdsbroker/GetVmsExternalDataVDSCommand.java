@@ -0,0 +1,63 @@
+package org.ovirt.engine.core.vdsbroker.vdsbroker;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.ovirt.engine.core.common.action.VmExternalDataKind;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.common.utils.ToStringBuilder;
+import org.ovirt.engine.core.common.vdscommands.VdsIdVDSCommandParametersBase;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * Retrieves external data of several VMs running on the same host. The requests are pipelined to the host, so the
+ * command costs about a single round trip regardless of the number of requested VMs and data kinds.
+ * <p>
+ * The return value is the list of the {@link VmExternalDataReturn} of each requested VM and data kind, in the order
+ * of the request. Each of them has its own status, which is checked by the caller.
+ */
+public class GetVmsExternalDataVDSCommand<P extends GetVmsExternalDataVDSCommand.Parameters>
+        extends VdsBrokerCommand<P> {
+
+    private List<VmExternalDataReturn> vmsDataReturn;
+
+    public GetVmsExternalDataVDSCommand(P parameters) {
+        super(parameters);
+    }
+
+    @Override
+    protected void executeVdsBrokerCommand() {
+        vmsDataReturn = getBroker().getVmsExternalData(getParameters().getVmsAndKinds().stream()
+                .map(vmAndKind -> new Pair<>(vmAndKind.getFirst().toString(), vmAndKind.getSecond()))
+                .collect(Collectors.toList()));
+        setReturnValue(vmsDataReturn);
+    }
+
+    @Override
+    protected Object getReturnValueFromBroker() {
+        return vmsDataReturn;
+    }
+
+    public static class Parameters extends VdsIdVDSCommandParametersBase {
+
+        private List<Pair<Guid, VmExternalDataKind>> vmsAndKinds;
+
+        public Parameters(Guid vdsId, List<Pair<Guid, VmExternalDataKind>> vmsAndKinds) {
+            super(vdsId);
+            this.vmsAndKinds = vmsAndKinds;
+        }
+
+        public Parameters() {
+        }
+
+        public List<Pair<Guid, VmExternalDataKind>> getVmsAndKinds() {
+            return vmsAndKinds;
+        }
+
+        @Override
+        protected ToStringBuilder appendAttributes(ToStringBuilder tsb) {
+            return super.appendAttributes(tsb)
+                    .append("vmsAndKinds", getVmsAndKinds());
+        }
+    }
+}
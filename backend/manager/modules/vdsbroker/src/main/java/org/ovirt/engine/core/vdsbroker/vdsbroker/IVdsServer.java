@@ -11,6 +11,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.ovirt.engine.core.common.action.VmExternalDataKind;
 import org.ovirt.engine.core.common.businessentities.storage.ImageTicket;
+import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.vdsbroker.gluster.GlusterHookContentInfoReturn;
 import org.ovirt.engine.core.vdsbroker.gluster.GlusterHooksListReturn;
@@ -117,6 +118,8 @@ public interface IVdsServer {
 
     VmExternalDataReturn getVmExternalData(String vmId, VmExternalDataKind kind, boolean forceUpdate);
 
+    List<VmExternalDataReturn> getVmsExternalData(List<Pair<String, VmExternalDataKind>> vmsAndKinds);
+
     HostDevListReturn hostDevListByCaps();
 
     StatusOnlyReturn migrate(Map<String, Object> migrationInfo);
@@ -11,6 +11,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.ovirt.engine.core.common.action.VmExternalDataKind;
 import org.ovirt.engine.core.common.businessentities.storage.ImageTicket;
+import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.vdsbroker.gluster.GlusterHookContentInfoReturn;
 import org.ovirt.engine.core.vdsbroker.gluster.GlusterHooksListReturn;
@@ -187,6 +188,10 @@ public class NullVdsServer implements IVdsServer {
         return null;
     }
 
+    @Override public List<VmExternalDataReturn> getVmsExternalData(List<Pair<String, VmExternalDataKind>> vmsAndKinds) {
+        return null;
+    }
+
     @Override public HostDevListReturn hostDevListByCaps() {
         return null;
     }
@@ -876,16 +876,16 @@ public class VdsBrokerObjectsBuilder {
         if (struct.containsKey(VdsProperties.vm_guest_mem_stats)) {
             Map<String, Object> sub = (Map<String, Object>) struct.get(VdsProperties.vm_guest_mem_stats);
             if (sub.containsKey(VdsProperties.vm_guest_mem_buffered)) {
-                vm.setGuestMemoryBuffered(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_buffered).toString()));
+                vm.setGuestMemoryBuffered(parseLong(sub.get(VdsProperties.vm_guest_mem_buffered)));
             }
             if (sub.containsKey(VdsProperties.vm_guest_mem_cached)) {
-                vm.setGuestMemoryCached(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_cached).toString()));
+                vm.setGuestMemoryCached(parseLong(sub.get(VdsProperties.vm_guest_mem_cached)));
             }
             if (sub.containsKey(VdsProperties.vm_guest_mem_free)) {
-                vm.setGuestMemoryFree(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_free).toString()));
+                vm.setGuestMemoryFree(parseLong(sub.get(VdsProperties.vm_guest_mem_free)));
             }
             if (sub.containsKey(VdsProperties.vm_guest_mem_unused)) {
-                vm.setGuestMemoryUnused(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_unused).toString()));
+                vm.setGuestMemoryUnused(parseLong(sub.get(VdsProperties.vm_guest_mem_unused)));
             }
         }
 
@@ -1635,7 +1635,7 @@ public class VdsBrokerObjectsBuilder {
         if (input.containsKey(name)) {
             String stringValue = (String) ((input.get(name) instanceof String) ? input.get(name) : null);
             if (!StringUtils.isEmpty(stringValue)) {
-                if (stringValue.toLowerCase().trim().equals("up")) {
+                if ("up".equalsIgnoreCase(stringValue.trim())) {
                     ifaceStatus = InterfaceStatus.UP;
                 } else {
                     ifaceStatus = InterfaceStatus.DOWN;
@@ -1667,16 +1667,13 @@ public class VdsBrokerObjectsBuilder {
     }
 
     private static Integer assignIntValue(Map input, String name) {
-        if (input.containsKey(name)) {
-            if (input.get(name) instanceof Integer) {
-                return (Integer) input.get(name);
-            }
-            String stringValue = (String) input.get(name);
-            if (StringUtils.isNotEmpty(stringValue)) { // in case the input
-                                                       // is decimal and we
-                                                       // need int.
-                stringValue = stringValue.split("[.]", -1)[0];
-
+        Object value = input.get(name);
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        if (value != null) {
+            String stringValue = truncateDecimal((String) value);
+            if (StringUtils.isNotEmpty(stringValue)) {
                 try {
                     return Integer.parseInt(stringValue);
                 } catch (NumberFormatException nfe) {
@@ -1688,16 +1685,13 @@ public class VdsBrokerObjectsBuilder {
     }
 
     private static Long assignLongValue(Map<String, Object> input, String name) {
-        if (input.containsKey(name)) {
-            if (input.get(name) instanceof Long || input.get(name) instanceof Integer) {
-                return Long.parseLong(input.get(name).toString());
-            }
-            String stringValue = (String) ((input.get(name) instanceof String) ? input.get(name) : null);
-            if (!StringUtils.isEmpty(stringValue)) { // in case the input
-                                                     // is decimal and we
-                                                     // need int.
-                stringValue = stringValue.split("[.]", -1)[0];
-
+        Object value = input.get(name);
+        if (value instanceof Long || value instanceof Integer) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            String stringValue = truncateDecimal((String) value);
+            if (!StringUtils.isEmpty(stringValue)) {
                 try {
                     return Long.parseLong(stringValue);
                 } catch (NumberFormatException e) {
@@ -1714,19 +1708,15 @@ public class VdsBrokerObjectsBuilder {
     }
 
     private static BigInteger assignBigIntegerValue(Map<String, Object> input, String name) {
-        if (input.containsKey(name)) {
-            Object inputName = input.get(name);
-            if (inputName instanceof Long || inputName instanceof Integer) {
-                return new BigInteger(inputName.toString());
-            }
-            String stringValue = (String) ((inputName instanceof String) ? inputName : null);
-            if (!StringUtils.isEmpty(stringValue)) { // in case the input
-                                                     // is decimal and we
-                                                     // need int.
-                stringValue = stringValue.split("[.]", -1)[0];
-
+        Object value = input.get(name);
+        if (value instanceof Long || value instanceof Integer) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof String) {
+            String stringValue = truncateDecimal((String) value);
+            if (!StringUtils.isEmpty(stringValue)) {
                 try {
-                    return new BigInteger(stringValue);
+                    return parseBigInteger(stringValue);
                 } catch (NumberFormatException e) {
                     log.error("Failed to parse '{}' value '{}' to BigInteger: {}", name, stringValue, e.getMessage());
                 }
@@ -1735,11 +1725,29 @@ public class VdsBrokerObjectsBuilder {
         return null;
     }
 
+    /**
+     * VDSM reports many integral values as strings, some of them as decimals. This drops the fraction of such value
+     * without going through a regular expression, as it's done for every value of every VM on every statistics cycle.
+     */
+    private static String truncateDecimal(String value) {
+        int point = value.indexOf('.');
+        return point < 0 ? value : value.substring(0, point);
+    }
+
+    private static BigInteger parseBigInteger(String value) {
+        // values which surely fit a long, like most counters, are parsed much cheaper than by BigInteger itself
+        return value.length() < 19 ? BigInteger.valueOf(Long.parseLong(value)) : new BigInteger(value);
+    }
+
+    private static long parseLong(Object value) {
+        return value instanceof Long || value instanceof Integer
+                ? ((Number) value).longValue()
+                : Long.parseLong(value.toString());
+    }
+
     private static String assignStringValue(Map<String, Object> input, String name) {
-        if (input.containsKey(name)) {
-            return (String) ((input.get(name) instanceof String) ? input.get(name) : null);
-        }
-        return null;
+        Object value = input.get(name);
+        return value instanceof String ? (String) value : null;
     }
 
     private static String[] assignStringArrayValue(Map<String, Object> input, String name) {
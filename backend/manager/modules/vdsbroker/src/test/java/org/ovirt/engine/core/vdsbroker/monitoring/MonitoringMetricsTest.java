@@ -0,0 +1,106 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.compat.Guid;
+
+public class MonitoringMetricsTest {
+
+    private static final Guid HOST_ID_1 = Guid.newGuid();
+    private static final Guid HOST_ID_2 = Guid.newGuid();
+
+    @Test
+    public void testBucketsAreContiguous() {
+        for (int index = 1; index <= LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE); index++) {
+            long lowestValue = LatencyHistogram.highestValueOfBucket(index - 1) + 1;
+            assertEquals(index, LatencyHistogram.bucketIndex(lowestValue));
+            assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.highestValueOfBucket(index)));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 0.001);
+        assertWithinPrecision(500_000, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(990_000, histogram.getValueAtPercentile(99));
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void testLatenciesArePerHostAndAggregated() {
+        MonitoringMetrics metrics = new MonitoringMetrics();
+        metrics.addHost(HOST_ID_1, "host1");
+        metrics.addHost(HOST_ID_2, "host2");
+        metrics.record(HOST_ID_1, "host1", MonitoringStage.FLUSH, TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.record(HOST_ID_2, "host2", MonitoringStage.FLUSH, TimeUnit.MILLISECONDS.toNanos(30));
+
+        Map<String, Double> latencies = metrics.getLatencies();
+        assertEquals(2, latencies.get("flush.count"));
+        assertEquals(20, latencies.get("flush.mean"));
+        assertEquals(0, latencies.get("analysis.count"));
+        assertEquals(1, metrics.getHostLatencies(HOST_ID_1.toString()).get("flush.count"));
+        assertEquals(10, metrics.getHostLatencies(HOST_ID_1.toString()).get("flush.max"));
+
+        metrics.removeHost(HOST_ID_1);
+        assertNull(metrics.getHostLatencies(HOST_ID_1.toString()));
+        assertEquals(2, metrics.getLatencies().get("flush.count"));
+    }
+
+    @Test
+    public void testLatenciesOfRemovedHostAreIgnored() {
+        MonitoringMetrics metrics = new MonitoringMetrics();
+        metrics.addHost(HOST_ID_1, "host1");
+        metrics.removeHost(HOST_ID_1);
+        metrics.record(HOST_ID_1, "host1", MonitoringStage.FLUSH, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertNull(metrics.getHostLatencies(HOST_ID_1.toString()));
+        assertTrue(metrics.getHostIds().isEmpty());
+        assertEquals(0, metrics.getLatencies().get("flush.count"));
+    }
+
+    @Test
+    public void testPrometheusText() {
+        MonitoringMetrics metrics = new MonitoringMetrics();
+        metrics.addHost(HOST_ID_1, "host \"1\"");
+        metrics.record(HOST_ID_1, "host \"1\"", MonitoringStage.VDSM_CALL, TimeUnit.MILLISECONDS.toNanos(250));
+        StringWriter writer = new StringWriter();
+        metrics.writePrometheusText(new PrintWriter(writer));
+
+        String text = writer.toString();
+        assertThat(text, containsString("# TYPE ovirt_engine_monitoring_vdsm_call_seconds summary\n"));
+        assertThat(text, containsString("ovirt_engine_monitoring_vdsm_call_seconds{quantile=\"0.99\"} 0.25\n"));
+        assertThat(text, containsString("ovirt_engine_monitoring_vdsm_call_seconds_count 1\n"));
+        assertThat(text, containsString("ovirt_engine_host_monitoring_vdsm_call_seconds_sum{host_id=\"" + HOST_ID_1
+                + "\",host_name=\"host \\\"1\\\"\"} 0.25\n"));
+        assertThat(text, containsString("ovirt_engine_host_monitoring_flush_seconds_count{host_id=\"" + HOST_ID_1
+                + "\",host_name=\"host \\\"1\\\"\"} 0\n"));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertEquals(expected, actual, expected / 8.0);
+    }
+}
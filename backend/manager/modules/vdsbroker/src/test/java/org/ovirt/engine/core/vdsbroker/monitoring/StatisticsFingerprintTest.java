@@ -0,0 +1,82 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.network.InterfaceStatus;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkStatistics;
+import org.ovirt.engine.core.compat.Guid;
+
+public class StatisticsFingerprintTest {
+
+    private static final int THRESHOLD = 5;
+
+    @Test
+    public void testNoPreviousFingerprint() {
+        assertTrue(StatisticsFingerprint.of(vmStatistics(50, 1024L)).isChangedSince(null, THRESHOLD));
+    }
+
+    @Test
+    public void testChangeWithinThreshold() {
+        StatisticsFingerprint previous = StatisticsFingerprint.of(vmStatistics(50, 1000L));
+        assertFalse(StatisticsFingerprint.of(vmStatistics(52, 1040L)).isChangedSince(previous, THRESHOLD));
+    }
+
+    @Test
+    public void testChangeBeyondThreshold() {
+        StatisticsFingerprint previous = StatisticsFingerprint.of(vmStatistics(50, 1000L));
+        assertTrue(StatisticsFingerprint.of(vmStatistics(50, 1100L)).isChangedSince(previous, THRESHOLD));
+    }
+
+    @Test
+    public void testValueAppears() {
+        StatisticsFingerprint previous = StatisticsFingerprint.of(vmStatistics(50, null));
+        assertTrue(StatisticsFingerprint.of(vmStatistics(50, 1000L)).isChangedSince(previous, THRESHOLD));
+    }
+
+    @Test
+    public void testZeroThresholdDetectsAnyChange() {
+        StatisticsFingerprint previous = StatisticsFingerprint.of(vmStatistics(50, 1000L));
+        assertFalse(StatisticsFingerprint.of(vmStatistics(50, 1000L)).isChangedSince(previous, 0));
+        assertTrue(StatisticsFingerprint.of(vmStatistics(50, 1001L)).isChangedSince(previous, 0));
+    }
+
+    @Test
+    public void testStateChange() {
+        VmStatistics statistics = vmStatistics(50, 1000L);
+        StatisticsFingerprint previous = StatisticsFingerprint.of(statistics);
+        statistics.setDisksUsage("[]");
+        assertTrue(StatisticsFingerprint.of(statistics).isChangedSince(previous, THRESHOLD));
+    }
+
+    @Test
+    public void testNetworkStatistics() {
+        VmNetworkStatistics statistics = networkStatistics(InterfaceStatus.UP, 1000000L);
+        StatisticsFingerprint previous = StatisticsFingerprint.of(statistics);
+
+        assertFalse(StatisticsFingerprint.of(networkStatistics(InterfaceStatus.UP, 1001000L))
+                .isChangedSince(previous, THRESHOLD));
+        assertTrue(StatisticsFingerprint.of(networkStatistics(InterfaceStatus.DOWN, 1000000L))
+                .isChangedSince(previous, THRESHOLD));
+    }
+
+    private static VmStatistics vmStatistics(int usageCpuPercent, Long guestMemoryFree) {
+        VmStatistics statistics = new VmStatistics(Guid.Empty);
+        statistics.setUsageCpuPercent(usageCpuPercent);
+        statistics.setGuestMemoryFree(guestMemoryFree);
+        return statistics;
+    }
+
+    private static VmNetworkStatistics networkStatistics(InterfaceStatus status, long receivedBytes) {
+        VmNetworkStatistics statistics = new VmNetworkStatistics();
+        statistics.setStatus(status);
+        statistics.setReceiveRate(10.0);
+        statistics.setReceivedBytes(BigInteger.valueOf(receivedBytes));
+        statistics.setSampleTime((double) receivedBytes);
+        return statistics;
+    }
+}
@@ -0,0 +1,162 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.businessentities.VdsStatistics;
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.VdsStatisticsDao;
+import org.ovirt.engine.core.dao.VmStatisticsDao;
+import org.ovirt.engine.core.dao.network.InterfaceDao;
+import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.utils.MockedConfig;
+
+@ExtendWith({ MockitoExtension.class, MockConfigExtension.class })
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class StatisticsStoreTest {
+
+    private static final int INTERVAL = 10;
+
+    @Mock
+    private VmStatisticsDao vmStatisticsDao;
+
+    @Mock
+    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
+
+    @Mock
+    private VdsStatisticsDao vdsStatisticsDao;
+
+    @Mock
+    private InterfaceDao interfaceDao;
+
+    @Mock
+    private ManagedScheduledExecutorService executor;
+
+    @InjectMocks
+    private StatisticsStore statisticsStore;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.StatisticsWriteBehindIntervalInSeconds, INTERVAL));
+    }
+
+    public static Stream<MockConfigDescriptor<?>> writeThroughConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.StatisticsWriteBehindIntervalInSeconds, 0));
+    }
+
+    @Test
+    @MockedConfig("writeThroughConfiguration")
+    public void testWriteThrough() {
+        statisticsStore.init();
+        List<VmStatistics> vmStatistics = Collections.singletonList(new VmStatistics(Guid.newGuid()));
+        VdsStatistics vdsStatistics = vdsStatistics(Guid.newGuid());
+
+        statisticsStore.saveVmStatistics(vmStatistics);
+        statisticsStore.saveVdsStatistics(vdsStatistics);
+
+        verify(executor, never()).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        verify(vmStatisticsDao).updateAllInBatch(vmStatistics);
+        verify(vdsStatisticsDao).update(vdsStatistics);
+        assertNull(statisticsStore.getPendingVdsStatistics(vdsStatistics.getId()));
+    }
+
+    @Test
+    public void testLatestStatisticsAreFlushed() {
+        startWriteBehind();
+        Guid vmId = Guid.newGuid();
+        VmStatistics first = new VmStatistics(vmId);
+        VmStatistics latest = new VmStatistics(vmId);
+        latest.setUsageCpuPercent(50);
+        VmStatistics other = new VmStatistics(Guid.newGuid());
+        VdsStatistics vdsStatistics = vdsStatistics(Guid.newGuid());
+
+        statisticsStore.saveVmStatistics(Arrays.asList(first, other));
+        statisticsStore.saveVmStatistics(Collections.singletonList(latest));
+        statisticsStore.saveVdsStatistics(vdsStatistics);
+
+        verify(vmStatisticsDao, never()).updateAllInBatch(anyCollection());
+        verify(vdsStatisticsDao, never()).update(any());
+        assertSame(vdsStatistics, statisticsStore.getPendingVdsStatistics(vdsStatistics.getId()));
+
+        statisticsStore.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<VmStatistics>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(vmStatisticsDao).updateAllInBatch(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().containsAll(Arrays.asList(latest, other)));
+        verify(vdsStatisticsDao).updateAllInBatch(Collections.singletonList(vdsStatistics));
+        verify(vmNetworkStatisticsDao, never()).updateAllInBatch(anyCollection());
+        verify(interfaceDao, never()).massUpdateStatisticsForVds(anyCollection());
+        assertNull(statisticsStore.getPendingVdsStatistics(vdsStatistics.getId()));
+    }
+
+    @Test
+    public void testFailedStatisticsAreRetried() {
+        startWriteBehind();
+        VdsStatistics vdsStatistics = vdsStatistics(Guid.newGuid());
+        statisticsStore.saveVdsStatistics(vdsStatistics);
+        doThrow(new RuntimeException()).when(vdsStatisticsDao).updateAllInBatch(anyCollection());
+
+        statisticsStore.flush();
+
+        assertSame(vdsStatistics, statisticsStore.getPendingVdsStatistics(vdsStatistics.getId()));
+    }
+
+    @Test
+    public void testPendingStatisticsAreFlushedOnShutdown() {
+        startWriteBehind();
+        VdsStatistics vdsStatistics = vdsStatistics(Guid.newGuid());
+        statisticsStore.saveVdsStatistics(vdsStatistics);
+
+        statisticsStore.shutdown();
+
+        verify(vdsStatisticsDao, times(1)).updateAllInBatch(Collections.singletonList(vdsStatistics));
+    }
+
+    private void startWriteBehind() {
+        ScheduledFuture<?> future = mock(ScheduledFuture.class);
+        doReturn(future).when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        statisticsStore.init();
+        verify(executor).scheduleWithFixedDelay(any(), eq((long) INTERVAL), eq((long) INTERVAL), eq(TimeUnit.SECONDS));
+    }
+
+    private static VdsStatistics vdsStatistics(Guid vdsId) {
+        VdsStatistics statistics = new VdsStatistics();
+        statistics.setId(vdsId);
+        return statistics;
+    }
+}
@@ -0,0 +1,117 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.action.VmExternalDataKind;
+import org.ovirt.engine.core.common.businessentities.VmDynamic;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.common.utils.SecretValue;
+import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
+import org.ovirt.engine.core.common.vdscommands.VDSReturnValue;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.VmDao;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.GetVmsExternalDataVDSCommand;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VmExternalDataReturn;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class VmExternalDataMonitoringTest {
+
+    private static final Guid VDS_ID = Guid.newGuid();
+    private static final Guid VM_ID_1 = Guid.newGuid();
+    private static final Guid VM_ID_2 = Guid.newGuid();
+
+    @Mock
+    private ResourceManager resourceManager;
+
+    @Mock
+    private VmDao vmDao;
+
+    @InjectMocks
+    private VmExternalDataMonitoring vmExternalDataMonitoring;
+
+    @BeforeEach
+    public void setUp() {
+        when(vmDao.getTpmData(any())).thenReturn(new Pair<>(new SecretValue<>(""), "tpm0"));
+        when(vmDao.getNvramData(any())).thenReturn(new Pair<>(new SecretValue<>(""), "nvram0"));
+    }
+
+    @Test
+    public void testChangedDataIsRetrievedByOneCommand() {
+        VDSReturnValue returnValue = new VDSReturnValue();
+        returnValue.setSucceeded(true);
+        returnValue.setReturnValue(Arrays.asList(
+                externalDataReturn(0, "tpm data", "tpm1"),
+                externalDataReturn(0, "nvram data", "nvram1"),
+                externalDataReturn(1, null, null)));
+        when(resourceManager.runVdsCommand(eq(VDSCommandType.GetVmsExternalData), any())).thenReturn(returnValue);
+
+        vmExternalDataMonitoring.updateVms(VDS_ID, Stream.of(
+                vm(VM_ID_1, "tpm1", "nvram1"),
+                vm(VM_ID_2, "tpm2", "nvram0")));
+
+        ArgumentCaptor<GetVmsExternalDataVDSCommand.Parameters> captor =
+                ArgumentCaptor.forClass(GetVmsExternalDataVDSCommand.Parameters.class);
+        verify(resourceManager).runVdsCommand(eq(VDSCommandType.GetVmsExternalData), captor.capture());
+        assertEquals(VDS_ID, captor.getValue().getVdsId());
+        assertEquals(Arrays.asList(
+                new Pair<>(VM_ID_1, VmExternalDataKind.TPM),
+                new Pair<>(VM_ID_1, VmExternalDataKind.NVRAM),
+                new Pair<>(VM_ID_2, VmExternalDataKind.TPM)),
+                captor.getValue().getVmsAndKinds());
+        verify(vmDao).updateTpmData(VM_ID_1, new SecretValue<>("tpm data"), "tpm1");
+        verify(vmDao).updateNvramData(VM_ID_1, new SecretValue<>("nvram data"), "nvram1");
+        verify(vmDao, never()).updateTpmData(eq(VM_ID_2), any(), any());
+    }
+
+    @Test
+    public void testUnchangedDataIsNotRetrieved() {
+        vmExternalDataMonitoring.updateVms(VDS_ID, Stream.of(
+                vm(VM_ID_1, "tpm0", "nvram0"),
+                vm(VM_ID_2, null, null)));
+
+        verify(resourceManager, never()).runVdsCommand(any(), any());
+    }
+
+    private static VdsmVm vm(Guid vmId, String tpmDataHash, String nvramDataHash) {
+        VmDynamic vmDynamic = new VmDynamic();
+        vmDynamic.setId(vmId);
+        return new VdsmVm(0.0)
+                .setVmDynamic(vmDynamic)
+                .setTpmDataHash(tpmDataHash)
+                .setNvramDataHash(nvramDataHash);
+    }
+
+    private static VmExternalDataReturn externalDataReturn(int code, String data, String hash) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("code", code);
+        status.put("message", code == 0 ? "Done" : "Failed");
+        Map<String, Object> info = new HashMap<>();
+        info.put("_X_data", data);
+        info.put("hash", hash);
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", status);
+        response.put("info", info);
+        return new VmExternalDataReturn(response);
+    }
+}
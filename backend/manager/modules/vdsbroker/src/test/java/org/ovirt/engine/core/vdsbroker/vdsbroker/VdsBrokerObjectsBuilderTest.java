@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -455,6 +456,39 @@ public class VdsBrokerObjectsBuilderTest {
         assertEquals(2649267647L, disks.get(0).getWriteRate());
     }
 
+    @Test
+    public void testSetDiskRateAsDecimal() {
+        Map<String, Object> diskData = setDiskData();
+        diskData.put(VdsProperties.vm_disk_read_rate, "46421.33");
+        diskData.put(VdsProperties.vm_disk_write_rate, 1024L);
+        Map<String, Object> xml = setMockForTesting(diskData);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        assertEquals(46421L, disks.get(0).getReadRate());
+        assertEquals(1024L, disks.get(0).getWriteRate());
+    }
+
+    @Test
+    public void testInterfaceStatistics() {
+        Map<String, Object> nic = new HashMap<>();
+        nic.put(VdsProperties.VM_INTERFACE_NAME, "vnet0");
+        nic.put(VdsProperties.rx_total, "2851623977");
+        nic.put(VdsProperties.tx_total, "98765432109876543210");
+        nic.put(VdsProperties.rx_dropped, 12);
+        nic.put(VdsProperties.INTERFACE_SPEED, "1000.0");
+        Map<String, Object> network = new HashMap<>();
+        network.put("vnet0", nic);
+        Map<String, Object> struct = new HashMap<>();
+        struct.put(VdsProperties.VM_NETWORK, network);
+
+        VmNetworkInterface stats = vdsBrokerObjectsBuilder.buildInterfaceStatisticsData(struct).get(0);
+
+        assertEquals(new BigInteger("2851623977"), stats.getStatistics().getReceivedBytes());
+        assertEquals(new BigInteger("98765432109876543210"), stats.getStatistics().getTransmittedBytes());
+        assertEquals(BigInteger.valueOf(12), stats.getStatistics().getReceiveDrops());
+        assertEquals(BigInteger.ZERO, stats.getStatistics().getTransmitDrops());
+        assertEquals(Integer.valueOf(1000), stats.getSpeed());
+    }
+
     private Map<String, Object> createCpuTopologyStruct() {
         Map<String, Integer> cpuCapability1 = new HashMap<>();
         cpuCapability1.put(VdsProperties.cpu_id, 0);
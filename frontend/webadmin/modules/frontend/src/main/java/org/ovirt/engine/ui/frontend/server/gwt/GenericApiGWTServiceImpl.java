@@ -5,9 +5,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
 import javax.ejb.EJB;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -24,6 +33,7 @@ import org.ovirt.engine.core.common.queries.QueryParametersBase;
 import org.ovirt.engine.core.common.queries.QueryReturnValue;
 import org.ovirt.engine.core.common.queries.QueryType;
 import org.ovirt.engine.core.utils.CorrelationIdTracker;
+import org.ovirt.engine.core.utils.EngineLocalConfig;
 import org.ovirt.engine.ui.frontend.gwtservices.GenericApiGWTService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,8 +51,21 @@ public class GenericApiGWTServiceImpl extends OvirtXsrfProtectedServiceServlet i
     private static final String CORRELATION_ID_HEADER = "Correlation-Id"; //$NON-NLS-1$
     private static final Pattern INVALID_CORRELATION_ID_CHARACTERS_RE = Pattern.compile("[^0-9a-zA-Z_-]+"); //$NON-NLS-1$
 
+    private static final String MULTIPLE_QUERIES_PARALLELISM_KEY = "WEBADMIN_MULTIPLE_QUERIES_PARALLELISM"; //$NON-NLS-1$
+    private static final String MULTIPLE_QUERIES_TIMEOUT_KEY = "WEBADMIN_MULTIPLE_QUERIES_TIMEOUT"; //$NON-NLS-1$
+
     private BackendLocal backend;
 
+    private ManagedExecutorService executor;
+
+    /**
+     * Limits the number of queries of all the batches running on the executor at once, {@code null} when the queries
+     * of a batch are executed one after the other.
+     */
+    private Semaphore parallelQueries;
+
+    private long multipleQueriesTimeout;
+
     @EJB(beanInterface = BackendLocal.class,
             mappedName = "java:global/engine/bll/Backend!org.ovirt.engine.core.common.interfaces.BackendLocal")
     public void setBackend(BackendLocal backend) {
@@ -53,6 +76,23 @@ public class GenericApiGWTServiceImpl extends OvirtXsrfProtectedServiceServlet i
         return backend;
     }
 
+    @Resource
+    public void setExecutor(ManagedExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @PostConstruct
+    private void initMultipleQueries() {
+        EngineLocalConfig config = EngineLocalConfig.getInstance();
+        setMultipleQueriesParallelism(config.getInteger(MULTIPLE_QUERIES_PARALLELISM_KEY, 1),
+                config.getLong(MULTIPLE_QUERIES_TIMEOUT_KEY, 60L));
+    }
+
+    void setMultipleQueriesParallelism(int parallelism, long timeoutInSeconds) {
+        parallelQueries = parallelism > 1 ? new Semaphore(parallelism) : null;
+        multipleQueriesTimeout = timeoutInSeconds;
+    }
+
     private static String filterCorrelationIdCharacters(String correlationId) {
         if (StringUtils.isNotEmpty(correlationId)) {
             correlationId = INVALID_CORRELATION_ID_CHARACTERS_RE.matcher(correlationId).replaceAll("");
@@ -120,7 +160,13 @@ public class GenericApiGWTServiceImpl extends OvirtXsrfProtectedServiceServlet i
                     queryParamsList.get(i).setCorrelationId(correlationId);
                 }
                 debugQuery(queryTypeList.get(i), queryParamsList.get(i));
-                ret.add(runQuery(queryTypeList.get(i), queryParamsList.get(i)));
+            }
+            if (parallelQueries != null && queryTypeList.size() > 1) {
+                ret.addAll(runQueriesInParallel(queryTypeList, queryParamsList));
+            } else {
+                for (int i = 0; i < queryTypeList.size(); i++) {
+                    ret.add(runQuery(queryTypeList.get(i), queryParamsList.get(i)));
+                }
             }
         } else {
             log.error(
@@ -140,6 +186,80 @@ public class GenericApiGWTServiceImpl extends OvirtXsrfProtectedServiceServlet i
         return ret;
     }
 
+    /**
+     * Runs the independent queries of a batch on the managed executor, so the batch takes as long as its slowest query
+     * rather than the sum of all of them. Queries which find no free executor slot run on the request thread in the
+     * meantime. The results of queries which don't complete within the timeout are reported as failures; the queries
+     * themselves are left to complete since the backend doesn't support interrupting them.
+     */
+    private List<QueryReturnValue> runQueriesInParallel(List<QueryType> queryTypes,
+            List<QueryParametersBase> queryParams) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(multipleQueriesTimeout);
+        // the session is bound to the request thread, so it's resolved before handing the queries to the executor
+        String sessionId = getEngineSessionId();
+        List<Future<QueryReturnValue>> futures = new ArrayList<>(queryTypes.size());
+        for (int i = 0; i < queryTypes.size(); i++) {
+            queryParams.get(i).setSessionId(sessionId);
+            futures.add(submitQuery(queryTypes.get(i), queryParams.get(i)));
+        }
+
+        QueryReturnValue[] results = new QueryReturnValue[queryTypes.size()];
+        for (int i = 0; i < queryTypes.size(); i++) {
+            if (futures.get(i) == null) {
+                results[i] = getBackend().runQuery(queryTypes.get(i), queryParams.get(i));
+            }
+        }
+        for (int i = 0; i < queryTypes.size(); i++) {
+            if (futures.get(i) != null) {
+                results[i] = awaitQuery(queryTypes.get(i), futures.get(i), deadline);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Future<QueryReturnValue> submitQuery(QueryType queryType, QueryParametersBase params) {
+        if (!parallelQueries.tryAcquire()) {
+            return null;
+        }
+        try {
+            return executor.submit(() -> {
+                CorrelationIdTracker.setCorrelationId(params.getCorrelationId());
+                try {
+                    return getBackend().runQuery(queryType, params);
+                } finally {
+                    CorrelationIdTracker.clean();
+                    parallelQueries.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            parallelQueries.release();
+            return null;
+        }
+    }
+
+    private QueryReturnValue awaitQuery(QueryType queryType, Future<QueryReturnValue> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Query '{}' did not complete within {} seconds", queryType, multipleQueriesTimeout); //$NON-NLS-1$
+            return failedQuery("Query did not complete in time"); //$NON-NLS-1$
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failedQuery("Interrupted while waiting for the query"); //$NON-NLS-1$
+        } catch (ExecutionException e) {
+            log.error("Query '{}' failed: {}", queryType, e.getCause().getMessage()); //$NON-NLS-1$
+            log.debug("Exception", e.getCause()); //$NON-NLS-1$
+            return failedQuery(e.getCause().getMessage());
+        }
+    }
+
+    private static QueryReturnValue failedQuery(String exceptionString) {
+        QueryReturnValue returnValue = new QueryReturnValue();
+        returnValue.setSucceeded(false);
+        returnValue.setExceptionString(exceptionString);
+        return returnValue;
+    }
+
     @Override
     public List<ActionReturnValue> runMultipleActions(ActionType actionType,
             ArrayList<ActionParametersBase> multipleParams, boolean isRunOnlyIfAllValidationPass) {
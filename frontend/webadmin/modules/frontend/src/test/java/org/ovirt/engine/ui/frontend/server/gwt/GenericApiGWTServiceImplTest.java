@@ -1,6 +1,12 @@
 package org.ovirt.engine.ui.frontend.server.gwt;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -9,19 +15,29 @@ import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.ovirt.engine.core.common.constants.SessionConstants;
 import org.ovirt.engine.core.common.interfaces.BackendLocal;
 import org.ovirt.engine.core.common.queries.QueryParametersBase;
+import org.ovirt.engine.core.common.queries.QueryReturnValue;
 import org.ovirt.engine.core.common.queries.QueryType;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +47,10 @@ public class GenericApiGWTServiceImplTest {
     private BackendLocal backendLocal;
     @Mock
     private HttpSession session;
+    @Mock
+    private ManagedExecutorService managedExecutor;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
 
     private HttpServletRequest request;
     private HttpServletResponse response;
@@ -54,6 +74,11 @@ public class GenericApiGWTServiceImplTest {
         when(request.getSession()).thenReturn(session);
     }
 
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
     @Test
     public void multiQueryWithNulls() {
         underTest.runMultipleQueries(null, null);
@@ -87,4 +112,59 @@ public class GenericApiGWTServiceImplTest {
         verify(backendLocal, times(2)).runQuery(any(), any());
     }
 
+    @Test
+    public void multiQueryParallel() {
+        setUpParallelQueries(2, 60);
+        QueryReturnValue first = new QueryReturnValue();
+        QueryReturnValue second = new QueryReturnValue();
+        QueryParametersBase firstParams = new QueryParametersBase();
+        QueryParametersBase secondParams = new QueryParametersBase();
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        when(backendLocal.runQuery(eq(QueryType.Search), any())).thenAnswer(invocation -> {
+            bothRunning.countDown();
+            assertTrue(bothRunning.await(10, TimeUnit.SECONDS));
+            return (Object) invocation.getArgument(1) == firstParams ? first : second;
+        });
+
+        List<QueryReturnValue> results = underTest.runMultipleQueries(
+                new ArrayList<>(Arrays.asList(QueryType.Search, QueryType.Search)),
+                new ArrayList<>(Arrays.asList(firstParams, secondParams)));
+
+        assertEquals(2, results.size());
+        assertSame(first, results.get(0));
+        assertSame(second, results.get(1));
+        assertEquals("session", firstParams.getSessionId()); //$NON-NLS-1$
+        assertEquals("session", secondParams.getSessionId()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void multiQueryParallelTimeout() {
+        setUpParallelQueries(2, 0);
+        QueryReturnValue result = new QueryReturnValue();
+        result.setSucceeded(true);
+        CountDownLatch release = new CountDownLatch(1);
+        when(backendLocal.runQuery(eq(QueryType.Search), any())).thenAnswer(invocation -> {
+            release.await();
+            return result;
+        });
+
+        List<QueryReturnValue> results = underTest.runMultipleQueries(
+                new ArrayList<>(Arrays.asList(QueryType.Search, QueryType.Search)),
+                new ArrayList<>(Arrays.asList(new QueryParametersBase(), new QueryParametersBase())));
+        release.countDown();
+
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).getSucceeded());
+        assertFalse(results.get(1).getSucceeded());
+        assertNotNull(results.get(0).getExceptionString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setUpParallelQueries(int parallelism, long timeout) {
+        when(session.getAttribute(SessionConstants.HTTP_SESSION_ENGINE_SESSION_ID_KEY)).thenReturn("session"); //$NON-NLS-1$
+        when(managedExecutor.submit(any(Callable.class)))
+                .thenAnswer(invocation -> executor.submit((Callable<QueryReturnValue>) invocation.getArgument(0)));
+        underTest.setExecutor(managedExecutor);
+        underTest.setMultipleQueriesParallelism(parallelism, timeout);
+    }
 }
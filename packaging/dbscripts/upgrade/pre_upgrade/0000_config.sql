@@ -364,6 +364,8 @@ select fn_db_add_config_value('MaxSchedulerWeight','1000','general');
 select fn_db_add_config_value('SpeedOptimizationSchedulingThreshold','10','general');
 select fn_db_add_config_value('SchedulerAllowOverBooking','false','general');
 select fn_db_add_config_value('SchedulerOverBookingThreshold','10','general');
+select fn_db_add_config_value('SchedulerOptimisticConcurrency','false','general');
+select fn_db_add_config_value('SchedulerOptimisticMaxAttempts','3','general');
 select fn_db_add_config_value_for_versions_up_to('IgnoreVmToVmAffinityForHostMaintenance', 'false', '4.2');
 select fn_db_add_config_value_for_versions_up_to('IgnoreVmToVmAffinityForHostMaintenance', 'true', '4.8');
 select fn_db_add_config_value('UploadFileMaxTimeInMinutes','5','general');
@@ -822,6 +824,14 @@ select fn_db_add_config_value('CORSDefaultOriginSuffixes',':9090','general'); --
 select fn_db_add_config_value('CockpitPort','9090','general');
 select fn_db_add_config_value('CockpitSSOPort','9986','general');
 select fn_db_add_config_value('UsageHistoryLimit','40', 'general');
+select fn_db_add_config_value('VmStatisticsDeltaFlush','false', 'general');
+select fn_db_add_config_value('VmStatisticsDeltaFlushThreshold','5', 'general');
+select fn_db_add_config_value('VmStatisticsDeltaFlushMaxAge','60', 'general');
+select fn_db_add_config_value('StatisticsWriteBehindIntervalInSeconds','0', 'general');
+select fn_db_add_config_value('AuditLogWriteBehindQueueSize','0', 'general');
+select fn_db_add_config_value('AuditLogWriteBehindOverflowPolicy','Block', 'general');
+select fn_db_add_config_value('PermissionCacheTimeToLiveInSeconds','10', 'general');
+select fn_db_add_config_value('PermissionCacheMaxSize','100000', 'general');
 
 select fn_db_add_config_value('HostStorageLeaseAliveCheckingInterval', '90', 'general');
 
@@ -1015,6 +1025,9 @@ select fn_db_add_config_value('InstanceId', uuid_generate_v1()::varchar, 'genera
 -- Number of MAC address left in pool to invoke audit warning
 select fn_db_add_config_value('RemainingMacsInPoolWarningThreshold', '10', 'general');
 
+-- Max number of parsed search queries kept in the search queries cache
+select fn_db_add_config_value('SearchQueriesCacheMaxSize', '10000', 'general');
+
 -- Number of times that the Notification Service was rebooted, this is needed for
 -- SNMP V3 security requirements and should not be modified manually.
 